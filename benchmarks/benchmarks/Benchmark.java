@@ -0,0 +1,90 @@
+package benchmarks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * A single benchmark: a named operation with its parameters, measured by the {@link BenchmarkRunner}.
+ * The setup builds the state of the benchmark (scenes, rays and so on) before the measurement,
+ * and returns the operation to measure.
+ *
+ * @param name   the full name of the benchmark, like a JMH benchmark method name
+ * @param params the parameters of the benchmark, reported with its results
+ * @param mode   the way the operation is measured
+ * @param setup  builds the state of the benchmark and returns the measured operation
+ * @author Omer Avidar and Elior Tkach
+ */
+public record Benchmark(String name, Map<String, String> params, Mode mode, Supplier<Operation> setup) {
+
+    /**
+     * Constructs a benchmark, the parameters are kept sorted by their names,
+     * so the results of two runs list them in the same order.
+     *
+     * @param name   the full name of the benchmark
+     * @param params the parameters of the benchmark
+     * @param mode   the way the operation is measured
+     * @param setup  builds the state of the benchmark and returns the measured operation
+     */
+    public Benchmark {
+        params = Collections.unmodifiableMap(new TreeMap<>(params));
+    }
+
+    /**
+     * The identifier of the benchmark - its name and its parameters, which the filters of the command line match
+     *
+     * @return the identifier
+     */
+    public String id() {
+        return name + params;
+    }
+
+    /**
+     * The ways of measuring an operation, with the names and units of JMH
+     */
+    public enum Mode {
+        /**
+         * The amount of operations per second, for short operations repeated during an iteration
+         */
+        THROUGHPUT("thrpt", "ops/s"),
+        /**
+         * The time of a single operation per iteration, for long operations like rendering an image
+         */
+        SINGLE_SHOT("ss", "ms/op");
+
+        /**
+         * The short name of the mode in the results
+         */
+        final String shortName;
+
+        /**
+         * The unit of the score of the mode
+         */
+        final String unit;
+
+        /**
+         * Constructs a mode.
+         *
+         * @param shortName the short name of the mode in the results
+         * @param unit      the unit of the score of the mode
+         */
+        Mode(String shortName, String unit) {
+            this.shortName = shortName;
+            this.unit = unit;
+        }
+    }
+
+    /**
+     * The measured operation
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @param blackhole consumes the result of the operation
+         */
+        void run(Blackhole blackhole);
+    }
+}
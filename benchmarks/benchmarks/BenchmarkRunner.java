@@ -0,0 +1,355 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * BenchmarkRunner measures benchmarks the way JMH does it: every benchmark runs in forks - new JVMs,
+ * so the JIT profile and the heap of one benchmark do not affect the next one. In every fork a few warmup
+ * iterations let the JIT compiler optimize the code, and then the measurement iterations are measured.
+ * The results are written as JSON in the format of the JMH result files, so the results of two
+ * versions can be compared by the usual JMH tools.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The two-sided 99.9% quantiles of the Student's t-distribution for 1 to 30 degrees of freedom,
+     * for the confidence interval of the score (like JMH)
+     */
+    private static final double[] T_999 = {636.62, 31.60, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78, 4.59,
+            4.44, 4.32, 4.22, 4.14, 4.07, 4.01, 3.97, 3.92, 3.88, 3.85,
+            3.82, 3.79, 3.77, 3.75, 3.73, 3.71, 3.69, 3.67, 3.66, 3.65};
+
+    /**
+     * The quantile for more than 30 degrees of freedom (of the normal distribution)
+     */
+    private static final double Z_999 = 3.29;
+
+    /**
+     * The amount of warmup iterations
+     */
+    private int warmupIterations = 3;
+
+    /**
+     * The amount of measurement iterations
+     */
+    private int measurementIterations = 5;
+
+    /**
+     * The time of a throughput iteration in seconds
+     */
+    private double iterationTime = 1;
+
+    /**
+     * The amount of forks of every benchmark, 0 to run the benchmarks in this JVM
+     */
+    private int forks = 1;
+
+    /**
+     * The measured results of a benchmark
+     *
+     * @param benchmark the benchmark
+     * @param rawData   the scores of the measurement iterations of every fork
+     */
+    public record Result(Benchmark benchmark, double[][] rawData) {
+        /**
+         * The average score of the iterations of all the forks
+         *
+         * @return the score
+         */
+        public double score() {
+            double sum = 0;
+            int n = 0;
+            for (double[] fork : rawData)
+                for (double value : fork) {
+                    sum += value;
+                    ++n;
+                }
+            return sum / n;
+        }
+
+        /**
+         * The half width of the 99.9% confidence interval of the score
+         *
+         * @return the error of the score, NaN for a single iteration
+         */
+        public double scoreError() {
+            int n = 0;
+            for (double[] fork : rawData)
+                n += fork.length;
+            if (n < 2)
+                return Double.NaN;
+            double mean = score(), squares = 0;
+            for (double[] fork : rawData)
+                for (double value : fork)
+                    squares += (value - mean) * (value - mean);
+            double deviation = Math.sqrt(squares / (n - 1));
+            double t = n - 1 <= T_999.length ? T_999[n - 2] : Z_999;
+            return t * deviation / Math.sqrt(n);
+        }
+    }
+
+    /**
+     * Sets the amount of warmup iterations.
+     *
+     * @param warmupIterations the amount of warmup iterations
+     * @return the runner itself
+     */
+    public BenchmarkRunner setWarmupIterations(int warmupIterations) {
+        if (warmupIterations < 0)
+            throw new IllegalArgumentException("Amount of warmup iterations must not be negative");
+        this.warmupIterations = warmupIterations;
+        return this;
+    }
+
+    /**
+     * Sets the amount of measurement iterations.
+     *
+     * @param measurementIterations the amount of measurement iterations
+     * @return the runner itself
+     */
+    public BenchmarkRunner setMeasurementIterations(int measurementIterations) {
+        if (measurementIterations <= 0)
+            throw new IllegalArgumentException("Amount of measurement iterations must be positive");
+        this.measurementIterations = measurementIterations;
+        return this;
+    }
+
+    /**
+     * Sets the time of a throughput iteration.
+     *
+     * @param iterationTime the time of an iteration in seconds
+     * @return the runner itself
+     */
+    public BenchmarkRunner setIterationTime(double iterationTime) {
+        if (iterationTime <= 0)
+            throw new IllegalArgumentException("Iteration time must be positive");
+        this.iterationTime = iterationTime;
+        return this;
+    }
+
+    /**
+     * Sets the amount of forks of every benchmark.
+     *
+     * @param forks the amount of new JVMs to run every benchmark in, 0 to run the benchmarks in this JVM
+     * @return the runner itself
+     */
+    public BenchmarkRunner setForks(int forks) {
+        if (forks < 0)
+            throw new IllegalArgumentException("Amount of forks must not be negative");
+        this.forks = forks;
+        return this;
+    }
+
+    /**
+     * Runs a benchmark in its forks, or in this JVM if there are no forks.
+     * The progress is printed to the console like by JMH.
+     *
+     * @param benchmark the benchmark to run
+     * @return the results of the measurement iterations
+     * @throws IOException          if a fork can not be started or its scores can not be read
+     * @throws InterruptedException if the runner is interrupted while waiting for a fork
+     */
+    public Result run(Benchmark benchmark) throws IOException, InterruptedException {
+        System.out.println("# Benchmark: " + benchmark.name() + " " + benchmark.params());
+        double[][] rawData;
+        if (forks == 0)
+            rawData = new double[][]{measure(benchmark)};
+        else {
+            rawData = new double[forks][];
+            for (int i = 0; i < forks; ++i) {
+                System.out.printf(Locale.ROOT, "# Fork: %d of %d%n", i + 1, forks);
+                rawData[i] = fork(benchmark);
+            }
+        }
+        Result result = new Result(benchmark, rawData);
+        System.out.printf(Locale.ROOT, "Result \"%s\": %.3f +- %.3f %s%n%n",
+                benchmark.name(), result.score(), result.scoreError(), benchmark.mode().unit);
+        return result;
+    }
+
+    /**
+     * Runs a benchmark in a new JVM, with the options and the class path of this JVM.
+     * The new JVM runs {@link Benchmarks} for this benchmark only, prints its progress to the console
+     * of this JVM and writes the scores of its measurement iterations to a temporary file.
+     *
+     * @param benchmark the benchmark to run
+     * @return the scores of the measurement iterations of the fork
+     * @throws IOException          if the fork can not be started or its scores can not be read
+     * @throws InterruptedException if the runner is interrupted while waiting for the fork
+     */
+    private double[] fork(Benchmark benchmark) throws IOException, InterruptedException {
+        Path scores = Files.createTempFile("benchmark", ".scores");
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), Benchmarks.class.getName(),
+                    "-wi", String.valueOf(warmupIterations), "-i", String.valueOf(measurementIterations),
+                    "-r", String.valueOf(iterationTime), Benchmarks.FORKED, scores.toString(),
+                    "^" + Pattern.quote(benchmark.id()) + "$"));
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0)
+                throw new IllegalStateException("The fork of " + benchmark.name() + " failed with exit code "
+                        + exitCode);
+            return Files.readAllLines(scores).stream().mapToDouble(Double::parseDouble).toArray();
+        } finally {
+            Files.deleteIfExists(scores);
+        }
+    }
+
+    /**
+     * Measures a benchmark in this JVM: builds its state, warms it up and measures it.
+     *
+     * @param benchmark the benchmark to measure
+     * @return the scores of the measurement iterations
+     */
+    double[] measure(Benchmark benchmark) {
+        Benchmark.Operation operation = benchmark.setup().get();
+        Blackhole blackhole = new Blackhole();
+        for (int i = 1; i <= warmupIterations; ++i)
+            System.out.printf(Locale.ROOT, "# Warmup Iteration %3d: %.3f %s%n",
+                    i, iteration(benchmark.mode(), operation, blackhole), benchmark.mode().unit);
+        double[] rawData = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; ++i) {
+            rawData[i] = iteration(benchmark.mode(), operation, blackhole);
+            System.out.printf(Locale.ROOT, "Iteration %3d: %.3f %s%n", i + 1, rawData[i], benchmark.mode().unit);
+        }
+        return rawData;
+    }
+
+    /**
+     * Runs a single iteration of an operation.
+     *
+     * @param mode      the way of the measurement
+     * @param operation the operation
+     * @param blackhole the blackhole of the results
+     * @return the score of the iteration in the unit of the mode
+     */
+    private double iteration(Benchmark.Mode mode, Benchmark.Operation operation, Blackhole blackhole) {
+        if (mode == Benchmark.Mode.SINGLE_SHOT) {
+            long start = System.nanoTime();
+            operation.run(blackhole);
+            return (System.nanoTime() - start) / 1e6;
+        }
+        long duration = (long) (iterationTime * 1e9);
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            operation.run(blackhole);
+            ++operations;
+        } while ((elapsed = System.nanoTime() - start) < duration);
+        return operations / (elapsed / 1e9);
+    }
+
+    /**
+     * Writes the results as JSON in the format of the JMH result files.
+     *
+     * @param results the results of the benchmarks
+     * @param writer  the writer of the JSON
+     * @throws IOException if the writing fails
+     */
+    public void writeJson(List<Result> results, Writer writer) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (Result result : results) {
+            Benchmark benchmark = result.benchmark();
+            double score = result.score(), error = result.scoreError();
+            StringBuilder json = new StringBuilder();
+            json.append("    {\n");
+            json.append("        \"benchmark\" : ").append(quote(benchmark.name())).append(",\n");
+            json.append("        \"mode\" : ").append(quote(benchmark.mode().shortName)).append(",\n");
+            json.append("        \"threads\" : 1,\n");
+            json.append("        \"forks\" : ").append(forks).append(",\n");
+            json.append("        \"jvm\" : ").append(quote(System.getProperty("java.home"))).append(",\n");
+            json.append("        \"jdkVersion\" : ").append(quote(System.getProperty("java.version"))).append(",\n");
+            json.append("        \"warmupIterations\" : ").append(warmupIterations).append(",\n");
+            json.append("        \"warmupTime\" : ").append(quote(time(benchmark.mode()))).append(",\n");
+            json.append("        \"measurementIterations\" : ").append(measurementIterations).append(",\n");
+            json.append("        \"measurementTime\" : ").append(quote(time(benchmark.mode()))).append(",\n");
+            if (!benchmark.params().isEmpty()) {
+                List<String> params = new ArrayList<>();
+                for (Map.Entry<String, String> param : benchmark.params().entrySet())
+                    params.add("            " + quote(param.getKey()) + " : " + quote(param.getValue()));
+                json.append("        \"params\" : {\n").append(String.join(",\n", params)).append("\n        },\n");
+            }
+            json.append("        \"primaryMetric\" : {\n");
+            json.append("            \"score\" : ").append(number(score)).append(",\n");
+            json.append("            \"scoreError\" : ").append(number(error)).append(",\n");
+            json.append("            \"scoreConfidence\" : [\n");
+            json.append("                ").append(number(score - error)).append(",\n");
+            json.append("                ").append(number(score + error)).append("\n");
+            json.append("            ],\n");
+            json.append("            \"scoreUnit\" : ").append(quote(benchmark.mode().unit)).append(",\n");
+            List<String> raw = new ArrayList<>();
+            for (double[] fork : result.rawData()) {
+                List<String> values = new ArrayList<>();
+                for (double value : fork)
+                    values.add("                    " + number(value));
+                raw.add("                [\n" + String.join(",\n", values) + "\n                ]");
+            }
+            json.append("            \"rawData\" : [\n").append(String.join(",\n", raw)).append("\n            ]\n");
+            json.append("        },\n");
+            json.append("        \"secondaryMetrics\" : {\n        }\n");
+            json.append("    }");
+            entries.add(json.toString());
+        }
+        writer.write("[\n" + String.join(",\n", entries) + "\n]\n");
+        writer.flush();
+    }
+
+    /**
+     * The iteration time of a mode, as written in the results
+     *
+     * @param mode the mode
+     * @return the iteration time
+     */
+    private String time(Benchmark.Mode mode) {
+        return mode == Benchmark.Mode.SINGLE_SHOT ? "single-shot" : iterationTime + " s";
+    }
+
+    /**
+     * Formats a number for JSON, which has no NaN
+     *
+     * @param value the number
+     * @return the JSON number, or the string "NaN"
+     */
+    private static String number(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "\"NaN\"" : String.format(Locale.ROOT, "%s", value);
+    }
+
+    /**
+     * Quotes a string for JSON
+     *
+     * @param value the string
+     * @return the JSON string
+     */
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20)
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    else
+                        quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,128 @@
+package benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The entry point of the performance benchmarks of the ray tracer.
+ * The suite covers the intersections of the single geometries, the traversal of collections of
+ * geometries at several sizes, tracing camera rays through the canned scenes, and rendering whole
+ * images of the canned scenes in every sampling mode.
+ * <p>
+ * The options follow the command line of JMH:
+ * <ul>
+ * <li>{@code -l} - list the benchmarks and exit</li>
+ * <li>{@code -wi <n>} - the amount of warmup iterations (default 3)</li>
+ * <li>{@code -i <n>} - the amount of measurement iterations (default 5)</li>
+ * <li>{@code -r <seconds>} - the time of a throughput iteration (default 1)</li>
+ * <li>{@code -f <n>} - the amount of forks (new JVMs) of every benchmark (default 1, 0 runs in this JVM)</li>
+ * <li>{@code -rff <file>} - the JSON results file (default jmh-result.json)</li>
+ * <li>regular expressions - run only the benchmarks whose names match one of them</li>
+ * </ul>
+ * For example: {@code java benchmarks.Benchmarks -rff before.json Intersection}
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class Benchmarks {
+
+    /**
+     * The option of a forked JVM, followed by the file of the scores of its benchmark
+     */
+    static final String FORKED = "-forked";
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * All the benchmarks of the suite
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> all() {
+        List<Benchmark> benchmarks = new ArrayList<>();
+        benchmarks.addAll(IntersectionBenchmarks.benchmarks());
+        benchmarks.addAll(GeometriesBenchmarks.benchmarks());
+        benchmarks.addAll(RayTracerBenchmarks.benchmarks());
+        benchmarks.addAll(RenderBenchmarks.benchmarks());
+        return benchmarks;
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line and writes their results.
+     *
+     * @param args the command line options
+     * @throws IOException          if the results file can not be written
+     * @throws InterruptedException if the run is interrupted while waiting for a fork
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        String resultFile = "jmh-result.json";
+        String scoresFile = null;
+        boolean list = false;
+        List<Pattern> filters = new ArrayList<>();
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "-l" -> list = true;
+                case "-wi" -> runner.setWarmupIterations(Integer.parseInt(value(args, ++i)));
+                case "-i" -> runner.setMeasurementIterations(Integer.parseInt(value(args, ++i)));
+                case "-r" -> runner.setIterationTime(Double.parseDouble(value(args, ++i)));
+                case "-f" -> runner.setForks(Integer.parseInt(value(args, ++i)));
+                case FORKED -> scoresFile = value(args, ++i);
+                case "-rff" -> resultFile = value(args, ++i);
+                default -> filters.add(Pattern.compile(args[i]));
+            }
+        }
+
+        List<Benchmark> selected = new ArrayList<>();
+        for (Benchmark benchmark : all()) {
+            if (filters.isEmpty() || filters.stream().anyMatch(filter -> filter.matcher(benchmark.id()).find()))
+                selected.add(benchmark);
+        }
+        if (list) {
+            for (Benchmark benchmark : selected)
+                System.out.println(benchmark.name() + " " + benchmark.params());
+            return;
+        }
+        if (scoresFile != null) {
+            // a forked JVM measures its single benchmark and gives its scores back to the runner which forked it
+            if (selected.size() != 1)
+                throw new IllegalArgumentException("A fork must run a single benchmark, not " + selected.size());
+            List<String> scores = new ArrayList<>();
+            for (double score : runner.measure(selected.get(0)))
+                scores.add(String.valueOf(score));
+            Files.write(Path.of(scoresFile), scores);
+            return;
+        }
+
+        List<BenchmarkRunner.Result> results = new ArrayList<>();
+        for (Benchmark benchmark : selected)
+            results.add(runner.run(benchmark));
+        try (Writer writer = new FileWriter(resultFile)) {
+            runner.writeJson(results, writer);
+        }
+        System.out.println("Benchmark result is saved to " + resultFile);
+    }
+
+    /**
+     * Returns the value of an option
+     *
+     * @param args  the command line
+     * @param index the index of the value
+     * @return the value
+     * @throws IllegalArgumentException if the value is missing
+     */
+    private static String value(String[] args, int index) {
+        if (index >= args.length)
+            throw new IllegalArgumentException("Missing value of option " + args[index - 1]);
+        return args[index];
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+/**
+ * Blackhole consumes the results of the measured operations, so the JIT compiler can not
+ * remove the calculation of a result which is never used (dead code elimination).
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class Blackhole {
+
+    /**
+     * A value which is never true, read together with every consumed value
+     */
+    private volatile boolean never = false;
+
+    /**
+     * The sink the values are written to when {@link #never} is true
+     */
+    private Object sink;
+
+    /**
+     * Consumes an object result.
+     *
+     * @param value the result
+     */
+    public void consume(Object value) {
+        if (never)
+            sink = value;
+    }
+
+    /**
+     * Consumes a numeric result.
+     *
+     * @param value the result
+     */
+    public void consume(double value) {
+        if (never)
+            sink = value;
+    }
+}
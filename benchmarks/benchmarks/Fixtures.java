@@ -0,0 +1,82 @@
+package benchmarks;
+
+import geometries.Geometries;
+import geometries.Sphere;
+import primitives.*;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Fixtures holds the shared state builders of the benchmarks: rays and generated scenes.
+ * All the random data is built from fixed seeds, so every run measures the same work.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class Fixtures {
+
+    /**
+     * The amount of rays a benchmark cycles over
+     */
+    static final int RAY_COUNT = 1024;
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Builds rays from a point towards random points of a box around a target.
+     *
+     * @param origin the head of the rays
+     * @param target the center of the box the rays go through
+     * @param spread the half size of the box
+     * @param seed   the seed of the random points
+     * @return the rays
+     */
+    static Ray[] rays(Point origin, Point target, double spread, long seed) {
+        Random random = new Random(seed);
+        Ray[] rays = new Ray[RAY_COUNT];
+        for (int i = 0; i < RAY_COUNT; ++i) {
+            Point through = target.add(new Vector(spread * (2 * random.nextDouble() - 1),
+                    spread * (2 * random.nextDouble() - 1), spread * (2 * random.nextDouble() - 1)));
+            rays[i] = new Ray(origin, through.subtract(origin));
+        }
+        return rays;
+    }
+
+    /**
+     * Builds an operation which runs a query on the next ray of a set of rays at every call.
+     *
+     * @param rays  the rays
+     * @param query the query
+     * @return the operation
+     */
+    static Benchmark.Operation cycle(Ray[] rays, Function<Ray, ?> query) {
+        int[] next = {0};
+        return blackhole -> {
+            blackhole.consume(query.apply(rays[next[0]]));
+            next[0] = (next[0] + 1) % rays.length;
+        };
+    }
+
+    /**
+     * Builds a collection of random spheres in the cube [-100,100]^3.
+     * The sizes of the spheres shrink with their amount, so the cube stays about equally full.
+     *
+     * @param count the amount of spheres
+     * @param bvh   whether to arrange the spheres in a bounding volume hierarchy
+     * @return the collection of the spheres
+     */
+    static Geometries spheres(int count, boolean bvh) {
+        Random random = new Random(count);
+        Geometries geometries = new Geometries();
+        double radius = 100 / Math.cbrt(count);
+        for (int i = 0; i < count; ++i)
+            geometries.add(new Sphere(radius * (0.2 + 0.3 * random.nextDouble()),
+                    new Point(200 * random.nextDouble() - 100, 200 * random.nextDouble() - 100,
+                            200 * random.nextDouble() - 100)));
+        return bvh ? geometries.buildBVH() : geometries;
+    }
+}
@@ -0,0 +1,69 @@
+package benchmarks;
+
+import geometries.Geometries;
+import primitives.Point;
+import primitives.Ray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks of the traversal of a collection of geometries at several scene sizes,
+ * with and without the bounding volume hierarchy, for the closest-hit query of the camera rays
+ * and the occlusion query of the shadow rays.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class GeometriesBenchmarks {
+
+    /**
+     * The amounts of spheres in the scenes
+     */
+    private static final int[] SIZES = {10, 100, 1000, 10000};
+
+    /**
+     * The biggest scene which is measured without the hierarchy as well
+     */
+    private static final int MAX_LINEAR_SIZE = 1000;
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private GeometriesBenchmarks() {
+    }
+
+    /**
+     * Builds the traversal benchmarks.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> benchmarks() {
+        String prefix = GeometriesBenchmarks.class.getName() + ".";
+        List<Benchmark> benchmarks = new ArrayList<>();
+        for (int size : SIZES)
+            for (boolean bvh : new boolean[]{true, false}) {
+                if (!bvh && size > MAX_LINEAR_SIZE)
+                    continue;
+                Map<String, String> params = Map.of("size", String.valueOf(size), "bvh", String.valueOf(bvh));
+                benchmarks.add(new Benchmark(prefix + "closestHit", params, Benchmark.Mode.THROUGHPUT, () -> {
+                    Geometries geometries = Fixtures.spheres(size, bvh);
+                    return Fixtures.cycle(rays(), ray -> geometries.findClosestGeoIntersection(ray));
+                }));
+                benchmarks.add(new Benchmark(prefix + "occlusion", params, Benchmark.Mode.THROUGHPUT, () -> {
+                    Geometries geometries = Fixtures.spheres(size, bvh);
+                    return Fixtures.cycle(rays(), ray -> geometries.findTransparency(ray, 300));
+                }));
+            }
+        return benchmarks;
+    }
+
+    /**
+     * The rays of the benchmarks
+     *
+     * @return the rays through the cube of the spheres
+     */
+    private static Ray[] rays() {
+        return Fixtures.rays(new Point(0, 0, 400), new Point(0, 0, 0), 100, 2);
+    }
+}
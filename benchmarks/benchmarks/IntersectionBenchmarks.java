@@ -0,0 +1,99 @@
+package benchmarks;
+
+import geometries.*;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks of the intersection calculation of the single geometries.
+ * Each benchmark intersects a fixed set of rays, about half of them hit the geometry.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class IntersectionBenchmarks {
+
+    /**
+     * The head of the rays
+     */
+    private static final Point ORIGIN = new Point(0, 0, 500);
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private IntersectionBenchmarks() {
+    }
+
+    /**
+     * Builds the intersection benchmarks.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> benchmarks() {
+        String prefix = IntersectionBenchmarks.class.getName() + ".";
+        return List.of(
+                new Benchmark(prefix + "sphere", Map.of(), Benchmark.Mode.THROUGHPUT, () -> {
+                    Sphere sphere = new Sphere(50, new Point(0, 0, 0));
+                    return Fixtures.cycle(rays(), ray -> sphere.findGeoIntersectionsHelper(ray, Double.POSITIVE_INFINITY));
+                }),
+                new Benchmark(prefix + "plane", Map.of(), Benchmark.Mode.THROUGHPUT, () -> {
+                    Plane plane = new Plane(new Point(0, 0, 0), new Vector(0.1, 0.2, 1));
+                    return Fixtures.cycle(rays(), ray -> plane.findGeoIntersectionsHelper(ray, Double.POSITIVE_INFINITY));
+                }),
+                new Benchmark(prefix + "triangle", Map.of(), Benchmark.Mode.THROUGHPUT, () -> {
+                    Triangle triangle = new Triangle(new Point(-100, -80, 0), new Point(100, -80, 0), new Point(0, 100, 10));
+                    return Fixtures.cycle(rays(), ray -> triangle.findGeoIntersectionsHelper(ray, Double.POSITIVE_INFINITY));
+                }),
+                new Benchmark(prefix + "polygon", Map.of(), Benchmark.Mode.THROUGHPUT, () -> {
+                    Polygon polygon = new Polygon(new Point(-70, -70, 0), new Point(70, -70, 0),
+                            new Point(70, 70, 0), new Point(-70, 70, 0));
+                    return Fixtures.cycle(rays(), ray -> polygon.findGeoIntersectionsHelper(ray, Double.POSITIVE_INFINITY));
+                }),
+                new Benchmark(prefix + "mesh", Map.of(), Benchmark.Mode.THROUGHPUT, () -> {
+                    Mesh mesh = grid(100);
+                    return Fixtures.cycle(rays(), ray -> mesh.findClosestGeoIntersection(ray));
+                }));
+    }
+
+    /**
+     * The rays of the benchmarks
+     *
+     * @return the rays towards the area around the origin
+     */
+    private static Ray[] rays() {
+        return Fixtures.rays(ORIGIN, new Point(0, 0, 0), 100, 1);
+    }
+
+    /**
+     * Builds a wavy grid mesh of n*n squares in the area [-70,70]^2, two faces per square
+     *
+     * @param n the amount of squares in a row
+     * @return the mesh
+     */
+    private static Mesh grid(int n) {
+        double[] vertices = new double[(n + 1) * (n + 1) * 3];
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j) {
+                int v = 3 * (i * (n + 1) + j);
+                vertices[v] = 140.0 * j / n - 70;
+                vertices[v + 1] = 140.0 * i / n - 70;
+                vertices[v + 2] = 5 * Math.sin(i * 0.3) * Math.cos(j * 0.3);
+            }
+        int[] indices = new int[n * n * 6];
+        int f = 0;
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                int v = i * (n + 1) + j;
+                indices[f++] = v;
+                indices[f++] = v + 1;
+                indices[f++] = v + n + 2;
+                indices[f++] = v;
+                indices[f++] = v + n + 2;
+                indices[f++] = v + n + 1;
+            }
+        return new Mesh(vertices, indices);
+    }
+}
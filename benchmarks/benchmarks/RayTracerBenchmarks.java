@@ -0,0 +1,54 @@
+package benchmarks;
+
+import primitives.Ray;
+import renderer.Camera;
+import renderer.RayTracerBasic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Benchmarks of tracing single camera rays through the canned scenes, including the shading,
+ * the shadow rays and the reflected and refracted rays.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class RayTracerBenchmarks {
+
+    /**
+     * The resolution of the grid of the traced pixels
+     */
+    private static final int GRID = 32;
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private RayTracerBenchmarks() {
+    }
+
+    /**
+     * Builds the ray tracer benchmarks.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> benchmarks() {
+        String prefix = RayTracerBenchmarks.class.getName() + ".";
+        List<Benchmark> benchmarks = new ArrayList<>();
+        for (Scenes scene : Scenes.values())
+            benchmarks.add(new Benchmark(prefix + "traceRay", Map.of("scene", scene.name().toLowerCase(Locale.ROOT)),
+                    Benchmark.Mode.THROUGHPUT, () -> {
+                RayTracerBasic tracer = new RayTracerBasic(scene.scene());
+                // the scene is compiled like by the camera, before the measured rays
+                tracer.prepare(false);
+                Camera camera = scene.camera();
+                Ray[] rays = new Ray[GRID * GRID];
+                for (int i = 0; i < GRID; ++i)
+                    for (int j = 0; j < GRID; ++j)
+                        rays[i * GRID + j] = camera.constructRay(GRID, GRID, j, i);
+                return Fixtures.cycle(rays, tracer::traceRay);
+            }));
+        return benchmarks;
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Benchmarks of rendering whole images of the canned scenes in each sampling mode of the camera.
+ * The images are rendered by the calling thread only, so the results do not depend on the amount of cores.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class RenderBenchmarks {
+
+    /**
+     * The width and height of the rendered images in pixels
+     */
+    private static final int RESOLUTION = 200;
+
+    /**
+     * The sampling modes of the camera
+     */
+    private enum Sampling {
+        /**
+         * One ray through the center of every pixel
+         */
+        SINGLE,
+        /**
+         * A grid of 3*3 rays in every pixel (anti-aliasing)
+         */
+        SUPERSAMPLING,
+        /**
+         * Adaptive super sampling, the pixels are divided only where the colors differ
+         */
+        ADAPTIVE
+    }
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private RenderBenchmarks() {
+    }
+
+    /**
+     * Builds the rendering benchmarks.
+     *
+     * @return the benchmarks
+     */
+    static List<Benchmark> benchmarks() {
+        String prefix = RenderBenchmarks.class.getName() + ".";
+        List<Benchmark> benchmarks = new ArrayList<>();
+        for (Scenes scene : Scenes.values())
+            for (Sampling sampling : Sampling.values())
+                benchmarks.add(new Benchmark(prefix + "renderImage",
+                        Map.of("scene", scene.name().toLowerCase(Locale.ROOT),
+                                "sampling", sampling.name().toLowerCase(Locale.ROOT)),
+                        Benchmark.Mode.SINGLE_SHOT, () -> {
+                    Camera camera = scene.camera()
+                            .setImageWriter(new ImageWriter("benchmark", RESOLUTION, RESOLUTION))
+                            .setRayTracer(new RayTracerBasic(scene.scene()))
+                            .setMultithreading(0);
+                    switch (sampling) {
+                        case SINGLE -> camera.setAmountRays(1).setAdaptiveSuperSampling(false);
+                        case SUPERSAMPLING -> camera.setAmountRays(3).setAdaptiveSuperSampling(false);
+                        case ADAPTIVE -> camera.setAdaptiveSuperSampling(true);
+                    }
+                    return blackhole -> blackhole.consume(camera.renderImage());
+                }));
+        return benchmarks;
+    }
+}
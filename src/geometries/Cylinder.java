@@ -1,6 +1,7 @@
 
 package geometries;
 
+        import primitives.BoundingBox;
         import primitives.Point;
         import primitives.Ray;
         import primitives.Vector;
@@ -19,6 +20,11 @@ public class Cylinder extends Tube{
      */
     private double height;
 
+    /**
+     * The bounding box of the cylinder
+     */
+    private final BoundingBox boundingBox;
+
     /**
      * Constructs a new Cylinder object with the specified radius, axis and height.
      * @param radius The radius of the cylinder.
@@ -28,6 +34,28 @@ public class Cylinder extends Tube{
     public Cylinder(double radius, Ray axis,double h) {
         super(radius, axis);
         height=h;
+
+        // the box of the two bases: each base disc extends radius*sqrt(1-v_i^2) along the axis i
+        Point base = axis.getP0();
+        Point top = axis.getPoint(h);
+        Vector v = axis.getDirection();
+        double ex = radius * Math.sqrt(Math.max(0, 1 - v.getX() * v.getX()));
+        double ey = radius * Math.sqrt(Math.max(0, 1 - v.getY() * v.getY()));
+        double ez = radius * Math.sqrt(Math.max(0, 1 - v.getZ() * v.getZ()));
+        boundingBox = new BoundingBox(
+                Math.min(base.getX(), top.getX()) - ex, Math.min(base.getY(), top.getY()) - ey,
+                Math.min(base.getZ(), top.getZ()) - ez,
+                Math.max(base.getX(), top.getX()) + ex, Math.max(base.getY(), top.getY()) + ey,
+                Math.max(base.getZ(), top.getZ()) + ez);
+    }
+
+    /**
+     * Unlike the tube, the cylinder is finite, so it is bounded by the box of its two bases
+     * @return the bounding box of the cylinder
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
     }
 
     /**
@@ -1,10 +1,15 @@
 package geometries;
 
-import primitives.Point;
+import primitives.BoundingBox;
+import primitives.Double3;
 import primitives.Ray;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -16,17 +21,47 @@ import java.util.List;
 public class Geometries extends Intersectable {
 
     /**
+     * The maximal amount of geometries in a leaf of the bounding volume hierarchy
+     */
+    private static final int MAX_LEAF_SIZE = 4;
 
-     The geometryList represents the list of intersectable objects in the Geometries collection.
-     It stores the geometries that can be intersected with rays.
+    /**
+     * The relative cost of visiting a node of the hierarchy compared to testing a single geometry,
+     * used by the surface area heuristic
      */
-    private List<Intersectable> geometryList;
+    private static final double TRAVERSAL_COST = 0.125;
+
+    /**
+     * The geometries of the collection, in an array which is grown by the additions,
+     * so the queries loop over an array and not over a linked list
+     */
+    private Intersectable[] geometryArray;
+
+    /**
+     * The amount of geometries in the array
+     */
+    private int size;
+
+    /**
+     * Whether the collection is compiled (or a node of a hierarchy) and cannot be changed
+     */
+    private final boolean frozen;
+
+    /**
+     * The bounding box of all the geometries of a collection which cannot be changed, computed once on
+     * construction - null if the collection is unbounded, or if it can be changed (a nested collection may be
+     * changed without this collection knowing, and every geometry checks its own box anyway)
+     */
+    private final BoundingBox boundingBox;
 
     /**
      * Constructs an empty Geometries object.
      */
     public Geometries() {
-        geometryList = new LinkedList<>();
+        geometryArray = new Intersectable[4];
+        size = 0;
+        frozen = false;
+        boundingBox = null;
     }
 
     /**
@@ -35,7 +70,23 @@ public class Geometries extends Intersectable {
      * @param geometries the intersectable objects to add to the collection
      */
     public Geometries(Intersectable... geometries) {
-        this.geometryList = List.of(geometries);
+        geometryArray = geometries.clone();
+        size = geometries.length;
+        frozen = false;
+        boundingBox = null;
+    }
+
+    /**
+     * Constructs a collection which cannot be changed - a compiled collection or a node of the hierarchy.
+     *
+     * @param boundingBox the bounding box of all the geometries, null to compute it from the geometries
+     * @param geometries  the geometries (or sub-nodes), the array is kept
+     */
+    private Geometries(BoundingBox boundingBox, Intersectable[] geometries) {
+        this.geometryArray = geometries;
+        this.size = geometries.length;
+        this.frozen = true;
+        this.boundingBox = boundingBox != null ? boundingBox : union(geometries, size);
     }
 
     /**
@@ -44,9 +95,222 @@ public class Geometries extends Intersectable {
      * @param geometries the intersectable objects to add
      */
     public void add(Intersectable... geometries) {
+        if (frozen)
+            throw new UnsupportedOperationException("A compiled collection of geometries cannot be changed");
+        if (size + geometries.length > geometryArray.length)
+            geometryArray = Arrays.copyOf(geometryArray, Math.max(2 * geometryArray.length, size + geometries.length));
         for (Intersectable element : geometries) {
-            this.geometryList.add(element);
+            this.geometryArray[size++] = element;
+        }
+    }
+
+    /**
+     * Returns the bounding box of all the geometries in a collection which cannot be changed.
+     * A collection which can be changed has no box, so its geometries are checked by their own boxes.
+     *
+     * @return the bounding box of the collection, or null if it can be changed, is empty or contains an
+     * unbounded geometry
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+
+    /**
+     * Computes the bounding box of geometries.
+     *
+     * @param geometries the geometries
+     * @param size       the amount of geometries in the array
+     * @return the union of the boxes of the geometries, or null if there are none or one of them is unbounded
+     */
+    private static BoundingBox union(Intersectable[] geometries, int size) {
+        BoundingBox box = null;
+        for (int i = 0; i < size; ++i) {
+            BoundingBox geometryBox = geometries[i].getBoundingBox();
+            if (geometryBox == null)
+                return null;
+            box = box == null ? geometryBox : box.union(geometryBox);
         }
+        return box;
+    }
+
+    /**
+     * Turns the collection into a bounding volume hierarchy (BVH).
+     * The bounded geometries are arranged in a tree of boxes split by the surface area heuristic (SAH),
+     * so a ray visits only the boxes it hits. Unbounded geometries (like planes) stay in the top level.
+     * Geometries added after the build are scanned linearly until the hierarchy is built again.
+     *
+     * @return the geometries object itself
+     */
+    public Geometries buildBVH() {
+        if (frozen)
+            throw new UnsupportedOperationException("A compiled collection of geometries cannot be changed");
+        geometryArray = hierarchy(geometryArray, size);
+        size = geometryArray.length;
+        return this;
+    }
+
+    /**
+     * Compiles the collection into a collection which cannot be changed, for rendering: the geometries are
+     * copied into an array (with the nested collections compiled too), optionally arranged in a bounding volume
+     * hierarchy, and all the bounding boxes are computed in advance.
+     * The compiled collection can be shared by rendering threads without any locks, and this collection
+     * is not changed.
+     *
+     * @param hierarchy true to arrange the geometries in a bounding volume hierarchy
+     * @return the compiled collection
+     */
+    public Geometries compile(boolean hierarchy) {
+        if (frozen && !hierarchy)
+            return this;
+        Intersectable[] geometries = new Intersectable[size];
+        for (int i = 0; i < size; ++i)
+            geometries[i] = geometryArray[i] instanceof Geometries nested ? nested.compile(false) : geometryArray[i];
+        if (hierarchy)
+            geometries = hierarchy(geometries, geometries.length);
+        // the bounding boxes are computed before the collection is shared
+        return new Geometries(null, geometries);
+    }
+
+    /**
+     * Calls an action for every geometry of the collection, including the geometries of the nested collections
+     * and of the nodes of the hierarchy.
+     *
+     * @param action the action to call with every geometry
+     */
+    public void forEachGeometry(Consumer<Geometry> action) {
+        for (int i = 0; i < size; ++i) {
+            if (geometryArray[i] instanceof Geometries nested)
+                nested.forEachGeometry(action);
+            else if (geometryArray[i] instanceof Geometry geometry)
+                action.accept(geometry);
+        }
+    }
+
+    /**
+     * Arranges geometries in a bounding volume hierarchy.
+     *
+     * @param geometries the geometries
+     * @param size       the amount of geometries in the array
+     * @return the top level of the hierarchy - the unbounded geometries, the collections which can be changed, and
+     * the root node of the bounded geometries
+     */
+    private static Intersectable[] hierarchy(Intersectable[] geometries, int size) {
+        List<Intersectable> unbounded = new LinkedList<>();
+        List<Bounded> bounded = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            BoundingBox box = geometries[i].getBoundingBox();
+            // the box of a collection which can be changed is not kept in the nodes, since it may grow later
+            if (box == null || geometries[i] instanceof Geometries nested && !nested.frozen)
+                unbounded.add(geometries[i]);
+            else
+                bounded.add(new Bounded(geometries[i], box));
+        }
+        if (!bounded.isEmpty())
+            unbounded.add(buildNode(bounded));
+        return unbounded.toArray(new Intersectable[0]);
+    }
+
+    /**
+     * A geometry together with its bounding box, used while building the hierarchy
+     *
+     * @param geometry the bounded geometry
+     * @param box      the bounding box of the geometry
+     */
+    private record Bounded(Intersectable geometry, BoundingBox box) {
+    }
+
+    /**
+     * Recursively builds a node of the bounding volume hierarchy.
+     * For every axis, the geometries are sorted by the center of their boxes, and the split with the
+     * lowest surface area heuristic cost is chosen. If no split is cheaper than testing all the geometries,
+     * a leaf is created.
+     *
+     * @param geometries the bounded geometries of the node
+     * @return the node, or the geometry itself if there is only one
+     */
+    private static Intersectable buildNode(List<Bounded> geometries) {
+        int size = geometries.size();
+        if (size == 1)
+            return geometries.get(0).geometry();
+
+        BoundingBox box = geometries.get(0).box();
+        for (Bounded bounded : geometries)
+            box = box.union(bounded.box());
+        if (size <= 2)
+            return new Geometries(box, toGeometryArray(geometries));
+
+        double parentArea = box.surfaceArea();
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestAxis = -1;
+        int bestSplit = -1;
+        double[] rightAreas = new double[size];
+        for (int axis = 0; axis < 3; ++axis) {
+            sortByCenter(geometries, axis);
+
+            // the areas of the boxes of all the suffixes of the list
+            BoundingBox right = geometries.get(size - 1).box();
+            for (int i = size - 1; i > 0; --i) {
+                right = right.union(geometries.get(i).box());
+                rightAreas[i] = right.surfaceArea();
+            }
+
+            // sweep the prefixes and evaluate the cost of splitting after every geometry
+            BoundingBox left = geometries.get(0).box();
+            for (int i = 1; i < size; ++i) {
+                double cost = left.surfaceArea() * i + rightAreas[i] * (size - i);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestAxis = axis;
+                    bestSplit = i;
+                }
+                left = left.union(geometries.get(i).box());
+            }
+        }
+
+        // compare the split to a leaf, both relative to the area of the parent box
+        double splitCost = parentArea == 0 ? size : TRAVERSAL_COST + bestCost / parentArea;
+        if (size <= MAX_LEAF_SIZE && splitCost >= size)
+            return new Geometries(box, toGeometryArray(geometries));
+
+        sortByCenter(geometries, bestAxis);
+        Intersectable[] children = {
+                buildNode(new ArrayList<>(geometries.subList(0, bestSplit))),
+                buildNode(new ArrayList<>(geometries.subList(bestSplit, size)))};
+        return new Geometries(box, children);
+    }
+
+    /**
+     * Sorts the bounded geometries by the center of their boxes along an axis.
+     *
+     * @param geometries the bounded geometries to sort
+     * @param axis       0 for x, 1 for y and 2 for z
+     */
+    private static void sortByCenter(List<Bounded> geometries, int axis) {
+        geometries.sort(Comparator.comparingDouble(bounded -> bounded.box().getCenter(axis)));
+    }
+
+    /**
+     * Extracts the geometries out of a list of bounded geometries.
+     *
+     * @param geometries the bounded geometries
+     * @return an array of the geometries only
+     */
+    private static Intersectable[] toGeometryArray(List<Bounded> geometries) {
+        Intersectable[] array = new Intersectable[geometries.size()];
+        for (int i = 0; i < array.length; ++i)
+            array[i] = geometries.get(i).geometry();
+        return array;
+    }
+
+    /**
+     * The geometries of the collection count their own tests.
+     *
+     * @return true
+     */
+    @Override
+    protected boolean countsOwnPrimitiveTests() {
+        return true;
     }
 
     /**
@@ -58,16 +322,18 @@ public class Geometries extends Intersectable {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray,double maxDistance) {
-        // If the list has no geometries
-        if (geometryList == null)
+        // If the collection has no geometries
+        if (size == 0)
             return null;
 
         List<GeoPoint> totalIntersections = new LinkedList<>();
 
         // Iterate over all the geometries in the list
-        for (Intersectable geometry : geometryList) {
-            // Find the relevant intersection Geopoints with the maxDistance condition
-            List<GeoPoint> intersections = geometry.findGeoIntersectionsHelper(ray,maxDistance);
+        for (int i = 0; i < size; ++i) {
+            Intersectable geometry = geometryArray[i];
+            // Find the relevant intersection Geopoints with the maxDistance condition,
+            // the geometries whose bounding box is missed are skipped
+            List<GeoPoint> intersections = geometry.findGeoIntersections(ray,maxDistance);
             // If there are intersections
             if (intersections != null)
                 // Add the intersection points to the total list
@@ -80,5 +346,52 @@ public class Geometries extends Intersectable {
         return totalIntersections;
     }
 
+    /**
+     * Finds the closest intersection in the collection. Every time a closer point is found,
+     * its distance becomes the max distance for the rest of the geometries, so farther geometries
+     * (and hierarchy nodes) are rejected by their bounding boxes.
+     *
+     * @param ray         the ray to intersect with the objects
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the closest geometric intersection point, or null if there are no intersections
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        GeoPoint closest = null;
+        for (int i = 0; i < size; ++i) {
+            GeoPoint gp = geometryArray[i].findClosestGeoIntersection(ray, maxDistance);
+            if (gp != null) {
+                // keep the first point of equally distant points, like the scan of the whole list
+                double distance = gp.getDistance();
+                if (closest == null || distance < maxDistance) {
+                    closest = gp;
+                    maxDistance = distance;
+                }
+            }
+        }
+        return closest;
+    }
 
+    /**
+     * Occlusion query over the collection: multiplies the transparency of all the geometries along the ray
+     * without collecting their intersections, and stops at the first opaque blocker.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points
+     * @return the transparency coefficient along the ray
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        Double3 ktr = Double3.ONE;
+        for (int i = 0; i < size; ++i) {
+            Double3 geometryKtr = geometryArray[i].findTransparency(ray, maxDistance);
+            if (geometryKtr != Double3.ONE) {
+                ktr = ktr.product(geometryKtr);
+                // the light is completely blocked, no need to check the rest of the geometries
+                if (ktr.equals(Double3.ZERO))
+                    return Double3.ZERO;
+            }
+        }
+        return ktr;
+    }
 }
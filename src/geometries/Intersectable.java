@@ -1,7 +1,12 @@
 package geometries;
 
+import primitives.BoundingBox;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
+import primitives.RenderStatistics;
+import primitives.Vector;
 
 import java.util.List;
 import java.util.Objects;
@@ -16,10 +21,30 @@ import java.util.stream.Collectors;
 public abstract class Intersectable {
     /**
      * Represents a geometric point of intersection between a ray and a geometry object.
+     * It is the hit record which is carried from the intersection search to the shading:
+     * besides the point and the geometry it keeps the distance from the ray head, the material,
+     * and the normal, which is calculated at most once.
      */
     public static class GeoPoint {
         final public Geometry geometry;
         final public Point point;
+        /**
+         * The material of the geometry at the point
+         */
+        final public Material material;
+        /**
+         * The distance of the point from the head of the ray, NaN until it is known
+         */
+        private double distance;
+        /**
+         * The normal of the geometry at the point, null until it is needed (or given by the geometry)
+         */
+        private Vector normal;
+        /**
+         * The barycentric coordinates of the point on a triangle face: the weights of the second and
+         * the third vertices (the weight of the first one is 1-u-v), NaN for other geometries
+         */
+        private final double u, v;
 
         /**
          * Constructs a GeoPoint object with the specified geometry and intersection point.
@@ -28,8 +53,78 @@ public abstract class Intersectable {
          * @param point    the intersection point
          */
         public GeoPoint(Geometry geometry, Point point) {
+            this(geometry, point, Double.NaN);
+        }
+
+        /**
+         * Constructs a GeoPoint object with the distance of the point along the ray.
+         *
+         * @param geometry the geometry object
+         * @param point    the intersection point
+         * @param distance the distance of the point from the ray head
+         */
+        public GeoPoint(Geometry geometry, Point point, double distance) {
+            this(geometry, point, distance, null, Double.NaN, Double.NaN);
+        }
+
+        /**
+         * Constructs a GeoPoint object on a triangle face, with the normal of the face and the barycentric
+         * coordinates of the point, for interpolating values given at the vertices of the face.
+         *
+         * @param geometry the geometry object
+         * @param point    the intersection point
+         * @param distance the distance of the point from the ray head
+         * @param normal   the normal of the geometry at the point, or null to calculate it by the geometry
+         * @param u        the weight of the second vertex of the face
+         * @param v        the weight of the third vertex of the face
+         */
+        public GeoPoint(Geometry geometry, Point point, double distance, Vector normal, double u, double v) {
             this.geometry = geometry;
             this.point = point;
+            this.material = geometry == null ? null : geometry.getMaterial();
+            this.distance = distance;
+            this.normal = normal;
+            this.u = u;
+            this.v = v;
+        }
+
+        /**
+         * Returns the normal of the geometry at the intersection point.
+         * The normal is calculated by the geometry on the first call only.
+         *
+         * @return the normal of the geometry at the point
+         */
+        public Vector getNormal() {
+            if (normal == null)
+                normal = geometry.getNormal(point);
+            return normal;
+        }
+
+        /**
+         * Returns the distance of the point from the head of the ray it was found by.
+         *
+         * @return the distance, or NaN if it is not known (the point was not found by a closest-hit query)
+         */
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * Returns the first barycentric coordinate of the point on its triangle face.
+         *
+         * @return the weight of the second vertex of the face, or NaN if the geometry has no faces
+         */
+        public double getU() {
+            return u;
+        }
+
+        /**
+         * Returns the second barycentric coordinate of the point on its triangle face.
+         *
+         * @return the weight of the third vertex of the face, or NaN if the geometry has no faces
+         */
+        public double getV() {
+            return v;
         }
 
         /**
@@ -98,6 +193,11 @@ public abstract class Intersectable {
      * @return a list of geometric intersection points, or null if there are no intersections
      */
     public final List<GeoPoint> findGeoIntersections(Ray ray, double maxDistance) {
+        // reject the ray cheaply if it misses the bounding box of the object
+        BoundingBox box = getBoundingBox();
+        if (box != null && !boxIntersects(box, ray, maxDistance))
+            return null;
+        countPrimitiveTest();
         return findGeoIntersectionsHelper(ray, maxDistance);
     }
 
@@ -114,4 +214,133 @@ public abstract class Intersectable {
 
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance);
 
+    /**
+     * Finds the closest geometric intersection between a ray and the geometry object.
+     *
+     * @param ray the ray to intersect with the object
+     * @return the closest geometric intersection point, or null if there are no intersections
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Finds the closest geometric intersection between a ray and the geometry object
+     * which is not farther than the max distance.
+     *
+     * @param ray         the ray to intersect with the object
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the closest geometric intersection point, or null if there are no intersections
+     */
+    public final GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        // reject the ray cheaply if it misses the bounding box of the object
+        BoundingBox box = getBoundingBox();
+        if (box != null && !boxIntersects(box, ray, maxDistance))
+            return null;
+        countPrimitiveTest();
+        GeoPoint closest = findClosestGeoIntersectionHelper(ray, maxDistance);
+        // the hit record always leaves the query with its distance
+        if (closest != null && Double.isNaN(closest.distance))
+            closest.distance = ray.getP0().distance(closest.point);
+        return closest;
+    }
+
+    /**
+     * Helper method for finding the closest geometric intersection.
+     * The default implementation picks the closest point of all the intersections of the object.
+     *
+     * @param ray         the ray to intersect with the object
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the closest geometric intersection point, or null if there are no intersections
+     */
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        return intersections == null ? null : ray.findClosestGeoPoint(intersections);
+    }
+
+    /**
+     * Occlusion query for shadow rays: finds how much light passes along the ray up to the max distance.
+     * Unlike {@link #findGeoIntersections(Ray, double)} it does not collect the intersections,
+     * it multiplies the transparency (kT) of the materials that are hit, and stops at the first opaque one.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points (the distance to the light)
+     * @return the transparency coefficient along the ray - {@link Double3#ONE} if nothing blocks the ray,
+     * {@link Double3#ZERO} if an opaque geometry blocks it
+     */
+    public final Double3 findTransparency(Ray ray, double maxDistance) {
+        // nothing can block a ray that misses the bounding box of the object
+        BoundingBox box = getBoundingBox();
+        if (box != null && !boxIntersects(box, ray, maxDistance))
+            return Double3.ONE;
+        countPrimitiveTest();
+        return findTransparencyHelper(ray, maxDistance);
+    }
+
+    /**
+     * Checks the bounding box of the object, and counts the test in the render statistics.
+     *
+     * @param box         the bounding box of the object
+     * @param ray         the ray
+     * @param maxDistance the maximum distance between the ray and the box
+     * @return true if the ray may hit the box
+     */
+    private static boolean boxIntersects(BoundingBox box, Ray ray, double maxDistance) {
+        RenderStatistics.count(RenderStatistics.Counter.BOX_TESTS);
+        return box.intersects(ray, maxDistance);
+    }
+
+    /**
+     * Counts the exact intersection test of the object in the render statistics,
+     * unless the object counts its tests itself.
+     */
+    private void countPrimitiveTest() {
+        if (RenderStatistics.isCollecting() && !countsOwnPrimitiveTests())
+            RenderStatistics.count(RenderStatistics.Counter.PRIMITIVE_TESTS);
+    }
+
+    /**
+     * Tells whether the object counts its exact intersection tests in the render statistics by itself,
+     * instead of a single test for every query. A collection counts the tests of its geometries,
+     * and a mesh counts the tests of its faces.
+     *
+     * @return true if the object counts its own tests, false (the default) for a single primitive
+     */
+    protected boolean countsOwnPrimitiveTests() {
+        return false;
+    }
+
+    /**
+     * Helper method for the occlusion query. The default implementation multiplies the transparency
+     * of the geometries of all the intersection points, and stops when the light is completely blocked.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points
+     * @return the transparency coefficient along the ray
+     */
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray, maxDistance);
+        if (intersections == null)
+            return Double3.ONE;
+        Double3 ktr = Double3.ONE;
+        for (GeoPoint gp : intersections) {
+            ktr = ktr.product(gp.geometry.getMaterial().kT);
+            // an opaque geometry blocks the light completely
+            if (ktr.equals(Double3.ZERO))
+                return Double3.ZERO;
+        }
+        return ktr;
+    }
+
+    /**
+     * Returns the axis-aligned bounding box of the object.
+     * Unbounded objects (the default) return null.
+     * The box is checked before the exact intersection calculation, so it should be cached by the object.
+     *
+     * @return the bounding box of the object, or null if the object is unbounded
+     */
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
 }
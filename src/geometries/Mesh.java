@@ -0,0 +1,497 @@
+package geometries;
+
+import primitives.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+import static primitives.VectorMath.dot;
+import static primitives.VectorMath.lengthSquared;
+
+/**
+ * Mesh class represents a model made of triangles which share their vertices (an indexed triangle mesh).
+ * The vertices are kept in a flat array of coordinates and every face is three indices into it,
+ * so a shared vertex is stored only once and no objects are created per triangle.
+ * The normals of the faces are calculated once on construction, and the faces are arranged
+ * in an internal bounding volume hierarchy, so a ray tests only the few faces around it.
+ * All the faces of the mesh share the emission and the material of the mesh.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class Mesh extends Geometry {
+
+    /**
+     * The maximal amount of faces in a leaf of the hierarchy
+     */
+    private static final int MAX_LEAF_SIZE = 4;
+
+    /**
+     * The depth limit of the traversal stack, the hierarchy is built by median splits
+     * so its depth is about log2 of the amount of faces
+     */
+    private static final int STACK_SIZE = 64;
+
+    /**
+     * The scratch arrays of the traversal of the hierarchy by a thread, so a query does not allocate them.
+     * A query does not start another query of a mesh, so a thread needs a single set of arrays.
+     */
+    private static final class Traversal {
+        /**
+         * The stack of the nodes which are still to visit
+         */
+        final int[] stack = new int[STACK_SIZE];
+
+        /**
+         * The barycentric coordinates of the last intersection with a face
+         */
+        final double[] barycentric = new double[2];
+    }
+
+    /**
+     * The traversal arrays of every thread, shared by all the meshes
+     */
+    private static final ThreadLocal<Traversal> TRAVERSAL = ThreadLocal.withInitial(Traversal::new);
+
+    /**
+     * The coordinates of the vertices: x0, y0, z0, x1, y1, z1, ...
+     */
+    private final double[] vertices;
+
+    /**
+     * The indices of the vertices of the faces, three per face
+     */
+    private final int[] indices;
+
+    /**
+     * The normalized normals of the faces, three coordinates per face (zeros for a degenerate face)
+     */
+    private final double[] normals;
+
+    /**
+     * The faces in the order of the hierarchy leaves
+     */
+    private final int[] faceOrder;
+
+    /**
+     * The boxes of the hierarchy nodes, six coordinates per node: minX, minY, minZ, maxX, maxY, maxZ
+     */
+    private final double[] nodeBounds;
+
+    /**
+     * Two integers per node of the hierarchy: for a leaf - the position of its first face in
+     * {@link #faceOrder} and the amount of its faces, for an inner node - the index of its
+     * first child (the second child follows it) and zero
+     */
+    private final int[] nodes;
+
+    /**
+     * The bounding box of the whole mesh
+     */
+    private final BoundingBox boundingBox;
+
+    /**
+     * Constructs a mesh from the coordinates of its vertices and the indices of its faces.
+     * The arrays are used as is and not copied, so they must not be changed after the construction.
+     * A degenerate face (with vertices on a line) is kept, but is never intersected.
+     *
+     * @param vertices the coordinates of the vertices: x0, y0, z0, x1, y1, z1, ...
+     * @param indices  the indices of the vertices of the faces, three per face
+     * @throws IllegalArgumentException if the arrays are empty, not made of triples, or an index is out of range
+     */
+    public Mesh(double[] vertices, int[] indices) {
+        if (vertices.length == 0 || vertices.length % 3 != 0)
+            throw new IllegalArgumentException("The vertex coordinates must be a non empty list of triples");
+        if (indices.length == 0 || indices.length % 3 != 0)
+            throw new IllegalArgumentException("The face indices must be a non empty list of triples");
+        int vertexCount = vertices.length / 3;
+        for (int index : indices)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("Face index " + index + " is out of the vertices range");
+
+        this.vertices = vertices;
+        this.indices = indices;
+
+        int faceCount = indices.length / 3;
+        normals = new double[faceCount * 3];
+        double[] centers = new double[faceCount * 3];
+        for (int face = 0; face < faceCount; ++face) {
+            int i0 = 3 * indices[3 * face], i1 = 3 * indices[3 * face + 1], i2 = 3 * indices[3 * face + 2];
+            double e1x = vertices[i1] - vertices[i0], e1y = vertices[i1 + 1] - vertices[i0 + 1],
+                    e1z = vertices[i1 + 2] - vertices[i0 + 2];
+            double e2x = vertices[i2] - vertices[i0], e2y = vertices[i2 + 1] - vertices[i0 + 1],
+                    e2z = vertices[i2 + 2] - vertices[i0 + 2];
+            VectorMath.cross(normals, 3 * face, e1x, e1y, e1z, e2x, e2y, e2z);
+            double length = Math.sqrt(lengthSquared(normals[3 * face], normals[3 * face + 1], normals[3 * face + 2]));
+            if (!isZero(length))
+                for (int k = 3 * face; k < 3 * face + 3; ++k)
+                    normals[k] /= length;
+            else
+                normals[3 * face] = normals[3 * face + 1] = normals[3 * face + 2] = 0;
+            for (int k = 0; k < 3; ++k)
+                centers[3 * face + k] = (vertices[i0 + k] + vertices[i1 + k] + vertices[i2 + k]) / 3;
+        }
+
+        faceOrder = new int[faceCount];
+        for (int face = 0; face < faceCount; ++face)
+            faceOrder[face] = face;
+        // a binary tree with at most faceCount leaves has less than 2 * faceCount nodes
+        int maxNodes = 2 * faceCount;
+        double[] bounds = new double[maxNodes * 6];
+        int[] tree = new int[maxNodes * 2];
+        int nodeCount = buildNode(0, 0, faceCount, 1, centers, bounds, tree);
+        nodeBounds = Arrays.copyOf(bounds, nodeCount * 6);
+        nodes = Arrays.copyOf(tree, nodeCount * 2);
+        boundingBox = new BoundingBox(nodeBounds[0], nodeBounds[1], nodeBounds[2],
+                nodeBounds[3], nodeBounds[4], nodeBounds[5]);
+    }
+
+    /**
+     * Returns the amount of faces of the mesh.
+     *
+     * @return the amount of faces
+     */
+    public int getFaceCount() {
+        return indices.length / 3;
+    }
+
+    /**
+     * Returns the amount of vertices of the mesh.
+     *
+     * @return the amount of vertices
+     */
+    public int getVertexCount() {
+        return vertices.length / 3;
+    }
+
+    /**
+     * Recursively builds a node of the hierarchy over a range of {@link #faceOrder}.
+     * The faces are split in the middle of the longest axis of their centers, so the tree is balanced.
+     *
+     * @param node     the index of the node to build
+     * @param from     the first position of the range of faces
+     * @param to       the position after the last face of the range
+     * @param nextNode the index of the first free node
+     * @param centers  the centers of the faces
+     * @param bounds   the boxes of the nodes
+     * @param tree     the structure of the nodes
+     * @return the index of the first free node after the nodes of the subtree
+     */
+    private int buildNode(int node, int from, int to, int nextNode, double[] centers, double[] bounds, int[] tree) {
+        // the box of the faces and the box of their centers
+        double[] box = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        double[] centerBox = box.clone();
+        for (int i = from; i < to; ++i) {
+            int face = faceOrder[i];
+            for (int corner = 0; corner < 3; ++corner) {
+                int v = 3 * indices[3 * face + corner];
+                for (int k = 0; k < 3; ++k) {
+                    box[k] = Math.min(box[k], vertices[v + k]);
+                    box[k + 3] = Math.max(box[k + 3], vertices[v + k]);
+                }
+            }
+            for (int k = 0; k < 3; ++k) {
+                centerBox[k] = Math.min(centerBox[k], centers[3 * face + k]);
+                centerBox[k + 3] = Math.max(centerBox[k + 3], centers[3 * face + k]);
+            }
+        }
+        System.arraycopy(box, 0, bounds, node * 6, 6);
+
+        if (to - from <= MAX_LEAF_SIZE) {
+            tree[2 * node] = from;
+            tree[2 * node + 1] = to - from;
+            return nextNode;
+        }
+
+        int axis = 0;
+        for (int k = 1; k < 3; ++k)
+            if (centerBox[k + 3] - centerBox[k] > centerBox[axis + 3] - centerBox[axis])
+                axis = k;
+        int middle = (from + to) >>> 1;
+        select(from, to, middle, axis, centers);
+
+        int left = nextNode;
+        tree[2 * node] = left;
+        tree[2 * node + 1] = 0;
+        nextNode = buildNode(left, from, middle, nextNode + 2, centers, bounds, tree);
+        return buildNode(left + 1, middle, to, nextNode, centers, bounds, tree);
+    }
+
+    /**
+     * Partially sorts a range of {@link #faceOrder} by the centers of the faces along an axis (quickselect),
+     * so the face at the k-th position is in its sorted place, the faces before it are not after it
+     * and the faces after it are not before it.
+     *
+     * @param from    the first position of the range
+     * @param to      the position after the last face of the range
+     * @param k       the position to put in place
+     * @param axis    0 for x, 1 for y and 2 for z
+     * @param centers the centers of the faces
+     */
+    private void select(int from, int to, int k, int axis, double[] centers) {
+        int lo = from, hi = to - 1;
+        while (lo < hi) {
+            double pivot = centers[3 * faceOrder[(lo + hi) >>> 1] + axis];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (centers[3 * faceOrder[i] + axis] < pivot) ++i;
+                while (centers[3 * faceOrder[j] + axis] > pivot) --j;
+                if (i <= j) {
+                    int temp = faceOrder[i];
+                    faceOrder[i++] = faceOrder[j];
+                    faceOrder[j--] = temp;
+                }
+            }
+            if (k <= j) hi = j;
+            else if (k >= i) lo = i;
+            else return;
+        }
+    }
+
+    /**
+     * Checks whether the ray hits the box of a node closer than the max distance (the slab test).
+     * A zero direction coordinate gives infinite inverse coordinate, and the NaN of a ray on the side
+     * of the box is treated as a hit.
+     *
+     * @param node        the index of the node
+     * @param px          the x coordinate of the ray head
+     * @param py          the y coordinate of the ray head
+     * @param pz          the z coordinate of the ray head
+     * @param ix          the inverse x coordinate of the ray direction
+     * @param iy          the inverse y coordinate of the ray direction
+     * @param iz          the inverse z coordinate of the ray direction
+     * @param maxDistance the maximum distance between the ray head and the box
+     * @return true if the ray may hit the box
+     */
+    private boolean hitsNode(int node, double px, double py, double pz, double ix, double iy, double iz,
+                             double maxDistance) {
+        RenderStatistics.count(RenderStatistics.Counter.BOX_TESTS);
+        int b = 6 * node;
+        double t1 = (nodeBounds[b] - px) * ix, t2 = (nodeBounds[b + 3] - px) * ix;
+        double tNear = Math.max(0, Math.min(t1, t2)), tFar = Math.min(maxDistance, Math.max(t1, t2));
+        t1 = (nodeBounds[b + 1] - py) * iy;
+        t2 = (nodeBounds[b + 4] - py) * iy;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+        t1 = (nodeBounds[b + 2] - pz) * iz;
+        t2 = (nodeBounds[b + 5] - pz) * iz;
+        tNear = Math.max(tNear, Math.min(t1, t2));
+        tFar = Math.min(tFar, Math.max(t1, t2));
+        return !(alignZero(tNear - tFar) > 0);
+    }
+
+    /**
+     * Finds the distance along the ray to its intersection with a face, with the same test as a {@link Triangle}:
+     * a ray through an edge or a vertex of the face does not intersect it.
+     *
+     * @param face        the index of the face
+     * @param px          the x coordinate of the ray head
+     * @param py          the y coordinate of the ray head
+     * @param pz          the z coordinate of the ray head
+     * @param vx          the x coordinate of the ray direction
+     * @param vy          the y coordinate of the ray direction
+     * @param vz          the z coordinate of the ray direction
+     * @param maxDistance the maximum distance between the ray head and the point
+     * @param barycentric the array to write the barycentric coordinates u and v of the point into
+     * @return the distance of the intersection point, or NaN if there is no intersection
+     */
+    private double intersectFace(int face, double px, double py, double pz, double vx, double vy, double vz,
+                                 double maxDistance, double[] barycentric) {
+        RenderStatistics.count(RenderStatistics.Counter.PRIMITIVE_TESTS);
+        int i0 = 3 * indices[3 * face], i1 = 3 * indices[3 * face + 1], i2 = 3 * indices[3 * face + 2];
+        return Triangle.intersect(vertices[i0], vertices[i0 + 1], vertices[i0 + 2],
+                vertices[i1] - vertices[i0], vertices[i1 + 1] - vertices[i0 + 1], vertices[i1 + 2] - vertices[i0 + 2],
+                vertices[i2] - vertices[i0], vertices[i2 + 1] - vertices[i0 + 1], vertices[i2 + 2] - vertices[i0 + 2],
+                px, py, pz, vx, vy, vz, maxDistance, barycentric);
+    }
+
+    /**
+     * Creates the intersection point of the ray with a face, together with the normal of the face
+     * and the barycentric coordinates of the point on the face.
+     *
+     * @param ray  the ray
+     * @param face the index of the face
+     * @param t    the distance of the point from the ray head
+     * @param u    the barycentric coordinate of the second vertex of the face
+     * @param w    the barycentric coordinate of the third vertex of the face
+     * @return the geometric intersection point
+     */
+    private GeoPoint geoPoint(Ray ray, int face, double t, double u, double w) {
+        return new GeoPoint(this, ray.getPoint(t), t,
+                new Vector(normals[3 * face], normals[3 * face + 1], normals[3 * face + 2]), u, w);
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
+        Point p0 = ray.getP0();
+        Vector v = ray.getDirection();
+        double px = p0.getX(), py = p0.getY(), pz = p0.getZ(), vx = v.getX(), vy = v.getY(), vz = v.getZ();
+        double ix = 1 / vx, iy = 1 / vy, iz = 1 / vz;
+        Traversal traversal = TRAVERSAL.get();
+        int[] stack = traversal.stack;
+        double[] barycentric = traversal.barycentric;
+        List<GeoPoint> intersections = null;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, px, py, pz, ix, iy, iz, maxDistance))
+                continue;
+            int first = nodes[2 * node], count = nodes[2 * node + 1];
+            if (count == 0) {
+                stack[top++] = first;
+                stack[top++] = first + 1;
+                continue;
+            }
+            for (int i = first; i < first + count; ++i) {
+                int face = faceOrder[i];
+                double t = intersectFace(face, px, py, pz, vx, vy, vz, maxDistance, barycentric);
+                if (!Double.isNaN(t)) {
+                    if (intersections == null)
+                        intersections = new ArrayList<>();
+                    intersections.add(geoPoint(ray, face, t, barycentric[0], barycentric[1]));
+                }
+            }
+        }
+        return intersections;
+    }
+
+    /**
+     * Finds the closest intersection with the faces. The distance of the closest face found so far
+     * becomes the max distance, so the farther nodes of the hierarchy are skipped.
+     *
+     * @param ray         the ray to intersect with the mesh
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the closest geometric intersection point, or null if there are no intersections
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        Point p0 = ray.getP0();
+        Vector v = ray.getDirection();
+        double px = p0.getX(), py = p0.getY(), pz = p0.getZ(), vx = v.getX(), vy = v.getY(), vz = v.getZ();
+        double ix = 1 / vx, iy = 1 / vy, iz = 1 / vz;
+        Traversal traversal = TRAVERSAL.get();
+        int[] stack = traversal.stack;
+        double[] barycentric = traversal.barycentric;
+        int closestFace = -1;
+        double closest = maxDistance, closestU = 0, closestW = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, px, py, pz, ix, iy, iz, closest))
+                continue;
+            int first = nodes[2 * node], count = nodes[2 * node + 1];
+            if (count == 0) {
+                stack[top++] = first;
+                stack[top++] = first + 1;
+                continue;
+            }
+            for (int i = first; i < first + count; ++i) {
+                int face = faceOrder[i];
+                double t = intersectFace(face, px, py, pz, vx, vy, vz, closest, barycentric);
+                if (!Double.isNaN(t) && (closestFace == -1 || t < closest)) {
+                    closest = t;
+                    closestFace = face;
+                    closestU = barycentric[0];
+                    closestW = barycentric[1];
+                }
+            }
+        }
+        return closestFace == -1 ? null : geoPoint(ray, closestFace, closest, closestU, closestW);
+    }
+
+    /**
+     * Occlusion query over the faces: all the faces have the transparency of the mesh material,
+     * so an opaque mesh stops at the first face which is hit.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points
+     * @return the transparency coefficient along the ray
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        Double3 kT = getMaterial().kT;
+        Point p0 = ray.getP0();
+        Vector v = ray.getDirection();
+        double px = p0.getX(), py = p0.getY(), pz = p0.getZ(), vx = v.getX(), vy = v.getY(), vz = v.getZ();
+        double ix = 1 / vx, iy = 1 / vy, iz = 1 / vz;
+        Traversal traversal = TRAVERSAL.get();
+        int[] stack = traversal.stack;
+        double[] barycentric = traversal.barycentric;
+        Double3 ktr = Double3.ONE;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (!hitsNode(node, px, py, pz, ix, iy, iz, maxDistance))
+                continue;
+            int first = nodes[2 * node], count = nodes[2 * node + 1];
+            if (count == 0) {
+                stack[top++] = first;
+                stack[top++] = first + 1;
+                continue;
+            }
+            for (int i = first; i < first + count; ++i)
+                if (!Double.isNaN(intersectFace(faceOrder[i], px, py, pz, vx, vy, vz, maxDistance, barycentric))) {
+                    ktr = ktr.product(kT);
+                    // the light is completely blocked
+                    if (ktr.equals(Double3.ZERO))
+                        return Double3.ZERO;
+                }
+        }
+        return ktr;
+    }
+
+    /**
+     * The mesh counts the tests of its faces.
+     *
+     * @return true
+     */
+    @Override
+    protected boolean countsOwnPrimitiveTests() {
+        return true;
+    }
+
+    /**
+     * Returns the normal of the face which contains the point.
+     * The intersection points of the mesh already carry the normal of their face,
+     * so this scan of all the faces is needed only for points given from outside.
+     *
+     * @param point the point on the mesh
+     * @return the normal of the face of the point
+     * @throws IllegalArgumentException if the point is not on a face of the mesh
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        double px = point.getX(), py = point.getY(), pz = point.getZ();
+        for (int face = 0; face < getFaceCount(); ++face) {
+            double nx = normals[3 * face], ny = normals[3 * face + 1], nz = normals[3 * face + 2];
+            if (nx == 0 && ny == 0 && nz == 0)
+                continue;
+            int i0 = 3 * indices[3 * face];
+            if (!isZero(dot(nx, ny, nz, px - vertices[i0], py - vertices[i0 + 1], pz - vertices[i0 + 2])))
+                continue;
+            // the point is inside (or on the border of) the face if it is on the inner side of all the edges
+            boolean inside = true;
+            for (int corner = 0; corner < 3 && inside; ++corner) {
+                int a = 3 * indices[3 * face + corner], b = 3 * indices[3 * face + (corner + 1) % 3];
+                double ex = vertices[b] - vertices[a], ey = vertices[b + 1] - vertices[a + 1],
+                        ez = vertices[b + 2] - vertices[a + 2];
+                double wx = px - vertices[a], wy = py - vertices[a + 1], wz = pz - vertices[a + 2];
+                inside = alignZero(VectorMath.tripleProduct(nx, ny, nz, ex, ey, ez, wx, wy, wz)) >= 0;
+            }
+            if (inside)
+                return new Vector(nx, ny, nz);
+        }
+        throw new IllegalArgumentException("The point is not on the mesh");
+    }
+
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+}
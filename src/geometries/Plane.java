@@ -5,6 +5,8 @@
  This class represents a Plane in 3D space.
  */
 package geometries;
+import primitives.BoundingBox;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -13,6 +15,7 @@ import java.util.List;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
+import static primitives.VectorMath.dot;
 /**
  * Plane is an object witch includes a point on the plane and the vector normal on the plane
  */
@@ -85,6 +88,16 @@ public class Plane extends Geometry {
     }
 
 
+    /**
+     * A plane is infinite, so it has no bounding box
+     * @return null (unbounded)
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
+
     /**
 
      Finds the intersections of the given ray with the plane. Returns a list of points representing the intersections.
@@ -98,54 +111,67 @@ public class Plane extends Geometry {
 
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray,double maxDistance) {
+        double t = findIntersectionDistance(ray, maxDistance);
+        if (Double.isNaN(t))
+            return null;
+
+        //calculate the intersection point using the formula: P = P0 + tV
+        return List.of(new GeoPoint(this, ray.getPoint(t), t));
+    }
+
+    /**
+     * The occlusion query of the plane: a hit before the max distance passes the transparency of the plane.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking point
+     * @return the transparency coefficient along the ray
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        return Double.isNaN(findIntersectionDistance(ray, maxDistance)) ? Double3.ONE : getMaterial().kT;
+    }
+
+    /**
+     * Finds the distance along the ray to its intersection with the plane.
+     * The calculation is done on the coordinates with the primitive vector math, without creating any objects.
+     *
+     * @param ray         The ray to intersect with the plane.
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the distance t &gt; 0 of the intersection point from the ray head,
+     * or NaN if there is no intersection closer than the max distance
+     */
+    double findIntersectionDistance(Ray ray, double maxDistance) {
         //get the direction and starting point of the ray
-        Vector v = ray.getDirection();
         Point p0 = ray.getP0();
-
-        //get the normal to the plane
-        Vector n=normal;
+        Vector v = ray.getDirection();
 
         //if the ray starts on the q0 point of the plane, there is no intersection
         if(q0.equals(p0))
-            return null;
-
-        //calculate the vector between the starting point of the ray and q0
-        Vector P0_Q0=q0.subtract(p0);
+            return Double.NaN;
 
-        //calculate the numerator of the formula for calculating the intersection point
-        double nP0Q0=alignZero(n.dotProduct(P0_Q0));
+        //calculate the numerator of the formula for calculating the intersection point: n*(q0-p0)
+        double nP0Q0=alignZero(dot(normal.getX(), normal.getY(), normal.getZ(),
+                q0.getX() - p0.getX(), q0.getY() - p0.getY(), q0.getZ() - p0.getZ()));
 
         //if the numerator is zero, the point p0 is on the plane and there is no intersection
         if(isZero(nP0Q0))
-            return null;
+            return Double.NaN;
 
         //calculate the denominator of the formula for calculating the intersection point
-        double nv=alignZero(n.dotProduct(v));
+        double nv=alignZero(dot(normal.getX(), normal.getY(), normal.getZ(), v.getX(), v.getY(), v.getZ()));
 
         //if the denominator is zero, the ray is lying in the plane axis,
         // or the ray is in the plane or parallel to the plane - 0 points intersection
         if(isZero(nv))
-            return null;
+            return Double.NaN;
 
         //find the factor of the vector of the ray
         double t=alignZero(nP0Q0/nv);
 
         //if the factor is zero or negative, the ray is on the plane (t=0) or the ray is in the opposite side (t<0) - 0 points intersection
-        //also if the distance between the point and the ray is bigger the max distance return null
-        if (t <= 0 ||  alignZero(t - maxDistance) > 0) {
-            return null;
-        }
-
-        //calculate the intersection point using the formula: P = P0 + tV
-        Point intersection=ray.getPoint(t);
-
-        return List.of(new GeoPoint(this,intersection));
+        //also if the distance between the point and the ray is bigger the max distance there is no intersection
+        if (t <= 0 ||  alignZero(t - maxDistance) > 0)
+            return Double.NaN;
+        return t;
     }
 }
-
-
-
-
-
-
-
@@ -3,13 +3,14 @@ package geometries;
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
+import primitives.BoundingBox;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
+import primitives.VectorMath;
 
 /** Polygon class represents two-dimensional polygon in 3D Cartesian coordinate
  * system
@@ -20,6 +21,10 @@ public class Polygon extends Geometry {
    /** Associated plane in which the polygon lays */
    protected final Plane       plane;
    private final int           size;
+   /** The coordinates of the vertices (x0, y0, z0, x1, ...), for the primitive vector math */
+   protected final double[]    coordinates;
+   /** The bounding box of the polygon's vertices */
+   private final BoundingBox   boundingBox;
 
    /** Polygon constructor based on vertices list. The list must be ordered by edge
     * path. The polygon must be convex.
@@ -46,6 +51,8 @@ public class Polygon extends Geometry {
          throw new IllegalArgumentException("A polygon can't have less than 3 vertices");
       this.vertices = List.of(vertices);
       size          = vertices.length;
+      boundingBox   = BoundingBox.of(vertices);
+      coordinates   = VectorMath.toArray(vertices);
 
       // Generate the plane according to the first three vertices and associate the
       // polygon with this plane.
@@ -89,6 +96,9 @@ public class Polygon extends Geometry {
    @Override
    public Vector getNormal(Point point) { return plane.getNormal(); }
 
+   @Override
+   public BoundingBox getBoundingBox() { return boundingBox; }
+
 
    /**
     * Finds the intersections between the current polygon and a given ray.
@@ -99,53 +109,61 @@ public class Polygon extends Geometry {
     */
    @Override
    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray,double maxDistance) {
-      List<GeoPoint> intersection = this.plane.findGeoIntersections(ray,maxDistance);
+      double t = findIntersectionDistance(ray, maxDistance);
+      return Double.isNaN(t) ? null : List.of(new GeoPoint(this, ray.getPoint(t), t));
+   }
 
-      // If there are no intersections with the plane of the triangle, return null (0 points intersection).
-      if (intersection == null) {
-         return null;
+   /**
+    * The occlusion query of the polygon: a hit before the max distance passes the transparency of the polygon.
+    *
+    * @param ray         the shadow ray
+    * @param maxDistance the maximum distance between the ray and the blocking point
+    * @return the transparency coefficient along the ray
+    */
+   @Override
+   protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+      return Double.isNaN(findIntersectionDistance(ray, maxDistance)) ? Double3.ONE : getMaterial().kT;
+   }
+
+   /**
+    * Finds the distance along the ray to its intersection with the polygon, without creating any objects.
+    *
+    * @param ray         the ray to intersect with the polygon
+    * @param maxDistance the maximum distance between the ray and the point
+    * @return the distance t &gt; 0 of the intersection point from the ray head,
+    * or NaN if there is no intersection closer than the max distance
+    */
+   double findIntersectionDistance(Ray ray, double maxDistance) {
+      double t = plane.findIntersectionDistance(ray, maxDistance);
+
+      // If there are no intersections with the plane of the polygon, there are no intersections.
+      if (Double.isNaN(t)) {
+         return Double.NaN;
       }
 
       // Get the direction vector of the given ray and its starting point.
       Vector v = ray.getDirection();
       Point p0 = ray.getP0();
+      double vx = v.getX(), vy = v.getY(), vz = v.getZ();
+      double px = p0.getX(), py = p0.getY(), pz = p0.getZ();
 
-      // Calculate the n-1 edge vectors of the triangle.
-      List<Vector> p0Vectors = new LinkedList<Vector>();
-      for (Point p : vertices) {
-         p0Vectors.add(p.subtract(ray.getP0()));
-      }
-
-      // Calculate the normalized cross products of the edge vectors.
-      List<Vector> crossVectors = new ArrayList<Vector>();
+      // For every edge (Vi, Vi+1) calculate the dot product of the ray direction with the normalized
+      // cross product of the vectors from the ray head to the vertices: v*normalize((Vi-p0)x(Vi+1-p0)).
+      // The vectors are kept in primitive coordinates, so no objects are created.
       int count = 0;
-      int max = p0Vectors.size() - 1;
-      for (Vector vect : p0Vectors) {
-         if (count != max) {
-            crossVectors.add(vect.crossProduct(p0Vectors.get(count + 1)).normalize());
-         }
-         count++;
-      }
-      //add the  Vn v1 cross product to the crossVectors list and normalized it
-      crossVectors.add(p0Vectors.get(max).crossProduct(p0Vectors.get(0)).normalize());
-
-
-      // sum the number of positive or negative values of the dot product
-      count = 0;
-      for (Vector cross : crossVectors) {
-         double t = alignZero(v.dotProduct(cross));
-         if (t > 0)
+      for (int i = 0; i < size; ++i) {
+         int j = i == size - 1 ? 0 : i + 1;
+         double ax = coordinates[3 * i] - px, ay = coordinates[3 * i + 1] - py, az = coordinates[3 * i + 2] - pz;
+         double bx = coordinates[3 * j] - px, by = coordinates[3 * j + 1] - py, bz = coordinates[3 * j + 2] - pz;
+         // NaN if the ray head is on the line of the edge, then the edge is counted neither way
+         double d = alignZero(VectorMath.normalizedTripleProduct(vx, vy, vz, ax, ay, az, bx, by, bz));
+         if (d > 0)
             count++;//count that the dot is positive
-         if (t < 0)
+         if (d < 0)
             count--;//count that the dot is negative
       }
 
-
-      // If the signs of the dot products are all positive or all negative, the ray intersects the triangle.
-      if (count == vertices.size() || count == -vertices.size()) {
-         // The ray intersects the polygon.
-         return  List.of(new GeoPoint(this,intersection.get(0).point));
-      }
-      return null;
+      // If the signs of the dot products are all positive or all negative, the ray intersects the polygon.
+      return count == size || count == -size ? t : Double.NaN;
    }
 }
@@ -6,6 +6,8 @@
  */
 package geometries;
 
+import primitives.BoundingBox;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -15,6 +17,8 @@ import java.util.List;
 
 import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
+import static primitives.VectorMath.dot;
+import static primitives.VectorMath.lengthSquared;
 
 /**
  * Sphere class represents implementation of RadialGeometry and includes the point center and double of the radius
@@ -26,6 +30,11 @@ public class Sphere extends RadialGeometry {
 
     private Point center;
 
+    /**
+     * the bounding box of the sphere
+     */
+    private final BoundingBox boundingBox;
+
     /**
      * Constructs a sphere with the given radius and center point.
      *
@@ -35,6 +44,8 @@ public class Sphere extends RadialGeometry {
     public Sphere(double radius, Point center) {
         super(radius);
         this.center = center;
+        boundingBox = new BoundingBox(center.getX() - radius, center.getY() - radius, center.getZ() - radius,
+                center.getX() + radius, center.getY() + radius, center.getZ() + radius);
     }
 
     /**
@@ -57,6 +68,11 @@ public class Sphere extends RadialGeometry {
         return (Vector) p.subtract(center).normalize();
     }
 
+    @Override
+    public BoundingBox getBoundingBox() {
+        return boundingBox;
+    }
+
     /**
 
      Finds the intersection points of a given ray with a sphere.
@@ -74,11 +90,15 @@ public class Sphere extends RadialGeometry {
             if(alignZero(radius - maxDistance) > 0){
                 return null;
             }
-            return List.of(new GeoPoint(this, ray.getPoint(radius)));
+            return List.of(new GeoPoint(this, ray.getPoint(radius), radius));
         }
-        Vector u = center.subtract(p0);
-        double tm = alignZero(v.dotProduct(u));
-        double dSquared = isZero(tm) ? u.lengthSquared() : u.lengthSquared() - tm * tm;
+        // u = center - p0, calculated on the coordinates without creating a vector
+        double ux = center.getX() - p0.getX();
+        double uy = center.getY() - p0.getY();
+        double uz = center.getZ() - p0.getZ();
+        double tm = alignZero(dot(v.getX(), v.getY(), v.getZ(), ux, uy, uz));
+        double uSquared = lengthSquared(ux, uy, uz);
+        double dSquared = isZero(tm) ? uSquared : uSquared - tm * tm;
         double thSquared = alignZero(radius * radius - dSquared);
         // if (thSquared <= 0)
         //    return null;
@@ -88,22 +108,55 @@ public class Sphere extends RadialGeometry {
 
         //there is 2 intersection points, and they are closer than the maxDistance
         if (t1 > 0 && t2 > 0 && alignZero(t1 - maxDistance) <= 0 && alignZero(t2 - maxDistance) <= 0) {
-            GeoPoint p1 = new GeoPoint(this, ray.getPoint(t1));
-            GeoPoint p2 = new GeoPoint(this, ray.getPoint(t2));
+            GeoPoint p1 = new GeoPoint(this, ray.getPoint(t1), t1);
+            GeoPoint p2 = new GeoPoint(this, ray.getPoint(t2), t2);
             return List.of(p1, p2);
         }
         //only t1 intersects the sphere, and it is closer than the maxDistance
         if (t1 > 0 && alignZero(t1 - maxDistance) <= 0) {
-            GeoPoint p1 = new GeoPoint(this, ray.getPoint(t1));
+            GeoPoint p1 = new GeoPoint(this, ray.getPoint(t1), t1);
             return List.of(p1);
         }
         //only t2 intersects the sphere, and it is closer than the maxDistance
         if (t2 > 0 && alignZero(t2 - maxDistance) <= 0) {
-            GeoPoint p2 = new GeoPoint(this, ray.getPoint(t2));
+            GeoPoint p2 = new GeoPoint(this, ray.getPoint(t2), t2);
             return List.of(p2);
         }
         return null;
 
     }
 
+    /**
+     * The occlusion query of the sphere: the same calculation as the intersections, but only the hits
+     * before the max distance are counted, and every hit passes the transparency of the sphere.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points
+     * @return the transparency coefficient along the ray
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        Vector v = ray.getDirection();
+        Point p0 = ray.getP0();
+        if (center.equals(p0)) // p0 is the center, the only hit is at the distance of the radius
+            return alignZero(radius - maxDistance) > 0 ? Double3.ONE : getMaterial().kT;
+        double ux = center.getX() - p0.getX();
+        double uy = center.getY() - p0.getY();
+        double uz = center.getZ() - p0.getZ();
+        double tm = alignZero(dot(v.getX(), v.getY(), v.getZ(), ux, uy, uz));
+        double uSquared = lengthSquared(ux, uy, uz);
+        double dSquared = isZero(tm) ? uSquared : uSquared - tm * tm;
+        double th = alignZero(Math.sqrt(alignZero(radius * radius - dSquared)));
+        double t1 = alignZero(tm - th);
+        double t2 = alignZero(tm + th);
+
+        // the distances are NaN when the ray misses the sphere, then no hit is counted
+        boolean hit1 = t1 > 0 && alignZero(t1 - maxDistance) <= 0;
+        boolean hit2 = t2 > 0 && alignZero(t2 - maxDistance) <= 0;
+        if (!hit1 && !hit2)
+            return Double3.ONE;
+        Double3 kT = getMaterial().kT;
+        return hit1 && hit2 ? kT.product(kT) : kT;
+    }
+
 }
@@ -7,12 +7,22 @@ import primitives.Vector;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+import static primitives.VectorMath.dot;
+
 /**
  * Represents a triangle in 3D Cartesian coordinate system.
  * Inherits from the {@link Polygon} class.
  */
 public class Triangle extends Polygon {
 
+    /**
+     * The coordinates of the two edges from the first vertex: p2-p1 and p3-p1,
+     * calculated once for the intersection calculation
+     */
+    private final double e1x, e1y, e1z, e2x, e2y, e2z;
+
     /**
      * Constructs a triangle with three vertices.
      *
@@ -22,10 +32,20 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point p1, Point p2, Point p3) {
         super(p1, p2, p3);
+        e1x = coordinates[3] - coordinates[0];
+        e1y = coordinates[4] - coordinates[1];
+        e1z = coordinates[5] - coordinates[2];
+        e2x = coordinates[6] - coordinates[0];
+        e2y = coordinates[7] - coordinates[1];
+        e2z = coordinates[8] - coordinates[2];
     }
 
     /**
      * Finds the intersections between the current triangle and a given ray.
+     * The distance and the barycentric coordinates of the point are calculated together in one pass
+     * (the Moller-Trumbore algorithm) on the coordinates, without creating intermediate objects.
+     * The barycentric coordinates are kept in the intersection point: u is the weight of the second vertex
+     * and v of the third one. A ray through an edge or a vertex does not intersect the triangle.
      *
      * @param ray The ray to find intersections with.
      * @param maxDistance the maximum distance between the ray and the point
@@ -33,42 +53,100 @@ public class Triangle extends Polygon {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance) {
-        List<GeoPoint> intersection = this.plane.findGeoIntersections(ray, maxDistance);
-
-        // If there are no intersections with the plane of the triangle, return null (0 points intersection).
-        if (intersection != null) {
+        double[] barycentric = new double[2];
+        double t = intersect(ray, maxDistance, barycentric);
+        return Double.isNaN(t) ? null
+                : List.of(new GeoPoint(this, ray.getPoint(t), t, plane.getNormal(), barycentric[0], barycentric[1]));
+    }
 
-            // Get the direction vector of the given ray and its starting point.
-            Vector v = ray.getDirection();
-            Point p0 = ray.getP0();
+    /**
+     * Finds the distance along the ray to its intersection with the triangle, for the occlusion query
+     * of the polygon. It is the same Moller-Trumbore test as the intersections, without keeping the point.
+     *
+     * @param ray         the ray to intersect with the triangle
+     * @param maxDistance the maximum distance between the ray and the point
+     * @return the distance t &gt; 0 of the intersection point from the ray head,
+     * or NaN if there is no intersection closer than the max distance
+     */
+    @Override
+    double findIntersectionDistance(Ray ray, double maxDistance) {
+        return intersect(ray, maxDistance, null);
+    }
 
-            // Calculate the three edge vectors of the triangle.
-            Vector v1 = this.vertices.get(0).subtract(ray.getP0());
-            Vector v2 = this.vertices.get(1).subtract(ray.getP0());
-            Vector v3 = this.vertices.get(2).subtract(ray.getP0());
+    /**
+     * Intersects a ray with the triangle by its coordinates.
+     *
+     * @param ray         the ray
+     * @param maxDistance the maximum distance between the ray and the point
+     * @param barycentric the array to write the barycentric coordinates u and v of the point into, or null
+     * @return the distance of the intersection point, or NaN if there is no intersection
+     */
+    private double intersect(Ray ray, double maxDistance, double[] barycentric) {
+        Point p0 = ray.getP0();
+        Vector v = ray.getDirection();
+        return intersect(coordinates[0], coordinates[1], coordinates[2], e1x, e1y, e1z, e2x, e2y, e2z,
+                p0.getX(), p0.getY(), p0.getZ(), v.getX(), v.getY(), v.getZ(), maxDistance, barycentric);
+    }
 
-            // Calculate the cross products of the edge vectors.
-            Vector v1CrossProdV2 = v1.crossProduct(v2);
-            Vector v2CrossProdV3 = v2.crossProduct(v3);
-            Vector v3CrossProdV1 = v3.crossProduct(v1);
+    /**
+     * Intersects a ray with a triangle given by coordinates (the Moller-Trumbore algorithm): the distance
+     * and the barycentric coordinates of the point are calculated together in one pass.
+     * A ray through an edge or a vertex does not intersect the triangle. The barycentric coordinates are
+     * compared without a tolerance, so a ray through an edge shared by two triangles is not lost by both of them.
+     * It is shared by the triangles and the faces of a {@link Mesh}, so both treat the edges the same.
+     *
+     * @param ax          the x coordinate of the first vertex
+     * @param ay          the y coordinate of the first vertex
+     * @param az          the z coordinate of the first vertex
+     * @param e1x         the x coordinate of the edge from the first vertex to the second one
+     * @param e1y         the y coordinate of the edge from the first vertex to the second one
+     * @param e1z         the z coordinate of the edge from the first vertex to the second one
+     * @param e2x         the x coordinate of the edge from the first vertex to the third one
+     * @param e2y         the y coordinate of the edge from the first vertex to the third one
+     * @param e2z         the z coordinate of the edge from the first vertex to the third one
+     * @param px          the x coordinate of the ray head
+     * @param py          the y coordinate of the ray head
+     * @param pz          the z coordinate of the ray head
+     * @param vx          the x coordinate of the ray direction
+     * @param vy          the y coordinate of the ray direction
+     * @param vz          the z coordinate of the ray direction
+     * @param maxDistance the maximum distance between the ray head and the point
+     * @param barycentric the array to write the barycentric coordinates u and v of the point into, or null
+     * @return the distance t &gt; 0 of the intersection point from the ray head,
+     * or NaN if there is no intersection closer than the max distance
+     */
+    static double intersect(double ax, double ay, double az,
+                            double e1x, double e1y, double e1z, double e2x, double e2y, double e2z,
+                            double px, double py, double pz, double vx, double vy, double vz,
+                            double maxDistance, double[] barycentric) {
+        // h = v x e2, the determinant e1*h is zero when the ray is parallel to the plane of the triangle
+        double hx = vy * e2z - vz * e2y, hy = vz * e2x - vx * e2z, hz = vx * e2y - vy * e2x;
+        double det = dot(e1x, e1y, e1z, hx, hy, hz);
+        if (isZero(det))
+            return Double.NaN;
+        double inverse = 1 / det;
 
-            // Calculate the normal vectors of the triangle.
-            Vector n1 = v1CrossProdV2.normalize();
-            Vector n2 = v2CrossProdV3.normalize();
-            Vector n3 = v3CrossProdV1.normalize();
+        // the first barycentric coordinate u = (p0-p1)*h / det, it must be inside (0,1)
+        double sx = px - ax, sy = py - ay, sz = pz - az;
+        double u = dot(sx, sy, sz, hx, hy, hz) * inverse;
+        if (u <= 0 || u >= 1)
+            return Double.NaN;
 
-            // Calculate the dot products between the ray direction vector and the normal vectors of each edge of the triangle.
-            double vN1 = v.dotProduct(n1);
-            double vN2 = v.dotProduct(n2);
-            double vN3 = v.dotProduct(n3);
+        // the second barycentric coordinate w = v*q / det where q = (p0-p1) x e1, and u+w must be less than 1
+        double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+        double w = dot(vx, vy, vz, qx, qy, qz) * inverse;
+        if (w <= 0 || u + w >= 1)
+            return Double.NaN;
 
-            // If the signs of the dot products are all positive or all negative, the ray intersects the triangle.
-            if (vN1 > 0 && vN2 > 0 && vN3 > 0 || vN1 < 0 && vN2 < 0 && vN3 < 0) {
-                return  List.of(new GeoPoint(this,intersection.get(0).point));
-            }
+        // the distance t = e2*q / det, the point must be in front of the ray head and not after the max distance
+        double t = alignZero(dot(e2x, e2y, e2z, qx, qy, qz) * inverse);
+        if (t <= 0 || alignZero(t - maxDistance) > 0)
+            return Double.NaN;
+        if (barycentric != null) {
+            barycentric[0] = u;
+            barycentric[1] = w;
         }
-
-        return null; // There are no intersections between the triangle and the ray.
+        return t;
     }
 
-}
\ No newline at end of file
+}
@@ -1,6 +1,8 @@
 
 package geometries;
 
+import primitives.BoundingBox;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -75,6 +77,15 @@ public class Tube extends RadialGeometry {
         //the point on the base
            return P0_P.normalize();
     }
+    /**
+     * A tube is infinite along its axis, so it has no bounding box
+     * @return null (unbounded)
+     */
+    @Override
+    public BoundingBox getBoundingBox() {
+        return null;
+    }
+
     /**
      * Finds the intersections between the current tube and a given ray.
      *
@@ -86,4 +97,16 @@ public class Tube extends RadialGeometry {
    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray, double maxDistance){
         return null;
     }
+
+    /**
+     * The tube (and the cylinder) has no intersections, so it never blocks the light.
+     *
+     * @param ray         the shadow ray
+     * @param maxDistance the maximum distance between the ray and the blocking points
+     * @return {@link Double3#ONE}
+     */
+    @Override
+    protected Double3 findTransparencyHelper(Ray ray, double maxDistance) {
+        return Double3.ONE;
+    }
 }
@@ -0,0 +1,154 @@
+package primitives;
+
+import static primitives.Util.alignZero;
+
+/**
+ * The BoundingBox class represents an axis-aligned bounding box (AABB) in 3D space.
+ * It is used for quickly rejecting rays that can not hit the geometries that are inside the box.
+ */
+public class BoundingBox {
+    /**
+     * The minimal coordinates of the box
+     */
+    final double minX, minY, minZ;
+    /**
+     * The maximal coordinates of the box
+     */
+    final double maxX, maxY, maxZ;
+
+    /**
+     * Constructs a bounding box from its minimal and maximal coordinates.
+     *
+     * @param minX the minimal x coordinate
+     * @param minY the minimal y coordinate
+     * @param minZ the minimal z coordinate
+     * @param maxX the maximal x coordinate
+     * @param maxY the maximal y coordinate
+     * @param maxZ the maximal z coordinate
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (minX > maxX || minY > maxY || minZ > maxZ)
+            throw new IllegalArgumentException("The minimal coordinates of the box must not be bigger than the maximal");
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Constructs the smallest bounding box which contains all the given points.
+     *
+     * @param points the points to bound
+     * @return the bounding box of the points
+     */
+    public static BoundingBox of(Point... points) {
+        if (points.length == 0)
+            throw new IllegalArgumentException("Can't bound an empty set of points");
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (Point p : points) {
+            minX = Math.min(minX, p.xyz.d1);
+            minY = Math.min(minY, p.xyz.d2);
+            minZ = Math.min(minZ, p.xyz.d3);
+            maxX = Math.max(maxX, p.xyz.d1);
+            maxY = Math.max(maxY, p.xyz.d2);
+            maxZ = Math.max(maxZ, p.xyz.d3);
+        }
+        return new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Returns the smallest bounding box which contains both this box and the other box.
+     *
+     * @param other the other box
+     * @return the union of the two boxes
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+    }
+
+    /**
+     * Returns the surface area of the box, used by the surface area heuristic (SAH).
+     *
+     * @return the surface area of the box
+     */
+    public double surfaceArea() {
+        double dx = maxX - minX;
+        double dy = maxY - minY;
+        double dz = maxZ - minZ;
+        return 2 * (dx * dy + dy * dz + dz * dx);
+    }
+
+    /**
+     * Returns the coordinate of the center of the box along the given axis.
+     *
+     * @param axis 0 for x, 1 for y and 2 for z
+     * @return the center coordinate along the axis
+     */
+    public double getCenter(int axis) {
+        return switch (axis) {
+            case 0 -> (minX + maxX) / 2;
+            case 1 -> (minY + maxY) / 2;
+            case 2 -> (minZ + maxZ) / 2;
+            default -> throw new IllegalArgumentException("Axis must be 0, 1 or 2");
+        };
+    }
+
+    /**
+     * Checks whether the ray hits the box closer than the max distance (the slab test).
+     *
+     * @param ray         the ray to check
+     * @param maxDistance the maximum distance between the ray head and the box
+     * @return true if the ray may hit the box, false if it certainly misses it
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        Double3 p0 = ray.p0.xyz;
+        Double3 v = ray.direction.xyz;
+        double tNear = 0;
+        double tFar = maxDistance;
+
+        // x slab
+        if (v.d1 == 0) {
+            if (p0.d1 < minX || p0.d1 > maxX) return false;
+        } else {
+            double inv = 1 / v.d1;
+            double t1 = (minX - p0.d1) * inv;
+            double t2 = (maxX - p0.d1) * inv;
+            tNear = Math.max(tNear, Math.min(t1, t2));
+            tFar = Math.min(tFar, Math.max(t1, t2));
+        }
+        // y slab
+        if (v.d2 == 0) {
+            if (p0.d2 < minY || p0.d2 > maxY) return false;
+        } else {
+            double inv = 1 / v.d2;
+            double t1 = (minY - p0.d2) * inv;
+            double t2 = (maxY - p0.d2) * inv;
+            tNear = Math.max(tNear, Math.min(t1, t2));
+            tFar = Math.min(tFar, Math.max(t1, t2));
+        }
+        // z slab
+        if (v.d3 == 0) {
+            if (p0.d3 < minZ || p0.d3 > maxZ) return false;
+        } else {
+            double inv = 1 / v.d3;
+            double t1 = (minZ - p0.d3) * inv;
+            double t2 = (maxZ - p0.d3) * inv;
+            tNear = Math.max(tNear, Math.min(t1, t2));
+            tFar = Math.min(tFar, Math.max(t1, t2));
+        }
+        // the entry distance must not be after the exit distance
+        return alignZero(tNear - tFar) <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "min=(" + minX + "," + minY + "," + minZ + ")" +
+                ", max=(" + maxX + "," + maxY + "," + maxZ + ")" +
+                '}';
+    }
+}
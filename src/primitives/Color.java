@@ -53,6 +53,29 @@ public class Color {
       return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
    }
 
+   /** Red component getter
+    * @return the red component of the color */
+   public double getRed() { return rgb.d1; }
+
+   /** Green component getter
+    * @return the green component of the color */
+   public double getGreen() { return rgb.d2; }
+
+   /** Blue component getter
+    * @return the blue component of the color */
+   public double getBlue() { return rgb.d3; }
+
+   /** Returns the color packed into an RGB integer (0xRRGGBB), like
+    * {@link java.awt.Color#getRGB()} without the alpha, without creating a
+    * java.awt.Color object. Any component bigger than 255 is set to 255
+    * @return the packed RGB value of the color */
+   public int getRGB() {
+      int ir = (int) rgb.d1;
+      int ig = (int) rgb.d2;
+      int ib = (int) rgb.d3;
+      return (ir > 255 ? 255 : ir) << 16 | (ig > 255 ? 255 : ig) << 8 | (ib > 255 ? 255 : ib);
+   }
+
    /** Operation of adding this and one or more other colors (by component)
     * @param  colors one or more other colors to add
     * @return        new Color object which is a result of the operation */
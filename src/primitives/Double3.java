@@ -112,4 +112,10 @@ public class Double3 {
    public boolean lowerThan(Double3 other) {
       return d1 < other.d1 && d2 < other.d2 && d3 < other.d3;
    }
+
+   /** The biggest of the three numbers
+    * @return the maximal number of the triad */
+   public double max() {
+      return Math.max(d1, Math.max(d2, d3));
+   }
 }
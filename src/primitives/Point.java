@@ -33,7 +33,7 @@ public class Point {
      * @param double3 the Double3 object containing the x, y, and z coordinates of the point
      */
     Point(Double3 double3) {
-        this(double3.d1, double3.d2, double3.d3);
+        xyz = double3;
     }
 
     /**
@@ -106,13 +106,30 @@ public class Point {
         return new Vector(xyz.subtract(point.xyz));
     }
 
-    public Double getX() {
+    /**
+     * Returns the x coordinate of the point
+     *
+     * @return the x coordinate
+     */
+    public double getX() {
         return xyz.d1;
     }
-    public Double getY() {
+
+    /**
+     * Returns the y coordinate of the point
+     *
+     * @return the y coordinate
+     */
+    public double getY() {
         return xyz.d2;
     }
-    public Double getZ() {
+
+    /**
+     * Returns the z coordinate of the point
+     *
+     * @return the z coordinate
+     */
+    public double getZ() {
         return xyz.d3;
     }
 }
@@ -113,7 +113,10 @@ public class Ray {
      * @return Point
      */
     public Point getPoint(double t){
-        return p0.add(direction.scale(t));
+        // calculated on the coordinates, without creating the scaled direction vector
+        return new Point(p0.xyz.d1 + direction.xyz.d1 * t,
+                p0.xyz.d2 + direction.xyz.d2 * t,
+                p0.xyz.d3 + direction.xyz.d3 * t);
     }
 
     /**
@@ -0,0 +1,311 @@
+package primitives;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RenderStatistics collects the counters of the hot paths of a rendering: the amounts of traced rays
+ * of every kind, the bounding box and primitive intersection tests, the adaptive subdivisions,
+ * and the time of the phases of the rendering.
+ * <p>
+ * Collecting is opt-in (see {@link renderer.Camera#setStatistics(boolean)}). Every rendering thread counts into
+ * its own array of counters, so the threads never share a counter while rendering, and the arrays
+ * are merged when the rendering is finished. When no statistics are collected, counting costs a
+ * single read of a static field.
+ * <p>
+ * The class is in the primitives package, so that the geometries can count their tests without depending on
+ * the renderer. Only the camera starts, stops, attaches and detaches the statistics.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class RenderStatistics {
+
+    /**
+     * The events which are counted while rendering
+     */
+    public enum Counter {
+        /**
+         * Rays from the camera through the view plane
+         */
+        PRIMARY_RAYS("primary rays"),
+        /**
+         * Rays from a point towards a light source
+         */
+        SHADOW_RAYS("shadow rays"),
+        /**
+         * Reflected secondary rays
+         */
+        REFLECTED_RAYS("reflected rays"),
+        /**
+         * Refracted secondary rays
+         */
+        REFRACTED_RAYS("refracted rays"),
+        /**
+         * Ray - bounding box tests (of geometries, collections and mesh nodes)
+         */
+        BOX_TESTS("box tests"),
+        /**
+         * Exact ray - primitive intersection tests (of geometries and mesh faces)
+         */
+        PRIMITIVE_TESTS("primitive tests"),
+        /**
+         * Splits of a square of a pixel into four by the adaptive super sampling
+         */
+        ADAPTIVE_SUBDIVISIONS("adaptive subdivisions");
+
+        /**
+         * The name of the counter in the report
+         */
+        private final String title;
+
+        /**
+         * Constructs a counter
+         *
+         * @param title the name of the counter in the report
+         */
+        Counter(String title) {
+            this.title = title;
+        }
+    }
+
+    /**
+     * The timed phases of a rendering
+     */
+    public enum Phase {
+        /**
+         * Checking the camera and splitting the image into tiles
+         */
+        SETUP("setup"),
+        /**
+         * Rendering all the tiles, until the last worker is done
+         */
+        RENDER("render"),
+        /**
+         * Stopping the progress printing and merging the counters
+         */
+        FINISH("finish");
+
+        /**
+         * The name of the phase in the report
+         */
+        private final String title;
+
+        /**
+         * Constructs a phase
+         *
+         * @param title the name of the phase in the report
+         */
+        Phase(String title) {
+            this.title = title;
+        }
+    }
+
+    /**
+     * The amount of statistics which are collected now (by all the cameras)
+     */
+    private static volatile int collecting = 0;
+
+    /**
+     * The counters the current thread counts into, null if the thread does not render for statistics
+     */
+    private static final ThreadLocal<long[]> COUNTERS = new ThreadLocal<>();
+
+    /**
+     * The counters of every thread which rendered for these statistics
+     */
+    private final List<long[]> threadCounters = new ArrayList<>();
+
+    /**
+     * The counters of the current thread for these statistics
+     */
+    private final ThreadLocal<long[]> ownCounters = ThreadLocal.withInitial(this::newThreadCounters);
+
+    /**
+     * The merged counters of all the threads
+     */
+    private final long[] totals = new long[Counter.values().length];
+
+    /**
+     * The time of every phase in nanoseconds
+     */
+    private final long[] phaseTimes = new long[Phase.values().length];
+
+    /**
+     * The amount of threads which rendered
+     */
+    private int threadCount = 0;
+
+    /**
+     * Counts a single event of the current thread.
+     *
+     * @param counter the counter of the event
+     */
+    public static void count(Counter counter) {
+        if (collecting > 0) {
+            long[] counters = COUNTERS.get();
+            if (counters != null)
+                ++counters[counter.ordinal()];
+        }
+    }
+
+    /**
+     * Counts several events of the current thread.
+     *
+     * @param counter the counter of the events
+     * @param amount  the amount of events
+     */
+    public static void count(Counter counter, long amount) {
+        if (collecting > 0) {
+            long[] counters = COUNTERS.get();
+            if (counters != null)
+                counters[counter.ordinal()] += amount;
+        }
+    }
+
+    /**
+     * Checks whether statistics are collected now, for skipping work which is done only for counting.
+     *
+     * @return true if some rendering collects statistics
+     */
+    public static boolean isCollecting() {
+        return collecting > 0;
+    }
+
+    /**
+     * Returns the amount of intersection tests (box and primitive) counted so far by the current thread.
+     *
+     * @return the amount of tests, 0 if the thread does not count into statistics
+     */
+    public static long threadIntersectionTests() {
+        long[] counters = COUNTERS.get();
+        return counters == null ? 0
+                : counters[Counter.BOX_TESTS.ordinal()] + counters[Counter.PRIMITIVE_TESTS.ordinal()];
+    }
+
+    /**
+     * Starts collecting the statistics.
+     */
+    public void start() {
+        synchronized (RenderStatistics.class) {
+            ++collecting;
+        }
+    }
+
+    /**
+     * Stops collecting the statistics and merges the counters of the threads.
+     * Must be called after all the rendering threads are done.
+     */
+    public void stop() {
+        synchronized (RenderStatistics.class) {
+            --collecting;
+        }
+        synchronized (threadCounters) {
+            for (long[] counters : threadCounters)
+                for (int i = 0; i < totals.length; ++i)
+                    totals[i] += counters[i];
+            threadCount = threadCounters.size();
+            threadCounters.clear();
+        }
+    }
+
+    /**
+     * Lets the current thread count into these statistics, until {@link #detach()}.
+     */
+    public void attach() {
+        COUNTERS.set(ownCounters.get());
+    }
+
+    /**
+     * Stops the counting of the current thread.
+     */
+    public void detach() {
+        COUNTERS.remove();
+    }
+
+    /**
+     * Creates the counters of a new rendering thread.
+     *
+     * @return the counters of the thread
+     */
+    private long[] newThreadCounters() {
+        long[] counters = new long[totals.length];
+        synchronized (threadCounters) {
+            threadCounters.add(counters);
+        }
+        return counters;
+    }
+
+    /**
+     * Adds the time of a phase.
+     *
+     * @param phase the phase
+     * @param nanos the time in nanoseconds
+     */
+    public void addPhaseTime(Phase phase, long nanos) {
+        phaseTimes[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Returns the amount of events of a counter.
+     *
+     * @param counter the counter
+     * @return the amount of the events of all the threads
+     */
+    public long get(Counter counter) {
+        return totals[counter.ordinal()];
+    }
+
+    /**
+     * Returns the amount of all the traced rays - primary, shadow, reflected and refracted.
+     *
+     * @return the amount of rays
+     */
+    public long getRays() {
+        return get(Counter.PRIMARY_RAYS) + get(Counter.SHADOW_RAYS)
+                + get(Counter.REFLECTED_RAYS) + get(Counter.REFRACTED_RAYS);
+    }
+
+    /**
+     * Returns the average amount of events of a counter for a traced ray (of any kind).
+     *
+     * @param counter the counter, usually of the box or primitive tests
+     * @return the amount of events per ray, 0 if no ray was traced
+     */
+    public double perRay(Counter counter) {
+        long rays = getRays();
+        return rays == 0 ? 0 : (double) get(counter) / rays;
+    }
+
+    /**
+     * Returns the time of a phase.
+     *
+     * @param phase the phase
+     * @return the time in milliseconds
+     */
+    public double getTime(Phase phase) {
+        return phaseTimes[phase.ordinal()] / 1e6;
+    }
+
+    /**
+     * Returns the amount of threads which rendered.
+     *
+     * @return the amount of threads
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Render statistics (" + threadCount + " threads):");
+        for (Counter counter : Counter.values())
+            report.append(String.format(Locale.ROOT, "%n  %-24s %,15d", counter.title, get(counter)));
+        report.append(String.format(Locale.ROOT, "%n  %-24s %15.2f", "box tests per ray", perRay(Counter.BOX_TESTS)));
+        report.append(String.format(Locale.ROOT, "%n  %-24s %15.2f", "primitive tests per ray",
+                perRay(Counter.PRIMITIVE_TESTS)));
+        for (Phase phase : Phase.values())
+            report.append(String.format(Locale.ROOT, "%n  %-24s %12.1f ms", phase.title + " time", getTime(phase)));
+        return report.toString();
+    }
+}
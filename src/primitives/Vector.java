@@ -29,7 +29,10 @@ public class  Vector extends Point{
      * @param double3 the Double3 object containing the x, y, and z components of the vector
      */
     Vector(Double3 double3) {
-        this(double3.d1,double3.d2,double3.d3);
+        super(double3);
+        if(xyz.equals(Double3.ZERO)){
+            throw  new IllegalArgumentException("Vector cannot be Vector(0,0,0");
+        }
     }
 
 
@@ -63,9 +66,7 @@ public class  Vector extends Point{
      * @return a new Vector object representing the sum of this vector and the specified vector
      */
     public Vector add(Vector vector) {
-        Point p=super.add(vector);
-        Vector v=new Vector(p.xyz);
-        return v;
+        return new Vector(xyz.add(vector.xyz));
     }
 
 
@@ -74,9 +75,8 @@ public class  Vector extends Point{
      * @param s the scaling factor to apply to this vector
      * @return a new Vector object representing the scaled vector
      */
-    public Vector scale(Double s){
-        Vector v=new Vector(xyz.scale(s));
-        return v;
+    public Vector scale(double s){
+        return new Vector(xyz.scale(s));
     }
 
 
@@ -85,7 +85,7 @@ public class  Vector extends Point{
      * @param vector the vector to compute the dot product with
      * @return the dot product of this vector and the specified vector
      */
-    public Double dotProduct(Vector vector){
+    public double dotProduct(Vector vector){
         return (this.xyz.d1*vector.xyz.d1+this.xyz.d2*vector.xyz.d2+this.xyz.d3*vector.xyz.d3);
     }
 
@@ -99,11 +99,10 @@ public class  Vector extends Point{
 
 
     public Vector crossProduct(Vector other){
-        Double d1=this.xyz.d2*other.xyz.d3-this.xyz.d3*other.xyz.d2;
-        Double d2=this.xyz.d3*other.xyz.d1-this.xyz.d1*other.xyz.d3;
-        Double d3=this.xyz.d1*other.xyz.d2-this.xyz.d2*other.xyz.d1;
-        Vector cross=new Vector(d1,d2,d3);
-        return cross;
+        double d1=this.xyz.d2*other.xyz.d3-this.xyz.d3*other.xyz.d2;
+        double d2=this.xyz.d3*other.xyz.d1-this.xyz.d1*other.xyz.d3;
+        double d3=this.xyz.d1*other.xyz.d2-this.xyz.d2*other.xyz.d1;
+        return new Vector(d1,d2,d3);
     }
     /**
      @return the size of the vector
@@ -0,0 +1,124 @@
+package primitives;
+
+/**
+ * VectorMath is a primitive math layer over three-dimensional vectors given by their coordinates.
+ * Unlike the operations of {@link Vector} and {@link Point}, the kernels do not create any objects -
+ * the results are returned as numbers or written into a scratch array supplied by the caller,
+ * so they can be used in the hot paths of the intersection calculations.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public abstract class VectorMath {
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private VectorMath() {}
+
+    /**
+     * Computes the dot product of two vectors
+     *
+     * @param ax x coordinate of the 1st vector
+     * @param ay y coordinate of the 1st vector
+     * @param az z coordinate of the 1st vector
+     * @param bx x coordinate of the 2nd vector
+     * @param by y coordinate of the 2nd vector
+     * @param bz z coordinate of the 2nd vector
+     * @return the dot product a*b
+     */
+    public static double dot(double ax, double ay, double az, double bx, double by, double bz) {
+        return ax * bx + ay * by + az * bz;
+    }
+
+    /**
+     * Computes the squared length of a vector
+     *
+     * @param x x coordinate of the vector
+     * @param y y coordinate of the vector
+     * @param z z coordinate of the vector
+     * @return the squared length of the vector
+     */
+    public static double lengthSquared(double x, double y, double z) {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Computes the cross product of two vectors into a scratch array
+     *
+     * @param out    the array to write the result into
+     * @param offset the index of the x coordinate of the result in the array
+     * @param ax     x coordinate of the 1st vector
+     * @param ay     y coordinate of the 1st vector
+     * @param az     z coordinate of the 1st vector
+     * @param bx     x coordinate of the 2nd vector
+     * @param by     y coordinate of the 2nd vector
+     * @param bz     z coordinate of the 2nd vector
+     */
+    public static void cross(double[] out, int offset,
+                             double ax, double ay, double az, double bx, double by, double bz) {
+        out[offset] = ay * bz - az * by;
+        out[offset + 1] = az * bx - ax * bz;
+        out[offset + 2] = ax * by - ay * bx;
+    }
+
+    /**
+     * Computes the dot product of a vector with the cross product of two other vectors,
+     * i.e. the triple product v*(axb), without storing the cross product
+     *
+     * @param vx x coordinate of the vector
+     * @param vy y coordinate of the vector
+     * @param vz z coordinate of the vector
+     * @param ax x coordinate of the 1st vector of the cross product
+     * @param ay y coordinate of the 1st vector of the cross product
+     * @param az z coordinate of the 1st vector of the cross product
+     * @param bx x coordinate of the 2nd vector of the cross product
+     * @param by y coordinate of the 2nd vector of the cross product
+     * @param bz z coordinate of the 2nd vector of the cross product
+     * @return the triple product v*(axb)
+     */
+    public static double tripleProduct(double vx, double vy, double vz,
+                                       double ax, double ay, double az, double bx, double by, double bz) {
+        return vx * (ay * bz - az * by) + vy * (az * bx - ax * bz) + vz * (ax * by - ay * bx);
+    }
+
+    /**
+     * Computes the dot product of a vector with the normalized cross product of two other vectors,
+     * i.e. v*normalize(axb), with the same rounding as {@link Vector#normalize()} followed by
+     * {@link Vector#dotProduct(Vector)}
+     *
+     * @param vx x coordinate of the vector
+     * @param vy y coordinate of the vector
+     * @param vz z coordinate of the vector
+     * @param ax x coordinate of the 1st vector of the cross product
+     * @param ay y coordinate of the 1st vector of the cross product
+     * @param az z coordinate of the 1st vector of the cross product
+     * @param bx x coordinate of the 2nd vector of the cross product
+     * @param by y coordinate of the 2nd vector of the cross product
+     * @param bz z coordinate of the 2nd vector of the cross product
+     * @return the dot product, or NaN if the cross product is the zero vector
+     */
+    public static double normalizedTripleProduct(double vx, double vy, double vz,
+                                                 double ax, double ay, double az, double bx, double by, double bz) {
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        double length = Math.sqrt(lengthSquared(cx, cy, cz));
+        return vx * (cx / length) + vy * (cy / length) + vz * (cz / length);
+    }
+
+    /**
+     * Returns the coordinates of points as a new array, for keeping the geometry data in primitive form
+     *
+     * @param points the points
+     * @return the array of the coordinates of the points: x0, y0, z0, x1, y1, z1, ...
+     */
+    public static double[] toArray(Point... points) {
+        double[] coordinates = new double[points.length * 3];
+        for (int i = 0; i < points.length; ++i) {
+            coordinates[3 * i] = points[i].xyz.d1;
+            coordinates[3 * i + 1] = points[i].xyz.d2;
+            coordinates[3 * i + 2] = points[i].xyz.d3;
+        }
+        return coordinates;
+    }
+}
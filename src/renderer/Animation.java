@@ -0,0 +1,135 @@
+package renderer;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.MissingResourceException;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Animation renders the frames of a camera moving along a path of poses (like a turntable or a fly-through).
+ * Every frame is rendered by a copy of the camera at the pose of the frame, with all its settings, into an image
+ * named after the image of the camera and the number of the frame.
+ * The frames share the ray tracer of the camera, and its scene, which is compiled once (with a bounding volume
+ * hierarchy) before the first frame, and they share a single pool of threadCount rendering threads.
+ * The frames are rendered back to back, or several frames at once - a frame which has fewer tiles left than
+ * threads leaves the idle threads to the next frame.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class Animation {
+
+    /**
+     * The camera whose settings, ray tracer and image the frames take
+     */
+    private final Camera camera;
+
+    /**
+     * The poses of the camera in the frames
+     */
+    private final List<Camera.Pose> poses;
+
+    /**
+     * The amount of frames which are rendered at once
+     */
+    private int concurrentFrames = 1;
+
+    /**
+     * Constructs an animation of a camera.
+     *
+     * @param camera the camera, with its ray tracer, image and all the settings of the rendering
+     * @param poses  the poses of the camera in the frames, in order
+     */
+    public Animation(Camera camera, List<Camera.Pose> poses) {
+        if (camera == null || poses == null)
+            throw new IllegalArgumentException("ERROR missing camera or poses");
+        this.camera = camera;
+        this.poses = List.copyOf(poses);
+    }
+
+    /**
+     * Sets the amount of frames which are rendered at once by the threads of the camera.
+     *
+     * @param concurrentFrames the amount of frames, 1 for rendering the frames back to back
+     * @return the animation instance with the updated amount of concurrent frames
+     */
+    public Animation setConcurrentFrames(int concurrentFrames) {
+        if (concurrentFrames < 1)
+            throw new IllegalArgumentException("ERROR value parameter of the concurrent frames");
+        this.concurrentFrames = concurrentFrames;
+        return this;
+    }
+
+    /**
+     * Renders all the frames and writes every frame to its image file.
+     *
+     * @return the animation instance
+     * @throws MissingResourceException if the camera has no ray tracer or no image
+     */
+    public Animation render() {
+        return render((image, frame) -> image.writeToImage());
+    }
+
+    /**
+     * Renders all the frames, and gives every frame to a consumer in the order of the frames.
+     *
+     * @param frameDone called in the calling thread with the image and the number (from 0) of every frame
+     * @return the animation instance
+     * @throws MissingResourceException if the camera has no ray tracer or no image
+     */
+    public Animation render(ObjIntConsumer<ImageWriter> frameDone) {
+        RayTracerBase rayTracer = camera.getRayTracer();
+        if (rayTracer == null)
+            throw new MissingResourceException("missing resource", RayTracerBase.class.getName(), "");
+        ImageWriter image = camera.getImageWriter();
+        if (image == null)
+            throw new MissingResourceException("missing resource", ImageWriter.class.getName(), "");
+        // the scene is compiled once, with a hierarchy, and the frames share it without compiling it again
+        rayTracer.prepare(true);
+
+        int threads = camera.getThreadCount();
+        AtomicInteger workers = new AtomicInteger();
+        ExecutorService pool = threads == 0 ? null : Executors.newFixedThreadPool(threads, work -> {
+            Thread worker = new Thread(work, "animation-worker-" + workers.getAndIncrement());
+            worker.setDaemon(true);
+            return worker;
+        });
+        Queue<RenderHandle> running = new ArrayDeque<>();
+        Queue<ImageWriter> images = new ArrayDeque<>();
+        int done = 0;
+        try {
+            for (Camera.Pose pose : poses) {
+                ImageWriter frame = new ImageWriter(
+                        String.format("%s-%04d", image.getImageName(), done + running.size()),
+                        image.getNx(), image.getNy());
+                Camera frameCamera = camera.copy(pose, frame).setThreadPool(pool).setCompileScene(false);
+                if (concurrentFrames == 1) {
+                    frameCamera.renderImage();
+                    frameDone.accept(frame, done++);
+                    continue;
+                }
+                // the oldest frame is waited for before another frame starts
+                if (running.size() == concurrentFrames) {
+                    running.remove().await();
+                    frameDone.accept(images.remove(), done++);
+                }
+                running.add(frameCamera.renderAsync());
+                images.add(frame);
+            }
+            while (!running.isEmpty()) {
+                running.remove().await();
+                frameDone.accept(images.remove(), done++);
+            }
+        } finally {
+            // a failed frame stops the frames which are still running
+            for (RenderHandle handle : running)
+                handle.cancel();
+            if (pool != null)
+                pool.shutdown();
+        }
+        return this;
+    }
+}
@@ -6,15 +6,40 @@ package renderer;
 import primitives.Color;
 import primitives.Point;
 import primitives.Ray;
+import primitives.RenderStatistics;
 import primitives.Vector;
 
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static primitives.Color.almostSameColor;
 import static primitives.Util.isZero;
 
 public class Camera {
+    /**
+     * The position and orientation of a camera, for moving a camera along a path of poses
+     *
+     * @param position the position of the camera's center
+     * @param vTo      the direction vector towards which the camera is pointing
+     * @param vUp      the up vector
+     * @param vRight   the right vector
+     */
+    public record Pose(Point position, Vector vTo, Vector vUp, Vector vRight) {
+        /**
+         * Constructs a pose whose right vector is computed like in the constructor of the camera.
+         *
+         * @param position the position of the camera's center
+         * @param vTo      the direction vector towards which the camera is pointing
+         * @param vUp      the up vector
+         */
+        public Pose(Point position, Vector vTo, Vector vUp) {
+            this(position, vTo, vUp, vUp.crossProduct(vTo));
+        }
+    }
+
     // The position of the camera's center
     private Point p0;
 
@@ -43,12 +68,51 @@ public class Camera {
     //amount of Rays for anti aliasing. Default is 1
     private int amountRays = 1;
 
+    //the positions of the anti-aliasing samples in a pixel, a grid of amountRays x amountRays
+    private Sampler sampler = Sampler.jittered(1);
+
+    //the array every rendering thread writes the anti-aliasing rays of its pixels into
+    private final ThreadLocal<Ray[]> sampleRays = new ThreadLocal<>();
+
+    //the view plane of the last resolution, computed once for all the rays of a rendering
+    private ViewPlane viewPlane = null;
+
     //boolean parameter if to operate the Adaptive Super Sampling acceleration
     private boolean isAdaptiveSuperSampling= false;
 
     //for the Adaptive Super Sampling acceleration decide the maximum depth of the recursion
     private int maximumAdaptiveDepth =4;
 
+    //the noise of a pixel above which the progressive sampling adds samples to it, 0 for no progressive sampling
+    private double noiseTolerance = 0;
+
+    //the maximum amount of samples of a pixel in the progressive sampling
+    private int maxPixelSamples = 64;
+
+    //the maximum amount of samples of the progressive sampling in the whole image
+    private long sampleBudget = Long.MAX_VALUE;
+
+    //the time of the progressive sampling in nanoseconds, after which no more samples are added
+    private long timeBudget = Long.MAX_VALUE;
+
+    //the time of a rendering in nanoseconds, after which it stops and leaves a partial image
+    private long deadline = Long.MAX_VALUE;
+
+    //the handle of the last rendering, which the rendering threads check whether to stop
+    private volatile RenderHandle handle = null;
+
+    //the amount of coarse-to-fine passes of the preview rendering, 1 for no preview
+    private int previewPasses = 1;
+
+    //the listener called after every pass of a rendering, null for no listener
+    private PassListener passListener = null;
+
+    //the thread pool running the rendering threads, null for threads of each rendering
+    private Executor threadPool = null;
+
+    //whether the scene of the ray tracer is compiled at the start of every rendering
+    private boolean compileScene = true;
+
     private double printInterval = 1;
 
 
@@ -65,6 +129,21 @@ public class Camera {
     //number of threads we are using in the operation. Initialize to 0
     private int threadCount=0;
 
+    //the width and height in pixels of the tiles the threads take from the tile scheduler
+    private int tileSize = 16;
+
+    //boolean parameter if to collect the statistics of the rendering
+    private boolean collectStatistics = false;
+
+    //the statistics of the last rendering, null if they were not collected
+    private RenderStatistics statistics = null;
+
+    //the measure of the per-pixel cost map, null for no cost map
+    private CostMap.Metric costMetric = null;
+
+    //the cost of every pixel of the last rendering, null if it was not recorded
+    private CostMap costMap = null;
+
 
 
     /**
@@ -149,6 +228,42 @@ public class Camera {
         return distance;
     }
 
+    /**
+     * Returns the image writer of the camera.
+     *
+     * @return the image writer, null if it was not set
+     */
+    ImageWriter getImageWriter() {
+        return imageWriter;
+    }
+
+    /**
+     * Returns the amount of rendering threads of the camera.
+     *
+     * @return the amount of threads, 0 for rendering in the calling thread
+     */
+    int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Returns the ray tracer of the camera.
+     *
+     * @return the ray tracer, null if it was not set
+     */
+    RayTracerBase getRayTracer() {
+        return rayTracer;
+    }
+
+    /**
+     * Returns the position and orientation of the camera.
+     *
+     * @return the pose of the camera
+     */
+    public Pose getPose() {
+        return new Pose(p0, Vto, Vup, Vright);
+    }
+
 
     /**
      * Sets the size of the view plane.
@@ -207,16 +322,33 @@ public class Camera {
 
     /**
      * Sets the amount of rays of the camera for anti- aliasing .
+     * The pixel is sampled by a grid of amountRays x amountRays jittered samples.
      *
      * @param  amountRays amont of race
      * @return the camera instance with the updated amount of rays t
      */
 
     public Camera setAmountRays(int amountRays) {
+        this.sampler = Sampler.jittered(amountRays);
         this.amountRays = amountRays;
         return this;
     }
 
+    /**
+     * Sets the sampler of the anti-aliasing, which decides the positions of the samples in a pixel.
+     * The amount of rays is the grid size of the sampler.
+     *
+     * @param  sampler the sampler
+     * @return the camera instance with the updated sampler
+     */
+    public Camera setSampler(Sampler sampler) {
+        if (sampler == null)
+            throw new IllegalArgumentException("ERROR missing sampler");
+        this.sampler = sampler;
+        this.amountRays = sampler.getGridSize();
+        return this;
+    }
+
     /**
      * Sets the boolean of the adaptive super sampaling  .
      *
@@ -228,7 +360,7 @@ public class Camera {
 
         if (adaptiveSuperSampling==true) {
             //initialize the amoutRays to 1 that will help to use just one feature
-            amountRays = 1;
+            setAmountRays(1);
         }
 
         return this;
@@ -241,10 +373,168 @@ public class Camera {
      * @return the camera instance with the updated boolean of adaptiveSuperSampeling
      */
     public Camera setMaximumAdaptiveDepth(int maximumAdaptiveDepth) {
+        // a pixel side has 2^(maximumAdaptiveDepth-1) cells of the sub-grid of the samples
+        if (maximumAdaptiveDepth < 1 || maximumAdaptiveDepth > 16)
+            throw new IllegalArgumentException("ERROR value parameter of the maximum adaptive depth");
         this.maximumAdaptiveDepth = maximumAdaptiveDepth;
         return this;
     }
 
+    /**
+     * Sets the progressive sampling of the rendering, instead of the anti-aliasing and the adaptive super sampling.
+     * Every pixel gets one sample at first, and then samples are added in passes only to the pixels whose
+     * noise is above the tolerance, until no pixel is noisy, or the sample budget or the time budget runs out.
+     * The noise of a pixel is the standard error of the mean luminance of its samples, and a pixel with a
+     * single sample is as noisy as the difference from its neighbours.
+     *
+     * @param  noiseTolerance  the noise above which a pixel gets more samples, in color units (0-255), 0 to turn off
+     * @param  maxPixelSamples the maximum amount of samples of a pixel
+     * @return the camera instance with the updated progressive sampling
+     */
+    public Camera setProgressiveSampling(double noiseTolerance, int maxPixelSamples) {
+        if (noiseTolerance < 0)
+            throw new IllegalArgumentException("ERROR value parameter of the noise tolerance");
+        if (maxPixelSamples < 1)
+            throw new IllegalArgumentException("ERROR value parameter of the maximum samples of a pixel");
+        this.noiseTolerance = noiseTolerance;
+        this.maxPixelSamples = maxPixelSamples;
+        return this;
+    }
+
+    /**
+     * Sets the maximum amount of samples of the progressive sampling in the whole image.
+     * The first sample of every pixel is always taken, and is part of the budget.
+     *
+     * @param  sampleBudget the maximum amount of samples
+     * @return the camera instance with the updated sample budget
+     */
+    public Camera setSampleBudget(long sampleBudget) {
+        if (sampleBudget <= 0)
+            throw new IllegalArgumentException("ERROR value parameter of the sample budget");
+        this.sampleBudget = sampleBudget;
+        return this;
+    }
+
+    /**
+     * Sets the time of the progressive sampling, after which no more samples are added.
+     * The first sample of every pixel is always taken, even if it takes longer.
+     *
+     * @param  seconds the time budget in seconds
+     * @return the camera instance with the updated time budget
+     */
+    public Camera setTimeBudget(double seconds) {
+        if (!(seconds > 0))
+            throw new IllegalArgumentException("ERROR value parameter of the time budget");
+        this.timeBudget = seconds * 1e9 >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) (seconds * 1e9);
+        return this;
+    }
+
+    /**
+     * Sets the wall-clock deadline of a rendering. At the deadline the rendering stops and leaves the image as far
+     * as it got - the tiles which were not rendered are black, and with the progressive sampling the pixels keep
+     * the samples of the passes which were done (see {@link RenderHandle}).
+     *
+     * @param  seconds the deadline in seconds from the start of the rendering, 0 for no deadline
+     * @return the camera instance with the updated deadline
+     */
+    public Camera setDeadline(double seconds) {
+        if (seconds < 0)
+            throw new IllegalArgumentException("ERROR value parameter of the deadline");
+        this.deadline = seconds == 0 || seconds * 1e9 >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) (seconds * 1e9);
+        return this;
+    }
+
+    /**
+     * Sets the coarse-to-fine passes of the preview rendering. Every pass halves the distance between the traced
+     * pixels, and fills the pixels between them with the colors of the traced ones - 3 passes trace 1/16 of the
+     * pixels, then 1/4 of them, and then all of them. A pass traces only the pixels which were not traced in the
+     * previous passes, so the preview costs barely more than a single pass.
+     * The preview is not used with the progressive sampling, which has passes of its own.
+     *
+     * @param  previewPasses the amount of passes, 1 for no preview
+     * @return the camera instance with the updated preview passes
+     */
+    public Camera setPreviewPasses(int previewPasses) {
+        if (previewPasses < 1 || previewPasses > 8)
+            throw new IllegalArgumentException("ERROR value parameter of the preview passes");
+        this.previewPasses = previewPasses;
+        return this;
+    }
+
+    /**
+     * Sets the listener which is called after every pass of a rendering, when the image writer has the image of
+     * the pass (see {@link PassListener}).
+     *
+     * @param  passListener the listener, null for no listener
+     * @return the camera instance with the updated pass listener
+     */
+    public Camera setPassListener(PassListener passListener) {
+        this.passListener = passListener;
+        return this;
+    }
+
+    /**
+     * Sets the thread pool which runs the threadCount rendering threads, so renderings (like the frames of an
+     * animation) share the threads instead of starting their own.
+     *
+     * @param  threadPool the thread pool, null for threads of each rendering
+     * @return the camera instance with the updated thread pool
+     */
+    Camera setThreadPool(Executor threadPool) {
+        this.threadPool = threadPool;
+        return this;
+    }
+
+    /**
+     * Sets whether the scene of the ray tracer is compiled at the start of every rendering, so the rendering sees
+     * the changes of the scene. Renderings which share a scene compiled in advance (like the frames of an
+     * animation) do not compile it.
+     *
+     * @param  compileScene false to render the scene as it was compiled last
+     * @return the camera instance with the updated scene compilation
+     */
+    Camera setCompileScene(boolean compileScene) {
+        this.compileScene = compileScene;
+        return this;
+    }
+
+    /**
+     * Makes a camera at another pose with all the settings of this camera, which renders to another image.
+     * The cameras share the ray tracer, and so the scene and its bounding volume hierarchy.
+     *
+     * @param  pose        the pose of the new camera
+     * @param  imageWriter the image of the new camera
+     * @return the new camera
+     */
+    Camera copy(Pose pose, ImageWriter imageWriter) {
+        Camera camera = new Camera(pose.position(), pose.vTo(), pose.vUp());
+        camera.Vright = pose.vRight();
+        camera.width = width;
+        camera.height = height;
+        camera.distance = distance;
+        camera.imageWriter = imageWriter;
+        camera.rayTracer = rayTracer;
+        camera.amountRays = amountRays;
+        camera.sampler = sampler;
+        camera.isAdaptiveSuperSampling = isAdaptiveSuperSampling;
+        camera.maximumAdaptiveDepth = maximumAdaptiveDepth;
+        camera.printInterval = printInterval;
+        camera.threadCount = threadCount;
+        camera.tileSize = tileSize;
+        camera.collectStatistics = collectStatistics;
+        camera.costMetric = costMetric;
+        camera.noiseTolerance = noiseTolerance;
+        camera.maxPixelSamples = maxPixelSamples;
+        camera.sampleBudget = sampleBudget;
+        camera.timeBudget = timeBudget;
+        camera.deadline = deadline;
+        camera.previewPasses = previewPasses;
+        camera.passListener = passListener;
+        camera.threadPool = threadPool;
+        camera.compileScene = compileScene;
+        return camera;
+    }
+
     /**
      * Sets the value of the threadCount.
      *
@@ -256,10 +546,68 @@ public class Camera {
         return this;
     }
 
+    /**
+     * Sets the size of the square tiles of pixels that the rendering threads take one at a time.
+     *
+     * @param  tileSize the width and height of a tile in pixels
+     * @return the camera instance with the updated tile size
+     */
+    public Camera setTileSize(int tileSize) {
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("ERROR value parameter of the tile size");
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    /**
+     * Sets whether to collect the statistics of the rendering (the amounts of rays of every kind,
+     * the intersection tests and the time of the phases). The statistics are printed when the
+     * rendering is finished, and can be taken by {@link #getStatistics()}.
+     *
+     * @param collectStatistics true to collect the statistics
+     * @return the camera instance with the updated statistics collection
+     */
+    public Camera setStatistics(boolean collectStatistics) {
+        this.collectStatistics = collectStatistics;
+        return this;
+    }
+
+    /**
+     * Returns the statistics of the last rendering.
+     *
+     * @return the statistics, or null if they were not collected
+     */
+    public RenderStatistics getStatistics() {
+        return collectStatistics ? statistics : null;
+    }
+
+    /**
+     * Sets whether to record the cost of every pixel of the rendering in a {@link CostMap},
+     * which can be taken by {@link #getCostMap()} and written as a heatmap image.
+     *
+     * @param costMetric the measure of the cost (time or intersection tests), null for no cost map
+     * @return the camera instance with the updated cost map recording
+     */
+    public Camera setCostMap(CostMap.Metric costMetric) {
+        this.costMetric = costMetric;
+        return this;
+    }
+
+    /**
+     * Returns the per-pixel cost of the last rendering.
+     *
+     * @return the cost map, or null if it was not recorded
+     */
+    public CostMap getCostMap() {
+        return costMap;
+    }
+
     /**
      * Sets the value print interval help to debug information.
+     * The progress (percentage, pixels per second and estimated remaining time) is printed
+     * by a separate thread every interval while rendering with multi-threading.
      *
-     * @param k The value to set the printInterval.
+     * @param k The value to set the printInterval, in seconds (0 for no printing).
      * @return The updated Camera .
      */
     public Camera setDebugPrint(double k)
@@ -281,42 +629,99 @@ public class Camera {
      * @return - the ray which goes through the pixel
      */
     public Ray constructRay(int nX, int nY, int j, int i) {
+        return viewPlane(nX, nY).ray(j, i);
+    }
 
-        //calculate the view plane center Point
-        Point Pcenter = p0.add(Vto.scale(distance));
-
-        //calculate the height and the width of any pixel
-        double Ry = height / nY;
-        double Rx = width / nX;
-
-        //delta values for moving on the view plane
-        double Xj = -(j - (nX - 1) / 2d) * Rx;
-        double Yi = -(i - (nY - 1) / 2d) * Ry;
-
-
-        //initialize Pij point[i,j] in view-plane coordinates
-        Point Pij = Pcenter;
-
-        if (!isZero(Xj)) {
-            Pij = Pij.add(Vright.scale(Xj));
-        }
-        if (!isZero(Yi)) {
-            Pij = Pij.add(Vup.scale(Yi));
-        }
-
-        // vector from camera's eye in the direction of point(i,j) in the viewplane
-        Vector Vij = Pij.subtract(p0);
+    /**
+     * the function gets the view plane size and a tile of pixels,
+     * and writes the rays from the camera through the centers of the pixels of the tile into a given array.
+     * The rays are built incrementally - the ray of a pixel is the ray of its neighbour moved by a step.
+     *
+     * @param nX     - row amount in the view plane
+     * @param nY     - column amount in the view plane
+     * @param col    - The index of X of the upper left pixel of the tile
+     * @param row    - The index of Y of the upper left pixel of the tile
+     * @param width  - the amount of pixel columns in the tile
+     * @param height - the amount of pixel rows in the tile
+     * @param rays   - the array of the rays, of at least width * height rays
+     * @return - the array, with the rays of the tile row by row
+     */
+    public Ray[] constructTileRays(int nX, int nY, int col, int row, int width, int height, Ray[] rays) {
+        viewPlane(nX, nY).rays(col, row, width, height, rays);
+        return rays;
+    }
 
-        return new Ray(p0, Vij);
+    /**
+     * the function gets the view plane size and a row of pixels,
+     * and writes the rays from the camera through the centers of the pixels of the row into a given array.
+     *
+     * @param nX   - row amount in the view plane
+     * @param nY   - column amount in the view plane
+     * @param i    - The index of Y of the row
+     * @param rays - the array of the rays, of at least nX rays
+     * @return - the array, with the rays of the row
+     */
+    public Ray[] constructRowRays(int nX, int nY, int i, Ray[] rays) {
+        return constructTileRays(nX, nY, 0, i, nX, 1, rays);
+    }
 
+    /**
+     * Returns the view plane of the camera at a resolution. The plane is computed once,
+     * and again only when the camera moves or the resolution changes.
+     *
+     * @param nX the number of pixels along the x-axis
+     * @param nY the number of pixels along the y-axis
+     * @return the view plane
+     */
+    private ViewPlane viewPlane(int nX, int nY) {
+        ViewPlane plane = viewPlane;
+        if (plane == null || !plane.matches(this, nX, nY))
+            viewPlane = plane = new ViewPlane(this, nX, nY);
+        return plane;
     }
 
     /**
      * Renders the image using the specified camera settings.
+     * If the statistics are collected (see {@link #setStatistics(boolean)}), they are printed at the end.
+     * If the deadline (see {@link #setDeadline(double)}) passes, the rendering stops and the image is partial.
      *
      * @throws MissingResourceException if any required resource is missing
+     * @throws IllegalStateException    if the camera is already rendering
      */
     public Camera renderImage() {
+        long setupStart = System.nanoTime();
+        render(startRendering(), setupStart);
+        return this;
+    }
+
+    /**
+     * Starts rendering the image in a background thread, and returns at once.
+     * The rendering can be waited for and cancelled by the returned handle, and it stops by itself at the
+     * deadline (see {@link #setDeadline(double)}). The camera must not be changed until the rendering is done.
+     *
+     * @return the handle of the rendering
+     * @throws MissingResourceException if any required resource is missing
+     * @throws IllegalStateException    if the camera is already rendering
+     */
+    public RenderHandle renderAsync() {
+        long setupStart = System.nanoTime();
+        RenderHandle rendering = startRendering();
+        new Thread(() -> {
+            try {
+                render(rendering, setupStart);
+            } catch (Throwable e) {
+                // the failure is thrown by the handle to the waiting thread
+            }
+        }, "render-main").start();
+        return rendering;
+    }
+
+    /**
+     * Checks that all the resources of a rendering are available, and starts a rendering.
+     *
+     * @return the handle of the new rendering
+     */
+    private synchronized RenderHandle startRendering() {
         // Check if all required resources are available
         if (p0 == null)
             throw new MissingResourceException("missing resource", Point.class.getName(), "");
@@ -337,32 +742,349 @@ public class Camera {
         if (rayTracer == null)
             throw new MissingResourceException("missing resource", RayTracerBase.class.getName(), "");
 
+
+        if (handle != null && !handle.isDone())
+            throw new IllegalStateException("ERROR the camera is already rendering");
+        handle = new RenderHandle(this, deadline);
+        return handle;
+    }
+
+    /**
+     * Renders the image, and marks the rendering as done in its handle.
+     *
+     * @param rendering  the handle of the rendering
+     * @param setupStart the time the rendering was asked for, in nanoseconds
+     */
+    private void render(RenderHandle rendering, long setupStart) {
+        Throwable failure = null;
+        try {
+            renderPixels(setupStart);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            rendering.finish(failure);
+        }
+    }
+
+    /**
+     * Renders all the pixels of the image by the threads of the camera.
+     *
+     * @param setupStart the time the rendering was asked for, in nanoseconds
+     */
+    private void renderPixels(long setupStart) {
         int nX = imageWriter.getNx();
         int nY = imageWriter.getNy();
+        // the rendering traces against a compiled copy of the scene, which the threads share without locks
+        if (compileScene)
+            rayTracer.prepare(false);
+        // the view plane is computed once for all the rays of the rendering
+        viewPlane(nX, nY);
         if (threadCount == 0) {
-            // Render each pixel in the image
+            // Render each tile of the image in this thread
+            pixelManager = null;
+        }
+        else {
+            pixelManager = new PixelManager(nY, nX, printInterval);
+        }
+        costMap = costMetric == null ? null : new CostMap(costMetric, nX, nY);
+        // counting the intersection tests of the pixels needs the counters of the statistics
+        statistics = collectStatistics || costMetric == CostMap.Metric.INTERSECTION_TESTS
+                ? new RenderStatistics() : null;
+        if (statistics != null)
+            statistics.start();
+        long renderStart = System.nanoTime();
+        // exactly threadCount workers pull the tiles from the scheduler
+        try {
+            if (noiseTolerance > 0)
+                renderProgressive(nX, nY);
+            else if (previewPasses > 1)
+                renderPreview(nX, nY);
+            else {
+                renderTiles(nX, nY, tileSize, tile -> renderTile(nX, nY, tile));
+                passDone(1);
+            }
+        } finally {
+            long finishStart = System.nanoTime();
+            if (pixelManager != null)
+                pixelManager.finish();
+            if (statistics != null) {
+                statistics.stop();
+                statistics.addPhaseTime(RenderStatistics.Phase.SETUP, renderStart - setupStart);
+                statistics.addPhaseTime(RenderStatistics.Phase.RENDER, finishStart - renderStart);
+                statistics.addPhaseTime(RenderStatistics.Phase.FINISH, System.nanoTime() - finishStart);
+            }
+        }
+        if (collectStatistics)
+            System.out.println(statistics);
+    }
+
+    /**
+     * Renders all the tiles of the image by exactly threadCount threads - of the thread pool if the camera has one.
+     *
+     * @param nX           the number of pixels along the x-axis
+     * @param nY           the number of pixels along the y-axis
+     * @param size         the width and height of a tile in pixels
+     * @param tileRenderer the function rendering a single tile
+     */
+    private void renderTiles(int nX, int nY, int size, Consumer<TileScheduler.Tile> tileRenderer) {
+        TileScheduler scheduler = new TileScheduler(nX, nY, size);
+        if (threadPool != null && threadCount > 0)
+            scheduler.render(threadPool, threadCount, tileRenderer);
+        else
+            scheduler.render(threadCount, tileRenderer);
+    }
 
-            for (int i = 0; i < nY; i++) {
-                for (int j = 0; j < nX; j++) {
-                    imageWriter.writePixel(j, i, this.castRaySelector(nX, nY, i, j));
+    /**
+     * Renders all the pixels of a tile, writes them to the image and reports them to the pixel manager at once.
+     *
+     * @param nX   the number of pixels along the x-axis
+     * @param nY   the number of pixels along the y-axis
+     * @param tile the tile to render
+     */
+    private void renderTile(int nX, int nY, TileScheduler.Tile tile) {
+        // the colors of the tile are collected and written to the image in bulk
+        int[] rgb = new int[tile.size()];
+        int index = 0, rows = 0;
+        // with a single ray per pixel, the rays of the whole tile are built at once
+        Ray[] rays = isAdaptiveSuperSampling || amountRays != 1 ? null
+                : constructTileRays(nX, nY, tile.col(), tile.row(), tile.width(), tile.height(), new Ray[tile.size()]);
+        // the pixels of the tile share the corner samples of the adaptive super sampling
+        SampleCache cache = isAdaptiveSuperSampling ? new SampleCache() : null;
+        // the thread counts the statistics of the tile into its own counters
+        if (statistics != null)
+            statistics.attach();
+        try {
+            // a stopped rendering skips the rest of the rows
+            for (int i = tile.row(); i < tile.row() + tile.height() && !handle.shouldStop(); i++, rows++) {
+                for (int j = tile.col(); j < tile.col() + tile.width(); j++) {
+                    long start = costMap == null ? 0 : costMap.start();
+                    rgb[index] = (rays == null ? castRaySelector(nX, nY, i, j, cache)
+                            : castRay(rays[index])).getRGB();
+                    if (costMap != null)
+                        costMap.record(j, i, start);
+                    index++;
                 }
             }
+        } finally {
+            if (statistics != null)
+                statistics.detach();
+        }
+        imageWriter.writePixels(tile.col(), tile.row(), tile.width(), rows, rgb);
+        if (pixelManager != null)
+            pixelManager.pixelsDone(tile.width() * rows);
+    }
 
-            return this;
+    /**
+     * Renders the image by the coarse-to-fine passes of the preview, from the pixels at every 2^(passes-1)
+     * rows and columns to all the pixels. The image is written after every pass.
+     *
+     * @param nX the number of pixels along the x-axis
+     * @param nY the number of pixels along the y-axis
+     */
+    private void renderPreview(int nX, int nY) {
+        int coarsest = 1 << (previewPasses - 1);
+        // the tiles are aligned to the blocks of the coarsest pass, so the blocks of every pass are inside a tile
+        int size = (tileSize + coarsest - 1) / coarsest * coarsest;
+        int pass = 0;
+        for (int stride = coarsest; stride >= 1 && !handle.shouldStop(); stride /= 2) {
+            int blockSize = stride, traced = stride == coarsest ? 0 : 2 * stride;
+            renderTiles(nX, nY, size, tile -> previewTile(nX, nY, tile, blockSize, traced));
+            passDone(++pass);
         }
-        else {
-            pixelManager = new PixelManager(nY, nX, printInterval);
+    }
 
-            IntStream.range(0, nY).parallel().forEach(i -> IntStream.range(0, nX).parallel() // for each row:
-                     .forEach(j -> castRayParallel(nX, nY,i,j))); // for each column in row
+    /**
+     * Renders a pass of the preview in a tile - traces the pixels at every stride rows and columns, and fills the
+     * block of stride x stride pixels of every traced pixel with its color.
+     * The pixels which were traced in the previous pass are taken from the image.
+     *
+     * @param nX     the number of pixels along the x-axis
+     * @param nY     the number of pixels along the y-axis
+     * @param tile   the tile, aligned to the blocks of the pass
+     * @param stride the distance between the traced pixels of the pass
+     * @param traced the distance between the traced pixels of the previous pass, 0 for the first pass
+     */
+    private void previewTile(int nX, int nY, TileScheduler.Tile tile, int stride, int traced) {
+        int[] rgb = new int[tile.size()];
+        int rows = 0, pixels = 0;
+        int endRow = tile.row() + tile.height(), endCol = tile.col() + tile.width();
+        SampleCache cache = isAdaptiveSuperSampling ? new SampleCache() : null;
+        if (statistics != null)
+            statistics.attach();
+        try {
+            // a stopped rendering skips the rest of the rows, which keep the blocks of the previous pass
+            for (int i = tile.row(); i < endRow && !handle.shouldStop(); i += stride) {
+                int blockHeight = Math.min(stride, endRow - i);
+                for (int j = tile.col(); j < endCol; j += stride) {
+                    int color;
+                    if (traced > 0 && i % traced == 0 && j % traced == 0)
+                        color = imageWriter.readPixel(j, i);
+                    else {
+                        long start = costMap == null ? 0 : costMap.start();
+                        color = castRaySelector(nX, nY, i, j, cache).getRGB();
+                        if (costMap != null)
+                            costMap.record(j, i, start);
+                        pixels++;
+                    }
+                    int offset = (i - tile.row()) * tile.width() + j - tile.col();
+                    int blockWidth = Math.min(stride, endCol - j);
+                    for (int y = 0; y < blockHeight; y++)
+                        Arrays.fill(rgb, offset + y * tile.width(), offset + y * tile.width() + blockWidth, color);
+                }
+                rows += blockHeight;
+            }
+        } finally {
+            if (statistics != null)
+                statistics.detach();
         }
-            return this;
+        imageWriter.writePixels(tile.col(), tile.row(), tile.width(), rows, rgb);
+        if (pixelManager != null)
+            pixelManager.pixelsDone(pixels);
     }
 
-    private void castRayParallel(int nX, int nY, int i, int j)
-    {
-        imageWriter.writePixel(j, i, castRaySelector(nX, nY, i, j));
-        pixelManager.pixelDone();
+    /**
+     * Calls the pass listener after a pass of the rendering, unless the pass was stopped.
+     *
+     * @param pass the number of the pass, from 1
+     */
+    private void passDone(int pass) {
+        if (passListener != null && !handle.isPartial())
+            passListener.passDone(pass);
+    }
+
+    /**
+     * Renders the image by the progressive sampling - a pass of a sample at the center of every pixel, and then
+     * passes of jittered samples of the noisy pixels, until no pixel is noisy or a budget runs out.
+     * The image is written after every pass, with the mean color of the samples of every pixel.
+     *
+     * @param nX the number of pixels along the x-axis
+     * @param nY the number of pixels along the y-axis
+     */
+    private void renderProgressive(int nX, int nY) {
+        ViewPlane plane = viewPlane(nX, nY);
+        SampleAccumulator samples = new SampleAccumulator(nX, nY);
+        AtomicLong budget = new AtomicLong(sampleBudget);
+        long start = System.nanoTime();
+        // no wanted samples in the first pass - a sample for every pixel
+        int[] wanted = null;
+        int pass = 0;
+        do {
+            int[] passSamples = wanted;
+            renderTiles(nX, nY, tileSize, tile -> sampleTile(nX, plane, tile, samples, passSamples, budget, start));
+            passDone(++pass);
+            if (budget.get() <= 0 || System.nanoTime() - start >= timeBudget || handle.shouldStop())
+                break;
+            wanted = wantedSamples(nX, nY, samples);
+        } while (wanted != null);
+    }
+
+    /**
+     * Decides how many samples to add to every pixel in the next pass of the progressive sampling.
+     * A noisy pixel with a single sample is brought to 4 samples, and a noisy pixel with more samples is doubled,
+     * up to the maximum samples of a pixel.
+     *
+     * @param nX      the number of pixels along the x-axis
+     * @param nY      the number of pixels along the y-axis
+     * @param samples the samples of the previous passes
+     * @return the amount of samples to add to every pixel, or null if no pixel is noisy
+     */
+    private int[] wantedSamples(int nX, int nY, SampleAccumulator samples) {
+        int[] wanted = new int[nX * nY];
+        boolean noisy = false;
+        for (int i = 0; i < nY; i++) {
+            for (int j = 0; j < nX; j++) {
+                int count = samples.count(j, i);
+                if (count < maxPixelSamples && samples.noise(j, i) > noiseTolerance) {
+                    wanted[i * nX + j] = Math.min(count == 1 ? 3 : count, maxPixelSamples - count);
+                    noisy = true;
+                }
+            }
+        }
+        return noisy ? wanted : null;
+    }
+
+    /**
+     * Samples the pixels of a tile in a pass of the progressive sampling, and writes their mean colors to the image.
+     * The samples of the tile are taken from the sample budget at once, and no samples are added after the time
+     * budget is over.
+     *
+     * @param nX      the number of pixels along the x-axis
+     * @param plane   the view plane of the rendering
+     * @param tile    the tile to sample
+     * @param samples the samples of the pixels
+     * @param wanted  the amount of samples to add to every pixel, null for the first pass
+     * @param budget  the samples left in the sample budget
+     * @param start   the time the progressive sampling started, in nanoseconds
+     */
+    private void sampleTile(int nX, ViewPlane plane, TileScheduler.Tile tile, SampleAccumulator samples,
+                            int[] wanted, AtomicLong budget, long start) {
+        long granted = wanted == null ? tile.size() : reserveSamples(nX, tile, wanted, budget);
+        if (granted == 0)
+            return;
+        if (wanted == null)
+            budget.addAndGet(-granted);
+        Ray[] rays = wanted == null
+                ? constructTileRays(nX, imageWriter.getNy(), tile.col(), tile.row(), tile.width(), tile.height(),
+                new Ray[tile.size()])
+                : null;
+        int[] rgb = new int[tile.size()];
+        int index = 0, rows = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (statistics != null)
+            statistics.attach();
+        try {
+            // a stopped rendering skips the rest of the rows, which keep the samples of the previous passes
+            for (int i = tile.row(); i < tile.row() + tile.height() && !handle.shouldStop(); i++, rows++) {
+                for (int j = tile.col(); j < tile.col() + tile.width(); j++) {
+                    long pixelStart = costMap == null ? 0 : costMap.start();
+                    if (rays != null)
+                        samples.add(j, i, castRay(rays[index]));
+                    else if (granted > 0 && System.nanoTime() - start < timeBudget) {
+                        int count = (int) Math.min(wanted[i * nX + j], granted);
+                        granted -= count;
+                        for (int k = 0; k < count; k++)
+                            samples.add(j, i,
+                                    castRay(plane.ray(j + random.nextDouble() - 0.5, i + random.nextDouble() - 0.5)));
+                    }
+                    if (costMap != null)
+                        costMap.record(j, i, pixelStart);
+                    rgb[index++] = samples.mean(j, i).getRGB();
+                }
+            }
+        } finally {
+            if (statistics != null)
+                statistics.detach();
+        }
+        // the samples which were not taken because the time is over go back to the budget
+        if (rays == null && granted > 0)
+            budget.addAndGet(granted);
+        imageWriter.writePixels(tile.col(), tile.row(), tile.width(), rows, rgb);
+        if (rays != null && pixelManager != null)
+            pixelManager.pixelsDone(tile.width() * rows);
+    }
+
+    /**
+     * Takes the samples which are added to the pixels of a tile from the sample budget - all of them, or what is
+     * left of the budget.
+     *
+     * @param nX     the number of pixels along the x-axis
+     * @param tile   the tile
+     * @param wanted the amount of samples to add to every pixel
+     * @param budget the samples left in the sample budget
+     * @return the amount of samples taken from the budget
+     */
+    private static long reserveSamples(int nX, TileScheduler.Tile tile, int[] wanted, AtomicLong budget) {
+        long needed = 0;
+        for (int i = tile.row(); i < tile.row() + tile.height(); i++)
+            for (int j = tile.col(); j < tile.col() + tile.width(); j++)
+                needed += wanted[i * nX + j];
+        long left, granted;
+        do {
+            left = budget.get();
+            granted = Math.min(left, needed);
+        } while (granted > 0 && !budget.compareAndSet(left, left - granted));
+        return Math.max(granted, 0);
     }
 
 
@@ -374,12 +1096,13 @@ public class Camera {
      * @param nY - column amount in the view plane
      * @param j  - The index of X
      * @param i  - The index of Y
+     * @param cache - the samples of the adaptive super sampling shared by the pixels of the tile
      * @return - the color of the pixel
      */
 
-    private Color castRaySelector(int nX, int nY, int i, int j) {
+    private Color castRaySelector(int nX, int nY, int i, int j, SampleCache cache) {
         if (isAdaptiveSuperSampling)
-            return adaptiveManager(nX, nY, j, i);
+            return adaptiveManager(nX, nY, j, i, cache);
         if (amountRays == 1)
             return castRay(nX, nY, i, j);
 
@@ -396,7 +1119,17 @@ public class Camera {
      * @param j  the x-coordinate of the pixel
      */
     private Color castRay(int nX, int nY, int i, int j) {
-        Ray ray = constructRay(nX, nY, j, i);
+        return castRay(constructRay(nX, nY, j, i));
+    }
+
+    /**
+     * Traces a primary ray to determine the color of its pixel.
+     *
+     * @param ray the ray through the pixel
+     * @return the color of the pixel
+     */
+    private Color castRay(Ray ray) {
+        RenderStatistics.count(RenderStatistics.Counter.PRIMARY_RAYS);
         return rayTracer.traceRay(ray);
     }
 
@@ -409,8 +1142,15 @@ public class Camera {
      * @param j  the x-coordinate of the pixel
      */
     private Color castRays(int nX, int nY, int i, int j) {
-        List<Ray> rays = constructRays(nX, nY, j, i);
-        return rayTracer.traceRays(rays);
+        // every thread writes the rays of its pixels into the same array
+        Ray[] rays = sampleRays.get();
+        if (rays == null || rays.length != sampler.getSampleCount() + 1) {
+            rays = new Ray[sampler.getSampleCount() + 1];
+            sampleRays.set(rays);
+        }
+        constructRays(nX, nY, j, i, rays);
+        RenderStatistics.count(RenderStatistics.Counter.PRIMARY_RAYS, rays.length);
+        return rayTracer.traceRays(Arrays.asList(rays));
     }
 
     /**
@@ -579,29 +1319,6 @@ public class Camera {
 
 
 
-    /**
-     * the function gets the view plane size and a specific pixel,
-     * return the point of the center of the pixel
-     *
-     * @param nX - row amount in the view plane
-     * @param nY - column amount in the view plane
-     * @param j  - The index of X
-     * @param i  - The index of Y
-     * @return - the ray which goes through the pixel
-     */
-    private Point getCenterPixel(int nX, int nY, int j, int i) {
-        Point pIJCenter = p0.add(Vto.scale(distance)); // = initialize the center point of the pixel
-        double rY = this.height / nY; //rY is the size of the vertical
-        double rX = this.width / nX; //rX is the size of the horizontal
-        double xJ = -(j - (double) (nX - 1) / 2) * rX; //xJ is the horizontal distance of the central pixel from our pixel
-        double yI = -(i - (double) (nY - 1) / 2) * rY; //yI is the vertical distance of the central pixel from our pixel
-        //we check if it needed to move the  point from the first position
-        if (xJ != 0) pIJCenter = pIJCenter.add(Vright.scale(xJ));//add to the horizontal
-        if (yI != 0) pIJCenter = pIJCenter.add(Vup.scale(yI));//add to the vertical
-        return pIJCenter;//return the center of the pixel
-    }
-
-
     /**
      * the function gets the view plane size and a specific pixel,
      * return the rays from the camera which intersects this pixel
@@ -610,80 +1327,37 @@ public class Camera {
      * @param nY - column amount in the view plane
      * @param j  - The index of X
      * @param i  - The index of Y
-     * @return - a list of rays which goes through the pixel
+     * @return - a list of rays which goes through the pixel - the ray through its center, and a ray for
+     * every sample of the sampler
      */
     public List<Ray> constructRays(int nX, int nY, int j, int i) {
-        List<Ray> rays = new LinkedList<>();
-        rays.add(constructRay(nX, nY, j, i));//add the basic ray to the set of samples
-        Point centralPixel = getCenterPixel(nX, nY, j, i);
-        double rY = height / nY / amountRays;//
-        double rX = width / nX / amountRays;
-        double x, y;
-
-        for (int rowNumber = 0; rowNumber < amountRays; rowNumber++) {
-            for (int colNumber = 0; colNumber < amountRays; colNumber++) {
-//                y = -(rowNumber - (amountRays - 1d) / 2) * rY;
-//                x = (colNumber - (amountRays - 1d) / 2) * rX;
-                Point pIJ = centralPixel;
-//                if (y != 0) pIJ = pIJ.add(Vup.scale(y));
-//                if (x != 0) pIJ = pIJ.add(Vright.scale(x));
-                rays.add(constructRandomRay(nX, nY, pIJ, rowNumber, colNumber, amountRays));
-            }
-        }
-
-        return rays;
+        return Arrays.asList(constructRays(nX, nY, j, i, new Ray[sampler.getSampleCount() + 1]));
     }
 
-
     /**
-     * Constructs a random ray based on the given parameters.
+     * the function gets the view plane size and a specific pixel,
+     * and writes the rays from the camera which intersects this pixel into a given array,
+     * so the same array can be reused for all the pixels
      *
-     * @param Nx         The number of grid cells along the X-axis.
-     * @param Ny         The number of grid cells along the Y-axis.
-     * @param Pij        The initial point of the ray.
-     * @param gridRow    The row index of the grid cell.
-     * @param gridColumn The column index of the grid cell.
-     * @param amount     The number of sub-grid cells within a single grid cell.
-     * @return A randomly constructed Ray object.
+     * @param nX   - row amount in the view plane
+     * @param nY   - column amount in the view plane
+     * @param j    - The index of X
+     * @param i    - The index of Y
+     * @param rays - the array of the rays, of at least sampleCount + 1 rays
+     * @return - the array, with the ray through the center of the pixel first and the rays of the samples after it
      */
-    public Ray constructRandomRay(int Nx, int Ny, Point Pij, int gridRow, int gridColumn, int amount) {
-        // Calculate the height and width of each grid cell
-        double Ry = (double) height / Ny;
-        double Rx = (double) width / Nx;
-
-        // Calculate the height and width of each sub-grid cell
-        double gridHeight = (double) Ry / amount;
-        double gridWidth = (double) Rx / amount;
-
-        // Generate random values for the sub-grid cell
-        Random r = new Random();
-        double yI = r.nextDouble(gridHeight) - gridHeight / 2;
-        double xJ = r.nextDouble(gridWidth) - gridWidth / 2;
-
-        // Adjust Pij based on the random values and grid indices
-        if (!isZero(xJ)) {
-            Pij = Pij.add(Vright.scale(gridWidth * gridColumn + xJ));
-        }
-
-        if (!isZero(yI)) {
-            Pij = Pij.add(Vup.scale(gridHeight * gridRow + yI));
-        }
-
-        // Return the constructed Ray object
-        return new Ray(p0, Pij.subtract(p0));
+    public Ray[] constructRays(int nX, int nY, int j, int i, Ray[] rays) {
+        ViewPlane plane = viewPlane(nX, nY);
+        rays[0] = plane.ray(j, i);//add the basic ray to the set of samples
+        // the offsets of the samples from the center of the pixel, in pixel units along vRight and vUp,
+        // which are against the directions of the pixel indices
+        double[] offsets = sampler.nextOffsets();
+        for (int k = 0, index = 1; k < offsets.length; k += 2, ++index)
+            rays[index] = plane.ray(j - offsets[k], i - offsets[k + 1]);
+        return rays;
     }
 
 
-    /**
-     * get  a point and return the color of the point
-     *
-     * @param p- point on the view plane
-     * @return color of the point
-     */
-    private Color pointCalcColor(Point p) {
-        return rayTracer.traceRay(new Ray(p0, p.subtract(p0)));
-    }
-
     /**
      * get  a list of colors and return if the colors are almost same
      *
@@ -697,41 +1371,46 @@ public class Camera {
 
 
     /**
-     * calculate average color of the pixel by using adaptive Super-sampling
+     * calculate average color of the pixel by using adaptive Super-sampling.
+     * The samples are on a sub-grid of the image with 2^(maximumAdaptiveDepth-1) cells along a pixel side,
+     * and the corners of the pixel are shared with its neighbours through the cache of the tile.
      *
      * @param nY-     number of width pixel
      * @param nX-     number of length pixel
      * @param j-      index of columns
      * @param i-      index of rows
+     * @param cache-  the colors of the samples of the tile which were already traced
      * @return- the average color of the pixel
      */
-    private Color adaptiveManager(int nX, int nY, int j, int i) {
-        Point center= getCenterPixel(nX,nY, j, i);
-        Hashtable<Point, Color> pointColorMap= new Hashtable<Point, Color>();
-        double rY = height / nY / 2;
-        double rX = width / nX / 2;
-        Color upRight = pointCalcColor(center.add(Vup.scale(rY)).add(Vright.scale(rX)));
-        Color upLeft = pointCalcColor(center.add(Vup.scale(rY)).add(Vright.scale(-rX)));
-        Color downRight = pointCalcColor(center.add(Vup.scale(-rY)).add(Vright.scale(rX)));
-        Color downLeft = pointCalcColor(center.add(Vup.scale(-rY)).add(Vright.scale(-rX)));
-
-        return adaptive(1, center, rX, rY, pointColorMap, upLeft, upRight, downLeft, downRight);
+    private Color adaptiveManager(int nX, int nY, int j, int i, SampleCache cache) {
+        ViewPlane plane = viewPlane(nX, nY);
+        int size = 1 << (maximumAdaptiveDepth - 1);
+        // the columns go against vRight and the rows go against vUp, so the first corner is the up right one
+        int x = j * size, y = i * size;
+        Color upRight = sampleColor(plane, x, y, cache);
+        Color upLeft = sampleColor(plane, x + size, y, cache);
+        Color downRight = sampleColor(plane, x, y + size, cache);
+        Color downLeft = sampleColor(plane, x + size, y + size, cache);
+
+        return adaptive(1, plane, x, y, size, cache, upLeft, upRight, downLeft, downRight);
     }
 
     /**
-     * recursive method that return the average color of the pixel- by checking the color of the four corners
+     * recursive method that return the average color of a square of the pixel- by checking the color of the four corners
      *
-     * @param depth-         the depth of the recursion
-     * @param center-      the center of the pixel
-     * @param rX-          the width of the pixel
-     * @param rY-          the height of the pixel
-     * @param upLeftCol-   the color of the vUp left corner
-     * @param upRightCol-  the color of the vUp vRight corner
-     * @param downLeftCol- the color of the down left corner
-     * @param downRightCol - the color of the down vRight corner
-     * @return the average color of the pixel
+     * @param depth-        the depth of the recursion
+     * @param plane-        the view plane
+     * @param x-            the column of the up right corner in the sub-grid
+     * @param y-            the row of the up right corner in the sub-grid
+     * @param size-         the size of the square in sub-grid cells
+     * @param cache-        the colors of the samples which were already traced
+     * @param upLeftCol-    the color of the vUp left corner
+     * @param upRightCol-   the color of the vUp vRight corner
+     * @param downLeftCol-  the color of the down left corner
+     * @param downRightCol- the color of the down vRight corner
+     * @return the average color of the square
      */
-    private Color adaptive(int depth, Point center, double rX, double rY, Hashtable<Point, Color> pointColorMap,
+    private Color adaptive(int depth, ViewPlane plane, int x, int y, int size, SampleCache cache,
                            Color upLeftCol, Color upRightCol, Color downLeftCol, Color downRightCol) {
         //check if we are in the max level of the recursion
         if (depth == maximumAdaptiveDepth) {
@@ -740,57 +1419,66 @@ public class Camera {
         }
 
         //send the colors of the 4 corners to almostSameColor method and it returns if the colors are almost the same
-        if (almostSameColor(upRightCol,upLeftCol,downLeftCol,downRightCol)) {
+        if (almostSameColor(upRightCol, upLeftCol, downLeftCol, downRightCol)) {
             //the colors are same we return any one of the colors
             return downRightCol;
         }
 
         //the colors are different we go to the adaptive sections
-        else {
-            //for efficiency we calculate the 5 points that we will check in the next level of the recursion
-            //we will send the new points to the the 4 new squares in the recursion
-            Color rightMiddlePoint = getPointColorFromTable(center.add(Vright.scale(rX)), pointColorMap);
-            Color leftMiddlePoint = getPointColorFromTable(center.add(Vright.scale(-rX)), pointColorMap);
-            Color upMiddlePoint = getPointColorFromTable(center.add(Vup.scale(rY)), pointColorMap);
-            Color downMiddlePoint = getPointColorFromTable(center.add(Vup.scale(-rY)), pointColorMap);
-            Color centerPoint = pointCalcColor(center);
-
-
-            //initialize for the next level find the 4 points that we will use in the next level
-            rX = rX / 2;
-            rY = rY / 2;
-            upLeftCol = adaptive(depth + 1, center.add(Vup.scale(rY / 2)).add(Vright.scale(-rX / 2)), rX, rY, pointColorMap,
-                    upLeftCol, upMiddlePoint, leftMiddlePoint, centerPoint);
-            upRightCol = adaptive(depth + 1, center.add(Vup.scale(rY / 2)).add(Vright.scale(rX / 2)), rX, rY, pointColorMap,
-                    upMiddlePoint, upRightCol, centerPoint, rightMiddlePoint);
-            downLeftCol = adaptive(depth + 1, center.add(Vup.scale(-rY / 2)).add(Vright.scale(-rX / 2)), rX, rY, pointColorMap,
-                    leftMiddlePoint, centerPoint, downLeftCol, downMiddlePoint);
-            downRightCol = adaptive(depth + 1, center.add(Vup.scale(-rY / 2)).add(Vright.scale(rX / 2)), rX, rY, pointColorMap,
-                    centerPoint, rightMiddlePoint, downMiddlePoint, downRightCol);
-
-            //sum the Points color and return the average color value
-            return downRightCol.add(upLeftCol).add(upRightCol).add(downLeftCol).reduce(4);
-        }
+        RenderStatistics.count(RenderStatistics.Counter.ADAPTIVE_SUBDIVISIONS);
+        //the middles of the edges are shared with the neighbouring squares, so they are taken from the cache
+        int half = size / 2;
+        Color upMiddlePoint = sampleColor(plane, x + half, y, cache);
+        Color rightMiddlePoint = sampleColor(plane, x, y + half, cache);
+        Color leftMiddlePoint = sampleColor(plane, x + size, y + half, cache);
+        Color downMiddlePoint = sampleColor(plane, x + half, y + size, cache);
+        //the center is not shared with any other square
+        Color centerPoint = traceSample(plane, x + half, y + half);
+
+        upLeftCol = adaptive(depth + 1, plane, x + half, y, half, cache,
+                upLeftCol, upMiddlePoint, leftMiddlePoint, centerPoint);
+        upRightCol = adaptive(depth + 1, plane, x, y, half, cache,
+                upMiddlePoint, upRightCol, centerPoint, rightMiddlePoint);
+        downLeftCol = adaptive(depth + 1, plane, x + half, y + half, half, cache,
+                leftMiddlePoint, centerPoint, downLeftCol, downMiddlePoint);
+        downRightCol = adaptive(depth + 1, plane, x, y + half, half, cache,
+                centerPoint, rightMiddlePoint, downMiddlePoint, downRightCol);
+
+        //sum the Points color and return the average color value
+        return downRightCol.add(upLeftCol).add(upRightCol).add(downLeftCol).reduce(4);
     }
 
     /**
-     * check if this point exist in the HashTable return his color otherwise calculate the color and save it
+     * check if the sample exists in the cache and return its color, otherwise trace it and save its color
      *
-     * @param point-           certain point in the pixel
-     * @param pointColorMap- dictionary that save points and their color
-     * @return the color of the point
+     * @param plane- the view plane
+     * @param x-     the column of the sample in the sub-grid
+     * @param y-     the row of the sample in the sub-grid
+     * @param cache- the colors of the samples which were already traced
+     * @return the color of the sample
      */
-    private Color getPointColorFromTable(Point point, Hashtable<Point, Color> pointColorMap) {
-        //for efficiency we search the point first at the HashTable to check if we alreay calcuated this point
-
-        if (!(pointColorMap.containsKey(point))) {
-            //the point does not exist at the hashtable we calcuate the color point and add to the hashTable
-            Color color = pointCalcColor(point);
-            pointColorMap.put(point, color);
-            return color;
+    private Color sampleColor(ViewPlane plane, int x, int y, SampleCache cache) {
+        long key = SampleCache.key(x, y);
+        Color color = cache.get(key);
+        if (color == null) {
+            color = traceSample(plane, x, y);
+            cache.put(key, color);
         }
-        //get the point from the hashTable
-        return pointColorMap.get(point);
+        return color;
+    }
+
+    /**
+     * trace the ray through a sample of the adaptive super sampling
+     *
+     * @param plane- the view plane
+     * @param x-     the column of the sample in the sub-grid
+     * @param y-     the row of the sample in the sub-grid
+     * @return the color of the sample
+     */
+    private Color traceSample(ViewPlane plane, int x, int y) {
+        double size = 1 << (maximumAdaptiveDepth - 1);
+        // the sub-grid starts at the corner of the first pixel, half a pixel before its center
+        return castRay(plane.ray(x / size - 0.5, y / size - 0.5));
     }
 }
 
@@ -0,0 +1,186 @@
+package renderer;
+
+import primitives.RenderStatistics;
+
+import java.util.Arrays;
+
+/**
+ * CostMap records how much every pixel of a rendering cost - the time of the pixel or the amount of
+ * intersection tests it needed - in a buffer of floats, alongside the image of the rendering.
+ * The map can be written as a heatmap image (black for the cheapest pixels, through red and yellow,
+ * to white for the most expensive ones), which shows the geometries and materials that blow up the
+ * rendering time, like deep glass recursion or adaptive subdivision at edges.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class CostMap {
+
+    /**
+     * The measure of the cost of a pixel
+     */
+    public enum Metric {
+        /**
+         * The time of the pixel in nanoseconds
+         */
+        TIME,
+        /**
+         * The amount of bounding box and primitive intersection tests of the pixel
+         */
+        INTERSECTION_TESTS
+    }
+
+    /**
+     * The measure of the cost
+     */
+    private final Metric metric;
+
+    /**
+     * The amount of pixel columns
+     */
+    private final int nX;
+
+    /**
+     * The amount of pixel rows
+     */
+    private final int nY;
+
+    /**
+     * The cost of every pixel, row by row
+     */
+    private final float[] costs;
+
+    /**
+     * Constructs an empty cost map of an image.
+     *
+     * @param metric the measure of the cost
+     * @param nX     the amount of pixel columns
+     * @param nY     the amount of pixel rows
+     */
+    public CostMap(Metric metric, int nX, int nY) {
+        if (metric == null)
+            throw new IllegalArgumentException("Metric of the cost map is missing");
+        this.metric = metric;
+        this.nX = nX;
+        this.nY = nY;
+        costs = new float[nX * nY];
+    }
+
+    /**
+     * Returns the measure of the cost.
+     *
+     * @return the metric
+     */
+    public Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * Returns the cost of a pixel.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the cost of the pixel (nanoseconds or intersection tests)
+     */
+    public float get(int x, int y) {
+        return costs[y * nX + x];
+    }
+
+    /**
+     * Returns the cost of all the pixels.
+     *
+     * @return a copy of the costs, row by row
+     */
+    public float[] getCosts() {
+        return Arrays.copyOf(costs, costs.length);
+    }
+
+    /**
+     * Returns the cost of the most expensive pixel.
+     *
+     * @return the maximal cost
+     */
+    public float max() {
+        float max = 0;
+        for (float cost : costs)
+            max = Math.max(max, cost);
+        return max;
+    }
+
+    /**
+     * Starts measuring a pixel in the current thread.
+     * With {@link Metric#INTERSECTION_TESTS} the thread must count into a {@link RenderStatistics}.
+     *
+     * @return the mark to pass to {@link #record(int, int, long)} when the pixel is done
+     */
+    long start() {
+        return metric == Metric.TIME ? System.nanoTime() : RenderStatistics.threadIntersectionTests();
+    }
+
+    /**
+     * Records the cost of a pixel which is done. A pixel which is sampled again (in the later passes of
+     * the progressive sampling) adds the cost of every pass.
+     *
+     * @param x     the column of the pixel
+     * @param y     the row of the pixel
+     * @param start the mark returned by {@link #start()} before the pixel
+     */
+    void record(int x, int y, long start) {
+        long end = metric == Metric.TIME ? System.nanoTime() : RenderStatistics.threadIntersectionTests();
+        costs[y * nX + x] += end - start;
+    }
+
+    /**
+     * Returns the cost which is not exceeded by a given fraction of the pixels.
+     *
+     * @param fraction the fraction of the pixels, between 0 and 1
+     * @return the percentile of the costs
+     */
+    public float percentile(double fraction) {
+        if (fraction < 0 || fraction > 1)
+            throw new IllegalArgumentException("Fraction must be between 0 and 1");
+        float[] sorted = getCosts();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(fraction * sorted.length))];
+    }
+
+    /**
+     * Writes the map as a heatmap image. The costs are scaled by the 99th percentile of the costs,
+     * so a few extreme pixels (like the first pixels, before the JIT compiler is done) do not darken
+     * the whole image - the pixels above it are white.
+     *
+     * @param imageName the name of the image file
+     */
+    public void writeToImage(String imageName) {
+        ImageWriter imageWriter = new ImageWriter(imageName, nX, nY);
+        float scale = percentile(0.99);
+        if (scale == 0)
+            scale = max();
+        int[] rgb = new int[costs.length];
+        for (int i = 0; i < costs.length; ++i)
+            rgb[i] = heat(scale == 0 ? 0 : costs[i] / scale);
+        imageWriter.writePixels(0, 0, nX, nY, rgb);
+        imageWriter.writeToImage();
+    }
+
+    /**
+     * The color of a relative cost on the heat scale black - red - yellow - white
+     *
+     * @param t the cost relative to the scale of the map, clamped to between 0 and 1
+     * @return the packed RGB color
+     */
+    private static int heat(float t) {
+        float scaled = 3 * t;
+        int red = channel(scaled), green = channel(scaled - 1), blue = channel(scaled - 2);
+        return red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * A channel of the heat scale, which rises from 0 to 255 while its argument goes from 0 to 1
+     *
+     * @param value the argument of the channel
+     * @return the value of the channel
+     */
+    private static int channel(float value) {
+        return Math.round(255 * Math.max(0, Math.min(1, value)));
+    }
+}
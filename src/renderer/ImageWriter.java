@@ -2,6 +2,7 @@ package renderer;
 
 import primitives.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.util.logging.Level;
@@ -24,6 +25,8 @@ public class ImageWriter {
 	private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
 
 	private BufferedImage image;
+	/** The raster of the image - packed RGB integers, row by row */
+	private int[] pixels;
 	private String imageName;
 	
 	private Logger logger = Logger.getLogger("ImageWriter");
@@ -41,6 +44,8 @@ public class ImageWriter {
 		this.nY = nY;
 
 		image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+		// the pixels are written directly into the int array which backs the image
+		pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
 	}
 
 	// ***************** Getters/Setters ********************** //
@@ -62,6 +67,15 @@ public class ImageWriter {
 		return nX;
 	}
 
+	/**
+	 * The name of the image file, without the extension
+	 * 
+	 * @return the name of the image
+	 */
+	public String getImageName() {
+		return imageName;
+	}
+
 	// ***************** Operations ******************** //
 
 	/**
@@ -87,7 +101,53 @@ public class ImageWriter {
 	 * @param color  final color of the pixel
 	 */
 	public void writePixel(int xIndex, int yIndex, Color color) {
-		image.setRGB(xIndex, yIndex, color.getColor().getRGB());
+		pixels[index(xIndex, yIndex)] = color.getRGB();
+	}
+
+	/**
+	 * The function readPixel reads the color of a specific pixel from the pixel
+	 * color matrix - the image as far as it was rendered
+	 * 
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @return packed RGB value of the pixel (see {@link Color#getRGB()})
+	 */
+	public int readPixel(int xIndex, int yIndex) {
+		return pixels[index(xIndex, yIndex)];
+	}
+
+	/**
+	 * The function index finds the place of a pixel in the pixel color matrix
+	 * 
+	 * @param xIndex X axis index of the pixel
+	 * @param yIndex Y axis index of the pixel
+	 * @return the index of the pixel in the matrix
+	 */
+	private int index(int xIndex, int yIndex) {
+		// a wrong x index would silently move to a pixel of another row
+		if (xIndex < 0 || yIndex < 0 || xIndex >= nX || yIndex >= nY)
+			throw new IllegalArgumentException("The pixel is out of the image");
+		return yIndex * nX + xIndex;
+	}
+
+	/**
+	 * The function writePixels writes a block of pixels (a row, a tile or the
+	 * whole image) into pixel color matrix at once
+	 * 
+	 * @param xIndex X axis index of the upper left pixel of the block
+	 * @param yIndex Y axis index of the upper left pixel of the block
+	 * @param width  amount of pixels in a row of the block
+	 * @param height amount of rows in the block
+	 * @param rgb    packed RGB values (see {@link Color#getRGB()}) of the block,
+	 *               row by row
+	 */
+	public void writePixels(int xIndex, int yIndex, int width, int height, int[] rgb) {
+		if (xIndex < 0 || yIndex < 0 || xIndex + width > nX || yIndex + height > nY)
+			throw new IllegalArgumentException("The block of pixels is out of the image");
+		if (rgb.length < width * height)
+			throw new IllegalArgumentException("Not enough pixel values for the block");
+		for (int row = 0; row < height; ++row)
+			System.arraycopy(rgb, row * width, pixels, (yIndex + row) * nX + xIndex, width);
 	}
 
 }
@@ -0,0 +1,21 @@
+package renderer;
+
+/**
+ * The PassListener interface is called by a camera after every pass of a rendering - the passes of the preview
+ * rendering, from the coarsest to the full resolution, or the passes of the progressive sampling.
+ * A rendering without passes is a single pass.
+ * The image writer of the camera has the image of the pass when the listener is called, so the listener can write
+ * or show it.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+@FunctionalInterface
+public interface PassListener {
+
+    /**
+     * Called in the rendering thread when a pass is done.
+     *
+     * @param pass the number of the pass, from 1
+     */
+    void passDone(int pass);
+}
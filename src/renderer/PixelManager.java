@@ -1,5 +1,7 @@
 package renderer;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /** PixelManager is a helper class. It is used for multi-threading in the
  * renderer and
  * for follow up its progress.<br/>
@@ -23,23 +25,21 @@ class PixelManager {
     private volatile int        cRow          = 0;
     /** Currently processed column of pixels */
     private volatile int        cCol          = -1;
-    /** Amount of pixels that have been processed */
-    private volatile long       pixels        = 0l;
-    /** Last printed progress update percentage */
-    private volatile int        lastPrinted   = 0;
+    /** Amount of pixels that have been processed - a striped counter, so the
+     * threads do not contend on a single variable or monitor */
+    private final LongAdder     pixels        = new LongAdder();
+    /** The time the rendering started (in nanoseconds) */
+    private final long          startTime     = System.nanoTime();
 
-    /** Flag of debug printing of progress percentage */
-    private boolean             print         = false;
-    /** Progress percentage printing interval */
-    private long                printInterval = 100l;
-    /** Printing format */
-    private static final String PRINT_FORMAT  = "%5.1f%%\r";
+    /** Progress printing interval in milliseconds */
+    private long                printInterval = 1000l;
+    /** The thread printing the progress, null if printing is not required */
+    private Thread              reporter      = null;
+    /** Printing format - percentage, speed and estimated remaining time */
+    private static final String PRINT_FORMAT  = "%5.1f%% %,12.0f pixels/sec ETA %,6.1fs\r";
     /** Mutual exclusion object for synchronizing next pixel allocation between
      * threads */
     private Object              mutexNext     = new Object();
-    /** Mutual exclusion object for printing progress percentage in console window
-     * by different threads */
-    private Object              mutexPixels   = new Object();
 
     /** Initialize pixel manager data for multi-threading
      * @param maxRows  the amount of pixel rows
@@ -50,8 +50,13 @@ class PixelManager {
         this.maxRows  = maxRows;
         this.maxCols  = maxCols;
         totalPixels   = (long) maxRows * maxCols;
-        printInterval = (int) (interval * 10);
-        if (print = printInterval != 0) System.out.printf(PRINT_FORMAT, 0d);
+        printInterval = (long) (interval * 1000);
+        if (printInterval > 0) {
+            // the console is written by a separate thread, so the rendering threads never wait for it
+            reporter = new Thread(this::report, "render-progress");
+            reporter.setDaemon(true);
+            reporter.start();
+        }
     }
 
     /** Function for thread-safe manipulating of main follow up Pixel object - this
@@ -75,20 +80,53 @@ class PixelManager {
         return null;
     }
 
-    /** Finish pixel processing by updating and printing of progress percentage */
+    /** Finish pixel processing by updating the progress counter */
     void pixelDone() {
-        boolean flag       = false;
-        int     percentage = 0;
-        synchronized (mutexPixels) {
-            ++pixels;
-            if (print) {
-                percentage = (int) (1000l * pixels / totalPixels);
-                if (percentage - lastPrinted >= printInterval) {
-                    lastPrinted = percentage;
-                    flag        = true;
-                }
+        pixels.increment();
+    }
+
+    /** Finish processing of several pixels (e.g. a whole tile) by updating the
+     * progress counter
+     * @param count the amount of the pixels that have been processed */
+    void pixelsDone(int count) {
+        pixels.add(count);
+    }
+
+    /** Stop the progress reporter and print the final progress */
+    void finish() {
+        if (reporter == null) return;
+        reporter.interrupt();
+        try {
+            reporter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        print();
+        System.out.println();
+        reporter = null;
+    }
+
+    /** The loop of the reporter thread - aggregate the counter and print the
+     * progress every interval until the reporter is stopped */
+    private void report() {
+        print();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(printInterval);
+            } catch (InterruptedException e) {
+                return;
             }
-            if (flag) System.out.printf(PRINT_FORMAT, percentage / 10d);
+            print();
         }
     }
-}
\ No newline at end of file
+
+    /** Print the progress percentage, the rendering speed and the estimated time
+     * until the end of the rendering */
+    private void print() {
+        long   done    = pixels.sum();
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        double speed   = seconds == 0 ? 0 : done / seconds;
+        double eta     = speed == 0 ? 0 : (totalPixels - done) / speed;
+        System.out.printf(PRINT_FORMAT, 100d * done / totalPixels, speed, eta);
+    }
+}
@@ -6,6 +6,7 @@ package renderer;
 
 import primitives.Color;
 import primitives.Ray;
+import scene.CompiledScene;
 import scene.Scene;
 
 import java.util.List;
@@ -15,11 +16,20 @@ public abstract class RayTracerBase {
 
      The scene represents the scene object containing the geometries, lights, and camera.
      It provides the necessary information for ray tracing calculations.
+     It is null if the ray tracer was constructed with a compiled scene.
      */
     protected Scene scene;
 
+    /**
+     * The compiled scene the rays are traced against - the given compiled scene, or the last compilation
+     * of the scene
+     */
+    private volatile CompiledScene compiled;
+
     /**
      * Constructs a RayTracerBase object with the specified scene.
+     * The scene is compiled when a rendering of a camera starts, so the changes of the scene between renderings
+     * are seen. A caller which traces rays directly calls {@link #prepare(boolean)} to see the changes.
      *
      * @param scene the scene to be rendered
      */
@@ -27,6 +37,43 @@ public abstract class RayTracerBase {
         this.scene = scene;
     }
 
+    /**
+     * Constructs a RayTracerBase object with a compiled scene, which is shared as is by all the renderings.
+     *
+     * @param compiled the compiled scene to be rendered
+     */
+    public RayTracerBase(CompiledScene compiled) {
+        if (compiled == null)
+            throw new IllegalArgumentException("ERROR missing compiled scene");
+        this.compiled = compiled;
+    }
+
+    /**
+     * Returns the compiled scene the rays are traced against. A scene which was not compiled yet
+     * is compiled now, and the compilation is kept until the next {@link #prepare(boolean)}.
+     *
+     * @return the compiled scene
+     */
+    protected CompiledScene compiled() {
+        CompiledScene result = compiled;
+        if (result == null)
+            compiled = result = scene.compile(false);
+        return result;
+    }
+
+    /**
+     * Compiles the scene before a rendering, so the rendering sees all the changes of the scene.
+     * The camera and the animation call it when they start to render. A caller which traces rays directly
+     * must call it after changing the scene, otherwise the rays are traced against the scene as it was
+     * when the first ray was traced. A ray tracer of a compiled scene keeps it.
+     *
+     * @param hierarchy true to arrange the geometries in a bounding volume hierarchy
+     */
+    public void prepare(boolean hierarchy) {
+        if (scene != null)
+            compiled = scene.compile(hierarchy);
+    }
+
     /**
      * Traces a ray and calculates the color of the intersections in the scene.
      *
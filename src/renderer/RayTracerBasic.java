@@ -2,8 +2,11 @@ package renderer;
 
 import lighting.LightSource;
 import primitives.*;
+import scene.CompiledScene;
+import scene.CompiledScene.MaterialConstants;
 import scene.Scene;
 import geometries.Intersectable.GeoPoint;
+import primitives.RenderStatistics.Counter;
 
 
 import java.util.List;
@@ -24,17 +27,17 @@ public class RayTracerBasic extends RayTracerBase {
     /**
      * The maximum level of color calculation recursion.
      */
-    private static final int MAX_CALC_COLOR_LEVEL = 10;
+    protected static final int MAX_CALC_COLOR_LEVEL = 10;
 
     /**
      * The minimum value of the reflection/refraction coefficient for color calculation termination.
      */
-    private static final double MIN_CALC_COLOR_K = 0.001;
+    protected static final double MIN_CALC_COLOR_K = 0.001;
 
     /**
      * The initial reflection/refraction coefficient for color calculation.
      */
-    private static final Double3 INITIAL_K = Double3.ONE;
+    protected static final Double3 INITIAL_K = Double3.ONE;
 
 
     /**
@@ -46,6 +49,15 @@ public class RayTracerBasic extends RayTracerBase {
         super(scene);
     }
 
+    /**
+     * Constructs a RayTracerBasic object with a compiled scene.
+     *
+     * @param compiled the compiled scene to be rendered
+     */
+    public RayTracerBasic(CompiledScene compiled) {
+        super(compiled);
+    }
+
     /**
      * Traces a ray and calculates the color of the closest intersection point on objects in the scene.
      *
@@ -55,7 +67,7 @@ public class RayTracerBasic extends RayTracerBase {
     @Override
     public Color traceRay(Ray ray) {
         GeoPoint closestPoint = findClosestIntersection(ray);
-        return closestPoint == null ? scene.background
+        return closestPoint == null ? compiled().getBackground()
                 : calcColor(closestPoint, ray);
     }
 
@@ -100,7 +112,8 @@ public class RayTracerBasic extends RayTracerBase {
      * @return the calculated color at the intersection point
      */
     private Color calcColor(GeoPoint geopoint, Ray ray) {
-        return calcColor(findClosestIntersection(ray), ray, MAX_CALC_COLOR_LEVEL, INITIAL_K).add(scene.ambientLight.getIntensity());
+        // the closest point was already found by the caller, it is not searched again
+        return calcColor(geopoint, ray, MAX_CALC_COLOR_LEVEL, INITIAL_K).add(compiled().getAmbientIntensity());
     }
 
 
@@ -109,18 +122,21 @@ public class RayTracerBasic extends RayTracerBase {
      *
      * @param gp  the intersection point and associated geometry
      * @param ray the ray that intersects with the geometry
+     * @param k   the reflection/refraction coefficient of the path to the point
      * @return the color resulting from the local effects
      */
-    private Color calcLocalEffects(GeoPoint gp, Ray ray, Double3 k) {
+    protected Color calcLocalEffects(GeoPoint gp, Ray ray, Double3 k) {
         Vector v = ray.getDirection();
-        Vector n = gp.geometry.getNormal(gp.point);
+        Vector n = gp.getNormal();
         Color color = gp.geometry.getEmission();
         double nv = alignZero(n.dotProduct(v));
         //there is no effect on the color
         if (nv == 0)
             return color;
-        Material material = gp.geometry.getMaterial();
-        for (LightSource lightSource : scene.lights) {
+        CompiledScene compiled = compiled();
+        MaterialConstants material = compiled.getConstants(gp.material);
+        for (int i = 0; i < compiled.getLightCount(); i++) {
+            LightSource lightSource = compiled.getLight(i);
             Vector l = lightSource.getL(gp.point);
             double nl = alignZero(n.dotProduct(l));
             // check if sign(nl) == sign(nv)
@@ -129,7 +145,8 @@ public class RayTracerBasic extends RayTracerBase {
                 Double3 ktr = transparency(gp, lightSource, l, n);
                 if (!ktr.product(k).lowerThan(MIN_CALC_COLOR_K)) {
                     Color iL = lightSource.getIntensity(gp.point).scale(ktr);
-                    color = color.add(iL.scale(calcDiffuse(material, nl)), iL.scale(calcSpecular(material, n, l, nl, v)));
+                    color = color.add(iL.scale(calcDiffuse(material, nl)),
+                            iL.scale(material.specular() ? calcSpecular(material, n, l, nl, v) : Double3.ZERO));
                 }
             }
         }
@@ -139,33 +156,33 @@ public class RayTracerBasic extends RayTracerBase {
     /**
      * Calculates the specular reflection for a given material, normal, light direction, and view direction.
      *
-     * @param material the material properties
+     * @param material the constants of the material
      * @param n        the surface normal
      * @param l        the light direction
      * @param nl       the dot product of the normal and light direction
      * @param v        the view direction
      * @return the specular reflection color
      */
-    private Double3 calcSpecular(Material material, Vector n, Vector l, double nl, Vector v) {
+    private Double3 calcSpecular(MaterialConstants material, Vector n, Vector l, double nl, Vector v) {
         Vector r = l.subtract(n.scale(2 * nl));
         double max = -r.dotProduct(v);
         if (alignZero(max) > 0)
-            return material.kS.scale(Math.pow(max, material.nShininess));
+            return material.kS().scale(Math.pow(max, material.nShininess()));
         return Double3.ZERO;
     }
 
     /**
      * Calculates the diffuse reflection for a given material and dot product of the normal and light direction.
      *
-     * @param material the material properties
+     * @param material the constants of the material
      * @param nl       the dot product of the normal and light direction
      * @return the diffuse reflection color
      */
-    private Double3 calcDiffuse(Material material, double nl) {
+    private Double3 calcDiffuse(MaterialConstants material, double nl) {
         //return the positive nl value
         if (nl < 0)
-            return material.kD.scale(-nl);
-        return material.kD.scale(nl);
+            return material.kD().scale(-nl);
+        return material.kD().scale(nl);
     }
 
     /**
@@ -179,12 +196,17 @@ public class RayTracerBasic extends RayTracerBase {
      * @return the calculated color from global effects
      */
     private Color calcGlobalEffects(GeoPoint gp, Ray ray, int level, Double3 k) {
-        Color color = Color.BLACK;
         Vector v = ray.getDirection();
-        Vector n = gp.geometry.getNormal(gp.point);
-        Material material = gp.geometry.getMaterial();
-        return calcGlobalEffect(constructReflectedRay(gp.point, v, n), level, k, material.kR)
-                .add(calcGlobalEffect(constructRefractedRay(gp.point, v, n), level, k, material.kT));
+        Vector n = gp.getNormal();
+        MaterialConstants material = compiled().getConstants(gp.material);
+        // the rays of a material which does not reflect or refract are not constructed at all
+        Color reflected = material.reflective()
+                ? calcGlobalEffect(constructReflectedRay(gp.point, v, n), level, k, material.kR(), Counter.REFLECTED_RAYS)
+                : Color.BLACK;
+        return material.transparent()
+                ? reflected.add(calcGlobalEffect(constructRefractedRay(gp.point, v, n), level, k, material.kT(),
+                Counter.REFRACTED_RAYS))
+                : reflected;
     }
 
     /**
@@ -195,18 +217,20 @@ public class RayTracerBasic extends RayTracerBase {
      * @param level the current recursion level
      * @param k     the reflection/refraction coefficient
      * @param kx    the reflection/refraction color coefficient
+     * @param kind  the statistics counter of the ray (reflected or refracted rays)
      * @return the calculated color from the global effect
      */
-    private Color calcGlobalEffect(Ray ray, int level, Double3 k, Double3 kx) {
+    private Color calcGlobalEffect(Ray ray, int level, Double3 k, Double3 kx, Counter kind) {
         Double3 kkx = k.product(kx);
         if (kkx.lowerThan(MIN_CALC_COLOR_K)) {
             return Color.BLACK;
         }
+        RenderStatistics.count(kind);
         GeoPoint gp = findClosestIntersection(ray);
         if (gp == null) {
-            return scene.background.scale(kx);
+            return compiled().getBackground().scale(kx);
         }
-        if (isZero(gp.geometry.getNormal(gp.point).dotProduct(ray.getDirection()))) {
+        if (isZero(gp.getNormal().dotProduct(ray.getDirection()))) {
             return Color.BLACK;
         }
         return calcColor(gp, ray, level - 1, kkx).scale(kx);
@@ -220,7 +244,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @param n        the surface normal
      * @return the constructed refracted ray
      */
-    private Ray constructRefractedRay(Point geoPoint, Vector v, Vector n) {
+    protected Ray constructRefractedRay(Point geoPoint, Vector v, Vector n) {
         return new Ray(geoPoint, n, v);
     }
 
@@ -232,7 +256,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @param n        the surface normal
      * @return the constructed reflected ray
      */
-    private Ray constructReflectedRay(Point geoPoint, Vector v, Vector n) {
+    protected Ray constructReflectedRay(Point geoPoint, Vector v, Vector n) {
         // The formula is: r = v - 2 * (v.n) * n
         double vn = v.dotProduct(n);
 
@@ -245,23 +269,6 @@ public class RayTracerBasic extends RayTracerBase {
     }
 
 
-    /**
-     * Checks if a given point on a geometry surface is unshaded by a specific light source.
-     *
-     * @param gp          the intersection point and associated geometry
-     * @param lightSource the light source being checked
-     * @param l           the direction from the intersection point to the light source
-     * @param n           the surface normal at the intersection point
-     * @return true if the point is unshaded by the light source, false otherwise
-     */
-    private boolean unshaded(GeoPoint gp, LightSource lightSource, Vector l, Vector n) {
-        Vector lightDirection = l.scale(-1d); // from point to light source
-        Ray lightRay = new Ray(gp.point, lightDirection, n);
-        double maxDistance = lightSource.getDistance(gp.point);
-        List<GeoPoint> intersections = scene.geometries.findGeoIntersections(lightRay, maxDistance);
-        return intersections == null;
-    }
-
     /**
      * Calculates the transparency coefficient (kTr) for a given intersection point and light source.
      * Determines the transparency of the material along the path from the intersection point to the light source.
@@ -276,23 +283,14 @@ public class RayTracerBasic extends RayTracerBase {
         Vector lightDirection = l.scale(-1d); // from point to light source
         Ray lightRay = new Ray(geoPoint.point, n, lightDirection);
         double maxDistance = lightSource.getDistance(geoPoint.point);
-        List<GeoPoint> intersections = scene.getGeometries().findGeoIntersections(lightRay, maxDistance);
+        RenderStatistics.count(Counter.SHADOW_RAYS);
 
-        if (intersections == null) {
-            return Double3.ONE;
-        }
+        // The occlusion query multiplies kT of every geometry which is closer to the point than the light source,
+        // and stops at the first opaque geometry without collecting all the intersections.
+        Double3 ktr = compiled().getGeometries().findTransparency(lightRay, maxDistance);
 
-        Double3 ktr = Double3.ONE;
-        // Scan all geoPoint intersections and for every intersection which is closer to the point than the light source,
-        // multiply ktr by kT of its geometry.
         // Performance: if ktr < MIN_CALC_COLOR_K, it means that we are close to zero, and we return Double3.ZERO.
-        for (GeoPoint gpIntersection : intersections) {
-            ktr = ktr.product(gpIntersection.geometry.getMaterial().kT);
-            if (ktr.lowerThan(MIN_CALC_COLOR_K)) {
-                return Double3.ZERO;
-            }
-        }
-        return ktr;
+        return ktr.lowerThan(MIN_CALC_COLOR_K) ? Double3.ZERO : ktr;
     }
 
 
@@ -302,16 +300,9 @@ public class RayTracerBasic extends RayTracerBase {
      * @param ray the ray to intersect with the scene's geometries
      * @return the closest intersection point as a GeoPoint object, or null if there are no intersections
      */
-    private GeoPoint findClosestIntersection(Ray ray) {
-        List<GeoPoint> geoPointIntersections = scene.getGeometries().findGeoIntersections(ray);
-
-        // If there are no intersections, return null
-        if (geoPointIntersections == null) {
-            return null;
-        }
-
-        // Return the closest intersection point using the ray's findClosestGeoPoint method
-        return ray.findClosestGeoPoint(geoPointIntersections);
+    protected GeoPoint findClosestIntersection(Ray ray) {
+        // The closest-hit query keeps only the nearest point while traversing the geometries
+        return compiled().getGeometries().findClosestGeoIntersection(ray);
     }
 
 
@@ -0,0 +1,205 @@
+package renderer;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.*;
+import primitives.RenderStatistics.Counter;
+import scene.CompiledScene;
+import scene.CompiledScene.MaterialConstants;
+import scene.Scene;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static primitives.Util.isZero;
+
+/**
+ * RayTracerIterative is an alternative to the recursive reflection and refraction of {@link RayTracerBasic}.
+ * The reflected and refracted rays are kept in an explicit work stack instead of the call stack,
+ * and a path is terminated probabilistically (Russian roulette): after a few deterministic bounces,
+ * a secondary ray survives with the probability of its reflection/refraction coefficient (kR or kT),
+ * and the color of a surviving ray is divided by that probability, so the average color is kept.
+ * The total amount of secondary rays traced for a pixel can be limited as well.
+ * The local effects (lights, shadows and emission) are calculated like in {@link RayTracerBasic}.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class RayTracerIterative extends RayTracerBasic {
+
+    /**
+     * The amount of bounces which are always traced before the Russian roulette starts
+     */
+    private int rouletteDepth = 2;
+
+    /**
+     * The maximal amount of secondary rays traced for a single camera ray
+     */
+    private int maxSecondaryRays = Integer.MAX_VALUE;
+
+    /**
+     * A ray waiting in the work stack
+     *
+     * @param ray    the ray to trace
+     * @param k      the reflection/refraction coefficient of the path to the ray (for stopping weak paths)
+     * @param weight the factor of the color of the ray in the pixel color, including the roulette compensation
+     * @param level  the remaining recursion levels, like the level of {@link RayTracerBasic}
+     * @param kind   the statistics counter of the ray (reflected or refracted rays)
+     */
+    private record Segment(Ray ray, Double3 k, Double3 weight, int level, Counter kind) {
+    }
+
+    /**
+     * Constructs an iterative ray tracer with the specified scene.
+     *
+     * @param scene the scene to be rendered
+     */
+    public RayTracerIterative(Scene scene) {
+        super(scene);
+    }
+
+    /**
+     * Constructs an iterative ray tracer with a compiled scene.
+     *
+     * @param compiled the compiled scene to be rendered
+     */
+    public RayTracerIterative(CompiledScene compiled) {
+        super(compiled);
+    }
+
+    /**
+     * Sets the amount of bounces which are always traced before the Russian roulette starts.
+     *
+     * @param rouletteDepth the amount of deterministic bounces, 0 for the roulette on the first bounce
+     * @return the ray tracer itself
+     */
+    public RayTracerIterative setRouletteDepth(int rouletteDepth) {
+        if (rouletteDepth < 0)
+            throw new IllegalArgumentException("Roulette depth must not be negative");
+        this.rouletteDepth = rouletteDepth;
+        return this;
+    }
+
+    /**
+     * Limits the amount of secondary (reflected and refracted) rays traced for a pixel.
+     * When {@link #traceRays(List)} traces several rays of a pixel, they share the limit.
+     *
+     * @param maxSecondaryRays the maximal amount of secondary rays, 0 for the local effects only
+     * @return the ray tracer itself
+     */
+    public RayTracerIterative setMaxSecondaryRays(int maxSecondaryRays) {
+        if (maxSecondaryRays < 0)
+            throw new IllegalArgumentException("Amount of secondary rays must not be negative");
+        this.maxSecondaryRays = maxSecondaryRays;
+        return this;
+    }
+
+    @Override
+    public Color traceRay(Ray ray) {
+        return traceRay(ray, maxSecondaryRays);
+    }
+
+    @Override
+    public Color traceRays(List<Ray> rays) {
+        // the rays of the pixel share the secondary rays limit - the first rays get the remainder of the split
+        int n = rays.size();
+        int share = maxSecondaryRays == Integer.MAX_VALUE ? maxSecondaryRays : maxSecondaryRays / n;
+        int remainder = maxSecondaryRays == Integer.MAX_VALUE ? 0 : maxSecondaryRays % n;
+        Color sumColor = Color.BLACK;
+        int i = 0;
+        for (Ray ray : rays)
+            sumColor = sumColor.add(traceRay(ray, i++ < remainder ? share + 1 : share));
+        return sumColor.reduce(n);
+    }
+
+    /**
+     * Traces a camera ray and all its secondary rays with the work stack.
+     *
+     * @param ray    the camera ray
+     * @param budget the maximal amount of secondary rays
+     * @return the color of the ray
+     */
+    private Color traceRay(Ray ray, int budget) {
+        GeoPoint closestPoint = findClosestIntersection(ray);
+        if (closestPoint == null)
+            return compiled().getBackground();
+
+        Deque<Segment> stack = new ArrayDeque<>();
+        Color color = shade(closestPoint, ray, INITIAL_K, INITIAL_K, MAX_CALC_COLOR_LEVEL, stack)
+                .add(compiled().getAmbientIntensity());
+        while (!stack.isEmpty() && budget-- > 0) {
+            Segment segment = stack.pop();
+            RenderStatistics.count(segment.kind());
+            GeoPoint gp = findClosestIntersection(segment.ray());
+            if (gp == null)
+                color = color.add(compiled().getBackground().scale(segment.weight()));
+            else if (!isZero(gp.getNormal().dotProduct(segment.ray().getDirection())))
+                color = color.add(shade(gp, segment.ray(), segment.k(), segment.weight(), segment.level(), stack));
+        }
+        return color;
+    }
+
+    /**
+     * Calculates the local effects at a point, and pushes its reflected and refracted rays into the stack.
+     *
+     * @param gp     the intersection point
+     * @param ray    the ray which hit the point
+     * @param k      the reflection/refraction coefficient of the path to the point
+     * @param weight the factor of the color of the point in the pixel color
+     * @param level  the remaining recursion levels
+     * @param stack  the work stack
+     * @return the weighted local color of the point
+     */
+    private Color shade(GeoPoint gp, Ray ray, Double3 k, Double3 weight, int level, Deque<Segment> stack) {
+        Color color = calcLocalEffects(gp, ray, k).scale(weight);
+        if (level == 1)
+            return color;
+
+        Vector v = ray.getDirection();
+        Vector n = gp.getNormal();
+        MaterialConstants material = compiled().getConstants(gp.material);
+        int depth = MAX_CALC_COLOR_LEVEL - level;
+        // the rays of a material which does not reflect or refract are not constructed at all
+        Segment reflected = !material.reflective() ? null
+                : branch(constructReflectedRay(gp.point, v, n), k, weight, level, material.kR(), depth,
+                Counter.REFLECTED_RAYS);
+        Segment refracted = !material.transparent() ? null
+                : branch(constructRefractedRay(gp.point, v, n), k, weight, level, material.kT(), depth,
+                Counter.REFRACTED_RAYS);
+        // the stronger ray is pushed last, so it is traced first when the amount of rays is limited
+        if (reflected != null && refracted != null && reflected.weight().max() > refracted.weight().max()) {
+            stack.push(refracted);
+            stack.push(reflected);
+        } else {
+            if (reflected != null) stack.push(reflected);
+            if (refracted != null) stack.push(refracted);
+        }
+        return color;
+    }
+
+    /**
+     * Decides whether a secondary ray is traced, and with which weight.
+     *
+     * @param ray    the secondary ray, null if there is no such ray
+     * @param k      the reflection/refraction coefficient of the path to the parent point
+     * @param weight the factor of the color of the parent point
+     * @param level  the remaining recursion levels of the parent point
+     * @param kx     the reflection or refraction coefficient of the parent material
+     * @param depth  the amount of bounces before the parent point
+     * @param kind   the statistics counter of the ray
+     * @return the segment to trace, or null if the path is terminated
+     */
+    private Segment branch(Ray ray, Double3 k, Double3 weight, int level, Double3 kx, int depth, Counter kind) {
+        Double3 kkx = k.product(kx);
+        if (ray == null || kkx.lowerThan(MIN_CALC_COLOR_K))
+            return null;
+        Double3 segmentWeight = weight.product(kx);
+        if (depth >= rouletteDepth) {
+            double survival = Math.min(1, kx.max());
+            if (ThreadLocalRandom.current().nextDouble() >= survival)
+                return null;
+            segmentWeight = segmentWeight.scale(1 / survival);
+        }
+        return new Segment(ray, kkx, segmentWeight, level - 1, kind);
+    }
+}
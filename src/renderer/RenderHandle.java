@@ -0,0 +1,187 @@
+package renderer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RenderHandle is a rendering of a camera which is running or done - it can be waited for, cancelled, and it
+ * stops by itself at the deadline of the camera.
+ * A stopped rendering leaves the image as far as it got: the tiles which were not rendered are black, and with
+ * the progressive sampling the pixels keep the samples of the passes which were done, so the image of a
+ * rendering stopped after the first pass is a complete low-sample image.
+ * The rendering threads check the handle between the rows of pixels and between the passes.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class RenderHandle {
+
+    /**
+     * The camera which renders
+     */
+    private final Camera camera;
+
+    /**
+     * The time the rendering started, in nanoseconds
+     */
+    private final long start = System.nanoTime();
+
+    /**
+     * The time from the start after which the rendering stops, in nanoseconds
+     */
+    private final long deadline;
+
+    /**
+     * Counted down when the rendering is done
+     */
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    /**
+     * Whether the rendering was cancelled
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Whether some of the rendering was skipped because it was stopped
+     */
+    private volatile boolean partial = false;
+
+    /**
+     * The exception or error the rendering failed with, null if it did not fail
+     */
+    private volatile Throwable failure = null;
+
+    /**
+     * Constructs the handle of a rendering which starts now.
+     *
+     * @param camera   the camera which renders
+     * @param deadline the time from the start after which the rendering stops, in nanoseconds
+     */
+    RenderHandle(Camera camera, long deadline) {
+        this.camera = camera;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the rendering - the rendering threads stop at their next check, and the image is left as far as
+     * it got. Cancelling a rendering which is done does nothing.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the rendering was cancelled.
+     *
+     * @return true if {@link #cancel()} was called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the deadline of the rendering passed.
+     *
+     * @return true if the deadline passed
+     */
+    public boolean isExpired() {
+        return System.nanoTime() - start >= deadline;
+    }
+
+    /**
+     * Checks whether the rendering is done - finished, stopped or failed.
+     *
+     * @return true if the rendering is done
+     */
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    /**
+     * Checks whether some of the rendering was skipped because it was cancelled or expired, so the image is
+     * partial or has fewer samples.
+     *
+     * @return true if the image is not the full rendering
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Waits until the rendering is done.
+     *
+     * @return the camera, for writing the image
+     * @throws IllegalStateException if the waiting thread was interrupted, or wrapping a checked exception the
+     *                               rendering failed with
+     * @throws RuntimeException      the exception the rendering failed with
+     * @throws Error                 the error the rendering failed with
+     */
+    public Camera await() {
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for the rendering was interrupted", e);
+        }
+        rethrowFailure();
+        return camera;
+    }
+
+    /**
+     * Waits until the rendering is done, or the timeout passes.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if the rendering is done
+     * @throws IllegalStateException if the waiting thread was interrupted, or wrapping a checked exception the
+     *                               rendering failed with
+     * @throws RuntimeException      the exception the rendering failed with
+     * @throws Error                 the error the rendering failed with
+     */
+    public boolean await(long timeout, TimeUnit unit) {
+        try {
+            if (!done.await(timeout, unit))
+                return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Waiting for the rendering was interrupted", e);
+        }
+        rethrowFailure();
+        return true;
+    }
+
+    /**
+     * Throws the failure of the rendering to the waiting thread, if it failed.
+     */
+    private void rethrowFailure() {
+        if (failure instanceof RuntimeException e)
+            throw e;
+        if (failure instanceof Error e)
+            throw e;
+        if (failure != null)
+            throw new IllegalStateException("The rendering failed", failure);
+    }
+
+    /**
+     * Checks whether the rendering must stop, because it was cancelled or its deadline passed.
+     * A rendering thread which gets true skips the rest of its work, so the image becomes partial.
+     *
+     * @return true if the rendering must stop
+     */
+    boolean shouldStop() {
+        if (cancelled || isExpired()) {
+            partial = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks the rendering as done.
+     *
+     * @param failure the exception or error the rendering failed with, null if it did not fail
+     */
+    void finish(Throwable failure) {
+        this.failure = failure;
+        done.countDown();
+    }
+}
@@ -0,0 +1,155 @@
+package renderer;
+
+import primitives.Color;
+
+/**
+ * SampleAccumulator keeps the running statistics of the samples of every pixel of an image for the
+ * progressive sampling: the amount of samples, their mean color, and the variance of their luminance
+ * (by the Welford algorithm, which updates the mean and the variance with every new sample without
+ * keeping the samples).
+ * A pixel must be updated by a single thread at a time.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class SampleAccumulator {
+
+    /**
+     * The weights of the red, green and blue components in the luminance of a color
+     */
+    private static final double RED_WEIGHT = 0.2126, GREEN_WEIGHT = 0.7152, BLUE_WEIGHT = 0.0722;
+
+    /**
+     * The amount of pixel columns
+     */
+    private final int nX;
+
+    /**
+     * The amount of pixel rows
+     */
+    private final int nY;
+
+    /**
+     * The amount of samples of every pixel
+     */
+    private final int[] counts;
+
+    /**
+     * The mean red, green and blue components of the samples of every pixel (3 values per pixel)
+     */
+    private final double[] means;
+
+    /**
+     * The mean luminance of the samples of every pixel
+     */
+    private final double[] luminanceMeans;
+
+    /**
+     * The sum of the squared differences of the luminance of the samples from their mean, for every pixel
+     */
+    private final double[] squares;
+
+    /**
+     * Constructs the statistics of an image without samples.
+     *
+     * @param nX the amount of pixel columns
+     * @param nY the amount of pixel rows
+     */
+    SampleAccumulator(int nX, int nY) {
+        this.nX = nX;
+        this.nY = nY;
+        counts = new int[nX * nY];
+        means = new double[3 * nX * nY];
+        luminanceMeans = new double[nX * nY];
+        squares = new double[nX * nY];
+    }
+
+    /**
+     * Adds a sample of a pixel.
+     *
+     * @param x     the column of the pixel
+     * @param y     the row of the pixel
+     * @param color the color of the sample
+     */
+    void add(int x, int y, Color color) {
+        int pixel = y * nX + x;
+        int count = ++counts[pixel];
+        means[3 * pixel] += (color.getRed() - means[3 * pixel]) / count;
+        means[3 * pixel + 1] += (color.getGreen() - means[3 * pixel + 1]) / count;
+        means[3 * pixel + 2] += (color.getBlue() - means[3 * pixel + 2]) / count;
+        double luminance = luminance(color.getRed(), color.getGreen(), color.getBlue());
+        double delta = luminance - luminanceMeans[pixel];
+        luminanceMeans[pixel] += delta / count;
+        squares[pixel] += delta * (luminance - luminanceMeans[pixel]);
+    }
+
+    /**
+     * Returns the amount of samples of a pixel.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the amount of samples
+     */
+    int count(int x, int y) {
+        return counts[y * nX + x];
+    }
+
+    /**
+     * Returns the mean color of the samples of a pixel.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the mean color, black if the pixel has no samples
+     */
+    Color mean(int x, int y) {
+        int pixel = y * nX + x;
+        return counts[pixel] == 0 ? Color.BLACK
+                : new Color(means[3 * pixel], means[3 * pixel + 1], means[3 * pixel + 2]);
+    }
+
+    /**
+     * Returns the estimated noise of a pixel - the standard error of the mean luminance of its samples.
+     * A pixel with a single sample has no estimate of its own, so the difference of its luminance from
+     * the luminance of its neighbours is used instead - a pixel on an edge is noisy.
+     *
+     * @param x the column of the pixel
+     * @param y the row of the pixel
+     * @return the noise estimate, in color units, infinite if the pixel has no samples
+     */
+    double noise(int x, int y) {
+        int pixel = y * nX + x;
+        int count = counts[pixel];
+        if (count == 0)
+            return Double.POSITIVE_INFINITY;
+        if (count > 1)
+            return Math.sqrt(squares[pixel] / (count - 1) / count);
+        double luminance = luminanceMeans[pixel], contrast = 0;
+        if (x > 0) contrast = Math.max(contrast, contrastTo(luminance, pixel - 1));
+        if (x < nX - 1) contrast = Math.max(contrast, contrastTo(luminance, pixel + 1));
+        if (y > 0) contrast = Math.max(contrast, contrastTo(luminance, pixel - nX));
+        if (y < nY - 1) contrast = Math.max(contrast, contrastTo(luminance, pixel + nX));
+        return contrast;
+    }
+
+    /**
+     * The difference of a luminance from the luminance of a neighbouring pixel
+     *
+     * @param luminance the luminance
+     * @param neighbour the index of the neighbour
+     * @return the absolute difference, 0 if the neighbour has no samples
+     */
+    private double contrastTo(double luminance, int neighbour) {
+        return counts[neighbour] == 0 ? 0 : Math.abs(luminance - luminanceMeans[neighbour]);
+    }
+
+    /**
+     * The luminance of a color
+     *
+     * @param red   the red component
+     * @param green the green component
+     * @param blue  the blue component
+     * @return the luminance
+     */
+    private static double luminance(double red, double green, double blue) {
+        return RED_WEIGHT * red + GREEN_WEIGHT * green + BLUE_WEIGHT * blue;
+    }
+}
@@ -0,0 +1,140 @@
+package renderer;
+
+import primitives.Color;
+
+import java.util.Arrays;
+
+/**
+ * SampleCache keeps the colors of the samples of the adaptive super sampling, so a sample which is
+ * shared by neighbouring pixels or squares is traced only once.
+ * The samples are on an integer sub-grid of the image, and the cache is keyed by the sub-grid
+ * coordinates packed in a long, in an open addressing hash table of primitive keys - there is no
+ * floating point equality of points and no boxing of the keys.
+ * A cache is used by a single thread.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class SampleCache {
+
+    /**
+     * The initial amount of slots of the table (a power of 2)
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The keys of the slots
+     */
+    private long[] keys;
+
+    /**
+     * The colors of the slots, null for an empty slot
+     */
+    private Color[] colors;
+
+    /**
+     * The amount of cached samples
+     */
+    private int size = 0;
+
+    /**
+     * Constructs an empty cache.
+     */
+    SampleCache() {
+        keys = new long[INITIAL_CAPACITY];
+        colors = new Color[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Packs the sub-grid coordinates of a sample into a key.
+     *
+     * @param x the column of the sample in the sub-grid
+     * @param y the row of the sample in the sub-grid
+     * @return the key of the sample
+     */
+    static long key(int x, int y) {
+        return (long) y << 32 | (x & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the color of a cached sample.
+     *
+     * @param key the key of the sample
+     * @return the color, or null if the sample is not cached
+     */
+    Color get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); colors[slot] != null; slot = (slot + 1) & mask)
+            if (keys[slot] == key)
+                return colors[slot];
+        return null;
+    }
+
+    /**
+     * Caches the color of a sample which is not cached yet.
+     *
+     * @param key   the key of the sample
+     * @param color the color of the sample
+     */
+    void put(long key, Color color) {
+        // the table is kept at most half full
+        if (2 * (size + 1) > keys.length)
+            grow();
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (colors[slot] != null)
+            slot = (slot + 1) & mask;
+        keys[slot] = key;
+        colors[slot] = color;
+        ++size;
+    }
+
+    /**
+     * Removes all the samples.
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(colors, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Returns the amount of cached samples.
+     *
+     * @return the amount of samples
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the amount of slots and moves the samples to their new slots
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        Color[] oldColors = colors;
+        keys = new long[2 * oldKeys.length];
+        colors = new Color[2 * oldColors.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i)
+            if (oldColors[i] != null) {
+                int slot = slot(oldKeys[i], mask);
+                while (colors[slot] != null)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                colors[slot] = oldColors[i];
+            }
+    }
+
+    /**
+     * The first slot of a key - the key is mixed, so neighbouring samples do not collide
+     *
+     * @param key  the key
+     * @param mask the amount of slots minus 1
+     * @return the slot
+     */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+}
@@ -0,0 +1,135 @@
+package renderer;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampler chooses the positions of the anti-aliasing sample rays inside a pixel.
+ * The pixel is divided into a grid of gridSize x gridSize cells with one sample in every cell
+ * (stratified sampling). The samples are either at the centers of the cells, or jittered randomly
+ * inside them.
+ * <p>
+ * The positions are offsets from the center of the pixel in pixel units (between -0.5 and 0.5),
+ * and are precomputed once in tables which are shared by all the pixels and threads. A jittered
+ * sampler keeps several tables, and every pixel takes one of them at random with the random
+ * generator of its thread, so no random numbers are generated for the samples themselves.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class Sampler {
+
+    /**
+     * The amount of precomputed tables of a jittered sampler
+     */
+    private static final int JITTER_TABLES = 64;
+
+    /**
+     * The width and height of the grid of samples in a pixel
+     */
+    private final int gridSize;
+
+    /**
+     * The precomputed tables - each of them holds the x and y offsets of all the samples of a pixel
+     */
+    private final double[][] tables;
+
+    /**
+     * Constructs a sampler with the given tables.
+     *
+     * @param gridSize the width and height of the grid of samples
+     * @param tables   the tables of the offsets
+     */
+    private Sampler(int gridSize, double[][] tables) {
+        this.gridSize = gridSize;
+        this.tables = tables;
+    }
+
+    /**
+     * Creates a sampler which takes the samples at the centers of the cells of the grid.
+     *
+     * @param gridSize the width and height of the grid of samples
+     * @return the sampler
+     */
+    public static Sampler stratified(int gridSize) {
+        checkGridSize(gridSize);
+        double[] table = new double[2 * gridSize * gridSize];
+        int index = 0;
+        for (int row = 0; row < gridSize; ++row)
+            for (int col = 0; col < gridSize; ++col) {
+                table[index++] = (col + 0.5) / gridSize - 0.5;
+                table[index++] = (row + 0.5) / gridSize - 0.5;
+            }
+        return new Sampler(gridSize, new double[][]{table});
+    }
+
+    /**
+     * Creates a sampler which takes every sample at a random position in its cell of the grid.
+     *
+     * @param gridSize the width and height of the grid of samples
+     * @return the sampler
+     */
+    public static Sampler jittered(int gridSize) {
+        return jittered(gridSize, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a sampler which takes every sample at a random position in its cell of the grid,
+     * with reproducible tables.
+     *
+     * @param gridSize the width and height of the grid of samples
+     * @param seed     the seed of the random positions in the tables
+     * @return the sampler
+     */
+    public static Sampler jittered(int gridSize, long seed) {
+        checkGridSize(gridSize);
+        SplittableRandom random = new SplittableRandom(seed);
+        double[][] tables = new double[JITTER_TABLES][2 * gridSize * gridSize];
+        for (double[] table : tables) {
+            int index = 0;
+            for (int row = 0; row < gridSize; ++row)
+                for (int col = 0; col < gridSize; ++col) {
+                    table[index++] = (col + random.nextDouble()) / gridSize - 0.5;
+                    table[index++] = (row + random.nextDouble()) / gridSize - 0.5;
+                }
+        }
+        return new Sampler(gridSize, tables);
+    }
+
+    /**
+     * Checks the size of a grid of samples
+     *
+     * @param gridSize the width and height of the grid
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    private static void checkGridSize(int gridSize) {
+        if (gridSize <= 0)
+            throw new IllegalArgumentException("Grid size of the sampler must be positive");
+    }
+
+    /**
+     * Returns the width and height of the grid of samples in a pixel.
+     *
+     * @return the grid size
+     */
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    /**
+     * Returns the amount of samples in a pixel.
+     *
+     * @return gridSize * gridSize
+     */
+    public int getSampleCount() {
+        return gridSize * gridSize;
+    }
+
+    /**
+     * Returns the offsets of the samples of the next pixel. The table is shared and must not be changed.
+     *
+     * @return the x and y offsets of every sample from the center of the pixel, in pixel units
+     */
+    public double[] nextOffsets() {
+        return tables.length == 1 ? tables[0] : tables[ThreadLocalRandom.current().nextInt(tables.length)];
+    }
+}
@@ -0,0 +1,124 @@
+package renderer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/** TileScheduler is a helper class for rendering the image in tiles.<br/>
+ * The image is split into square tiles which are put in a lock-free queue, and
+ * a dedicated pool of worker threads pull the tiles from the queue until it is
+ * empty. A worker renders a whole tile before taking the next one, so the rays
+ * of neighbouring pixels are traced together and the faster workers take more
+ * tiles.
+ * @author Omer Avidar and Elior Tkach */
+class TileScheduler {
+    /** Immutable class for object containing a tile of pixels (the column and
+     * row of its upper left pixel, and its size in pixels)
+     * @param col    the column of the upper left pixel of the tile
+     * @param row    the row of the upper left pixel of the tile
+     * @param width  the amount of pixel columns in the tile
+     * @param height the amount of pixel rows in the tile */
+    record Tile(int col, int row, int width, int height) {
+        /** The amount of pixels in the tile
+         * @return width * height */
+        int size() { return width * height; }
+    }
+
+    /** The tiles which are not rendered yet */
+    private final Queue<Tile> tiles = new ConcurrentLinkedQueue<>();
+
+    /** The first exception or error thrown by a worker, rethrown by the rendering thread */
+    private volatile Throwable failure = null;
+
+    /** Split the image into tiles
+     * @param nX       the amount of pixel columns
+     * @param nY       the amount of pixel rows
+     * @param tileSize the width and height of a tile in pixels (the tiles in the
+     *                 last row and column may be smaller) */
+    TileScheduler(int nX, int nY, int tileSize) {
+        if (tileSize <= 0) throw new IllegalArgumentException("Tile size must be positive");
+        for (int row = 0; row < nY; row += tileSize)
+            for (int col = 0; col < nX; col += tileSize)
+                tiles.add(new Tile(col, row, Math.min(tileSize, nX - col), Math.min(tileSize, nY - row)));
+    }
+
+    /** Render all the tiles with exactly threadCount worker threads, and wait
+     * until they are all done. With threadCount 0 the tiles are rendered by the
+     * calling thread.
+     * @param threadCount  the amount of worker threads
+     * @param tileRenderer the function rendering a single tile */
+    void render(int threadCount, Consumer<Tile> tileRenderer) {
+        if (threadCount <= 0) {
+            work(tileRenderer);
+            rethrowFailure();
+            return;
+        }
+
+        Thread[] workers = new Thread[threadCount];
+        for (int i = 0; i < threadCount; ++i) {
+            workers[i] = new Thread(() -> work(tileRenderer), "render-worker-" + i);
+            workers[i].start();
+        }
+        try {
+            for (Thread worker : workers) worker.join();
+        } catch (InterruptedException e) {
+            // stop the workers by emptying the queue
+            tiles.clear();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering was interrupted", e);
+        }
+        rethrowFailure();
+    }
+
+    /** Render all the tiles with exactly threadCount workers run by a shared
+     * thread pool, and wait until they are all done. Several renderings may
+     * share the pool at once - their workers never wait for each other.
+     * @param pool         the thread pool running the workers
+     * @param threadCount  the amount of workers
+     * @param tileRenderer the function rendering a single tile */
+    void render(Executor pool, int threadCount, Consumer<Tile> tileRenderer) {
+        CountDownLatch done = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; ++i)
+            pool.execute(() -> {
+                try {
+                    work(tileRenderer);
+                } finally {
+                    done.countDown();
+                }
+            });
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            // stop the workers by emptying the queue
+            tiles.clear();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rendering was interrupted", e);
+        }
+        rethrowFailure();
+    }
+
+    /** Rethrow the failure of a worker in the rendering thread, if a worker failed */
+    private void rethrowFailure() {
+        if (failure instanceof RuntimeException e) throw e;
+        if (failure instanceof Error e) throw e;
+    }
+
+    /** The loop of a worker - pull tiles from the queue and render them until
+     * there are no more tiles
+     * @param tileRenderer the function rendering a single tile */
+    private void work(Consumer<Tile> tileRenderer) {
+        Tile tile;
+        while ((tile = tiles.poll()) != null) {
+            try {
+                tileRenderer.accept(tile);
+            } catch (Throwable e) {
+                // stop all the workers and report the problem to the rendering thread
+                if (failure == null) failure = e;
+                tiles.clear();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+/**
+ * ViewPlane is the geometry of the view plane of a camera at a given resolution: the center of the
+ * first pixel and the steps between neighbouring pixel centers along a row and along a column.
+ * It is computed once for a rendering, and then the point of any (also fractional) pixel position is a
+ * multiply-add of the steps, and the rays of a row or a tile are built incrementally - the ray of the
+ * next pixel starts at the point of the previous one plus a step.
+ * The camera must not move while its view plane is used - a moved camera needs a new view plane.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+final class ViewPlane {
+
+    /**
+     * The camera the plane belongs to
+     */
+    private final Camera camera;
+
+    /**
+     * The position, orientation and view plane size of the camera when the plane was computed
+     */
+    private final Point p0;
+    private final Vector vTo, vUp, vRight;
+    private final double width, height, distance;
+
+    /**
+     * The resolution of the plane
+     */
+    private final int nX, nY;
+
+    /**
+     * The coordinates of the camera position
+     */
+    private final double p0x, p0y, p0z;
+
+    /**
+     * The coordinates of the center of the upper left pixel (column 0, row 0)
+     */
+    private final double originX, originY, originZ;
+
+    /**
+     * The step from the center of a pixel to the center of the pixel in the next column
+     */
+    private final double colX, colY, colZ;
+
+    /**
+     * The step from the center of a pixel to the center of the pixel in the next row
+     */
+    private final double rowX, rowY, rowZ;
+
+    /**
+     * Computes the view plane of a camera at a resolution.
+     *
+     * @param camera the camera
+     * @param nX     the amount of pixel columns
+     * @param nY     the amount of pixel rows
+     */
+    ViewPlane(Camera camera, int nX, int nY) {
+        this.camera = camera;
+        p0 = camera.getP0();
+        vTo = camera.getVto();
+        vUp = camera.getVup();
+        vRight = camera.getVright();
+        width = camera.getWidth();
+        height = camera.getHeight();
+        distance = camera.getDistance();
+        this.nX = nX;
+        this.nY = nY;
+
+        p0x = p0.getX();
+        p0y = p0.getY();
+        p0z = p0.getZ();
+        double rX = width / nX;
+        double rY = height / nY;
+        // the columns go against vRight and the rows go against vUp, like in the pixel indices of the image
+        colX = -vRight.getX() * rX;
+        colY = -vRight.getY() * rX;
+        colZ = -vRight.getZ() * rX;
+        rowX = -vUp.getX() * rY;
+        rowY = -vUp.getY() * rY;
+        rowZ = -vUp.getZ() * rY;
+        double halfColumns = (nX - 1) / 2d;
+        double halfRows = (nY - 1) / 2d;
+        originX = p0x + vTo.getX() * distance - colX * halfColumns - rowX * halfRows;
+        originY = p0y + vTo.getY() * distance - colY * halfColumns - rowY * halfRows;
+        originZ = p0z + vTo.getZ() * distance - colZ * halfColumns - rowZ * halfRows;
+    }
+
+    /**
+     * Checks whether the plane is still the view plane of a camera at a resolution.
+     *
+     * @param camera the camera
+     * @param nX     the amount of pixel columns
+     * @param nY     the amount of pixel rows
+     * @return true if neither the camera nor the resolution changed
+     */
+    boolean matches(Camera camera, int nX, int nY) {
+        // the points and vectors are immutable, a moved camera has new ones
+        return this.camera == camera && this.nX == nX && this.nY == nY
+                && p0 == camera.getP0() && vTo == camera.getVto() && vUp == camera.getVup()
+                && vRight == camera.getVright() && width == camera.getWidth() && height == camera.getHeight()
+                && distance == camera.getDistance();
+    }
+
+    /**
+     * Returns the point of the plane at a pixel position.
+     *
+     * @param j the column position, the integer positions are the centers of the pixels
+     * @param i the row position, the integer positions are the centers of the pixels
+     * @return the point on the plane
+     */
+    Point point(double j, double i) {
+        return new Point(originX + colX * j + rowX * i, originY + colY * j + rowY * i,
+                originZ + colZ * j + rowZ * i);
+    }
+
+    /**
+     * Returns the ray from the camera through a pixel position.
+     *
+     * @param j the column position, the integer positions are the centers of the pixels
+     * @param i the row position, the integer positions are the centers of the pixels
+     * @return the ray
+     */
+    Ray ray(double j, double i) {
+        return ray(originX + colX * j + rowX * i, originY + colY * j + rowY * i, originZ + colZ * j + rowZ * i);
+    }
+
+    /**
+     * Fills an array with the rays through the centers of the pixels of a tile, row by row.
+     *
+     * @param col    the column of the upper left pixel of the tile
+     * @param row    the row of the upper left pixel of the tile
+     * @param width  the amount of pixel columns in the tile
+     * @param height the amount of pixel rows in the tile
+     * @param rays   the array of the rays, of at least width * height rays
+     */
+    void rays(int col, int row, int width, int height, Ray[] rays) {
+        int index = 0;
+        for (int i = row; i < row + height; ++i) {
+            // the start of the row, and then a step to every next pixel
+            double x = originX + colX * col + rowX * i;
+            double y = originY + colY * col + rowY * i;
+            double z = originZ + colZ * col + rowZ * i;
+            for (int j = 0; j < width; ++j) {
+                rays[index++] = ray(x, y, z);
+                x += colX;
+                y += colY;
+                z += colZ;
+            }
+        }
+    }
+
+    /**
+     * Builds the ray from the camera through a point of the plane
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param z the z coordinate of the point
+     * @return the ray
+     */
+    private Ray ray(double x, double y, double z) {
+        return new Ray(p0, new Vector(x - p0x, y - p0y, z - p0z));
+    }
+}
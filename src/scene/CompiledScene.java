@@ -0,0 +1,162 @@
+package scene;
+
+import geometries.Geometries;
+import lighting.LightSource;
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The CompiledScene class is the render-ready form of a scene, which cannot be changed: the geometries are
+ * compiled into arrays (optionally in a bounding volume hierarchy) with all their bounding boxes, the light
+ * sources are copied into an array, and the constants of every material of the scene are computed in advance.
+ * A compiled scene is shared by all the rendering threads without any locks, and later changes of the scene
+ * it was compiled from do not change it.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class CompiledScene {
+
+    /**
+     * The constants of a material which are needed for shading, copied when the scene is compiled.
+     *
+     * @param kD          the diffuse coefficient
+     * @param kS          the specular coefficient
+     * @param kR          the reflection coefficient
+     * @param kT          the transmission coefficient
+     * @param nShininess  the shininess
+     * @param specular    whether the material has a specular highlight (kS is not zero)
+     * @param reflective  whether the material reflects (kR is not zero)
+     * @param transparent whether the material refracts (kT is not zero)
+     */
+    public record MaterialConstants(Double3 kD, Double3 kS, Double3 kR, Double3 kT, int nShininess,
+                                    boolean specular, boolean reflective, boolean transparent) {
+        /**
+         * Computes the constants of a material.
+         *
+         * @param material the material
+         * @return the constants of the material
+         */
+        public static MaterialConstants of(Material material) {
+            return new MaterialConstants(material.kD, material.kS, material.kR, material.kT, material.nShininess,
+                    !material.kS.equals(Double3.ZERO), !material.kR.equals(Double3.ZERO),
+                    !material.kT.equals(Double3.ZERO));
+        }
+    }
+
+    /**
+     * The name of the scene
+     */
+    private final String name;
+
+    /**
+     * The background color of the scene
+     */
+    private final Color background;
+
+    /**
+     * The intensity of the ambient light of the scene
+     */
+    private final Color ambientIntensity;
+
+    /**
+     * The compiled geometries of the scene
+     */
+    private final Geometries geometries;
+
+    /**
+     * The light sources of the scene
+     */
+    private final LightSource[] lights;
+
+    /**
+     * The constants of the materials of the geometries of the scene, by the identity of the material
+     */
+    private final Map<Material, MaterialConstants> materials = new IdentityHashMap<>();
+
+    /**
+     * Compiles a scene.
+     *
+     * @param scene     the scene
+     * @param hierarchy true to arrange the geometries in a bounding volume hierarchy
+     */
+    CompiledScene(Scene scene, boolean hierarchy) {
+        name = scene.name;
+        background = scene.background;
+        ambientIntensity = scene.ambientLight.getIntensity();
+        geometries = scene.geometries.compile(hierarchy);
+        lights = scene.lights.toArray(new LightSource[0]);
+        geometries.forEachGeometry(geometry ->
+                materials.computeIfAbsent(geometry.getMaterial(), MaterialConstants::of));
+    }
+
+    /**
+     * Returns the name of the scene.
+     *
+     * @return the name of the scene
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the background color of the scene.
+     *
+     * @return the background color
+     */
+    public Color getBackground() {
+        return background;
+    }
+
+    /**
+     * Returns the intensity of the ambient light of the scene.
+     *
+     * @return the ambient intensity
+     */
+    public Color getAmbientIntensity() {
+        return ambientIntensity;
+    }
+
+    /**
+     * Returns the compiled geometries of the scene, which cannot be changed.
+     *
+     * @return the geometries
+     */
+    public Geometries getGeometries() {
+        return geometries;
+    }
+
+    /**
+     * Returns the amount of light sources of the scene.
+     *
+     * @return the amount of light sources
+     */
+    public int getLightCount() {
+        return lights.length;
+    }
+
+    /**
+     * Returns a light source of the scene.
+     *
+     * @param index the index of the light source, from 0
+     * @return the light source
+     */
+    public LightSource getLight(int index) {
+        return lights[index];
+    }
+
+    /**
+     * Returns the constants of a material. The constants of the materials of the scene were computed when the
+     * scene was compiled, and the constants of any other material are computed now.
+     *
+     * @param material the material
+     * @return the constants of the material
+     */
+    public MaterialConstants getConstants(Material material) {
+        MaterialConstants constants = materials.get(material);
+        return constants != null ? constants : MaterialConstants.of(material);
+    }
+}
@@ -0,0 +1,453 @@
+package scene;
+
+import geometries.Mesh;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The ObjImporter class imports the triangles of a Wavefront OBJ file into a {@link Mesh}.
+ * Only the vertices ("v" lines) and the faces ("f" lines) are imported - the texture coordinates, the normals,
+ * the groups and the materials are skipped. A face of more than three vertices is split into a fan of triangles,
+ * and its vertices may be given with their texture and normal indices ("f 1/2/3 ...") and from the end of the
+ * vertices so far (negative indices).
+ * <p>
+ * The file is memory-mapped and split into chunks of whole lines, which are parsed by parallel threads straight
+ * from the mapped bytes. Every chunk collects its own vertices and faces, and the chunks are then joined in the
+ * order of the file, so the mesh is the same for any amount of threads.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class ObjImporter {
+
+    /**
+     * The minimal size of a chunk in bytes, so a small file is not split between many threads
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The exact powers of ten, for parsing a number without rounding errors
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * The mapped file
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The size of the file in bytes
+     */
+    private final int size;
+
+    /**
+     * The vertices and the faces of a chunk of the file
+     */
+    private static final class Chunk {
+        /**
+         * The coordinates of the vertices
+         */
+        double[] vertices = new double[3 * 1024];
+
+        /**
+         * The vertex indices of the triangles - from 0 in the whole file, or from the first vertex of the chunk
+         * for the positions in {@link #relative}
+         */
+        int[] indices = new int[3 * 1024];
+
+        /**
+         * The positions in {@link #indices} of the indices which were given from the end of the vertices
+         */
+        int[] relative = new int[16];
+
+        /**
+         * The amount of coordinates, indices and relative positions
+         */
+        int vertexSize, indexSize, relativeSize;
+
+        /**
+         * The first exception or error of the parsing of the chunk
+         */
+        Throwable failure;
+    }
+
+    /**
+     * Maps a file for importing.
+     *
+     * @param file the path of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    private ObjImporter(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("The OBJ file is larger than 2GB: " + file);
+            size = (int) channel.size();
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /**
+     * Imports an OBJ file with a thread for every available processor.
+     *
+     * @param file the path of the file
+     * @return the mesh of the faces of the file
+     * @throws IllegalArgumentException if the file has a wrong vertex or face, or no faces
+     * @throws IllegalStateException    if the file cannot be read
+     */
+    public static Mesh load(Path file) {
+        return load(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Imports an OBJ file.
+     *
+     * @param file        the path of the file
+     * @param threadCount the maximal amount of parsing threads, 0 for parsing in the calling thread
+     * @return the mesh of the faces of the file
+     * @throws IllegalArgumentException if the file has a wrong vertex or face, or no faces
+     * @throws IllegalStateException    if the file cannot be read
+     */
+    public static Mesh load(Path file, int threadCount) {
+        if (threadCount < 0)
+            throw new IllegalArgumentException("ERROR value parameter of the thread count");
+        ObjImporter importer;
+        try {
+            importer = new ObjImporter(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - cannot read the OBJ file " + file, e);
+        }
+        return importer.parse(threadCount);
+    }
+
+    /**
+     * Parses the chunks of the file, and joins them into a mesh.
+     *
+     * @param threadCount the maximal amount of parsing threads
+     * @return the mesh
+     */
+    private Mesh parse(int threadCount) {
+        int chunkCount = Math.max(1, Math.min(threadCount, size / MIN_CHUNK_SIZE));
+        Chunk[] chunks = new Chunk[chunkCount];
+        for (int i = 0; i < chunkCount; ++i)
+            chunks[i] = new Chunk();
+
+        if (threadCount == 0)
+            parseChunk(chunks[0], 0, size);
+        else {
+            Thread[] workers = new Thread[chunkCount];
+            for (int i = 0; i < chunkCount; ++i) {
+                Chunk chunk = chunks[i];
+                int start = (int) ((long) size * i / chunkCount), end = (int) ((long) size * (i + 1) / chunkCount);
+                workers[i] = new Thread(() -> parseChunk(chunk, start, end), "obj-parser-" + i);
+                workers[i].start();
+            }
+            try {
+                for (Thread worker : workers)
+                    worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importing was interrupted", e);
+            }
+        }
+        for (Chunk chunk : chunks) {
+            if (chunk.failure instanceof RuntimeException e)
+                throw e;
+            if (chunk.failure instanceof Error e)
+                throw e;
+            if (chunk.failure != null)
+                throw new IllegalStateException("Importing failed", chunk.failure);
+        }
+        return join(chunks);
+    }
+
+    /**
+     * Joins the vertices and the faces of the chunks, in the order of the file.
+     *
+     * @param chunks the chunks
+     * @return the mesh
+     */
+    private static Mesh join(Chunk[] chunks) {
+        int vertexSize = 0, indexSize = 0;
+        for (Chunk chunk : chunks) {
+            vertexSize += chunk.vertexSize;
+            indexSize += chunk.indexSize;
+        }
+        if (indexSize == 0)
+            throw new IllegalArgumentException("The OBJ file has no faces");
+        double[] vertices = new double[vertexSize];
+        int[] indices = new int[indexSize];
+        vertexSize = indexSize = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.vertices, 0, vertices, vertexSize, chunk.vertexSize);
+            System.arraycopy(chunk.indices, 0, indices, indexSize, chunk.indexSize);
+            // the relative indices are moved from the first vertex of the chunk to the first vertex of the file
+            int firstVertex = vertexSize / 3;
+            for (int i = 0; i < chunk.relativeSize; ++i)
+                indices[indexSize + chunk.relative[i]] += firstVertex;
+            vertexSize += chunk.vertexSize;
+            indexSize += chunk.indexSize;
+        }
+        return new Mesh(vertices, indices);
+    }
+
+    /**
+     * Parses the lines which start in a range of the file.
+     *
+     * @param chunk the chunk to collect the vertices and the faces into
+     * @param start the position of the start of the range
+     * @param end   the position after the range
+     */
+    private void parseChunk(Chunk chunk, int start, int end) {
+        int position = start;
+        try {
+            // the line which started before the range belongs to the previous chunk
+            if (position > 0 && buffer.get(position - 1) != '\n')
+                position = skipLine(position);
+            while (position < end)
+                position = parseLine(chunk, position);
+        } catch (Throwable e) {
+            // an error of a parsing thread (like running out of memory) must reach the importing thread too
+            chunk.failure = e instanceof IllegalArgumentException
+                    ? new IllegalArgumentException(e.getMessage() + " in the line at byte " + position, e) : e;
+        }
+    }
+
+    /**
+     * Parses a line of the file.
+     *
+     * @param chunk    the chunk to collect the vertices and the faces into
+     * @param position the position of the start of the line
+     * @return the position of the start of the next line
+     */
+    private int parseLine(Chunk chunk, int position) {
+        int i = skipSpaces(position);
+        if (i + 1 < size && isSpace(buffer.get(i + 1))) {
+            byte keyword = buffer.get(i);
+            if (keyword == 'v')
+                vertex(chunk, i + 1);
+            else if (keyword == 'f')
+                face(chunk, i + 1);
+        }
+        return skipLine(i);
+    }
+
+    /**
+     * Parses the coordinates of a vertex. Coordinates after the third (like the weight or the color) are skipped.
+     *
+     * @param chunk    the chunk to collect the vertex into
+     * @param position the position after the keyword
+     */
+    private void vertex(Chunk chunk, int position) {
+        if (chunk.vertexSize + 3 > chunk.vertices.length)
+            chunk.vertices = Arrays.copyOf(chunk.vertices, 2 * chunk.vertices.length);
+        for (int k = 0; k < 3; ++k) {
+            position = skipSpaces(position);
+            int tokenEnd = tokenEnd(position);
+            if (tokenEnd == position)
+                throw new IllegalArgumentException("A vertex needs three coordinates");
+            chunk.vertices[chunk.vertexSize + k] = parseDouble(position, tokenEnd);
+            position = tokenEnd;
+        }
+        chunk.vertexSize += 3;
+    }
+
+    /**
+     * Parses the vertex indices of a face, and adds its fan of triangles.
+     *
+     * @param chunk    the chunk to collect the triangles into
+     * @param position the position after the keyword
+     */
+    private void face(Chunk chunk, int position) {
+        int first = 0, previous = 0, corners = 0;
+        boolean firstRelative = false, previousRelative = false;
+        for (position = skipSpaces(position); position < size && !isLineEnd(buffer.get(position));
+             position = skipSpaces(position)) {
+            int tokenEnd = tokenEnd(position);
+            // the vertex index is before the texture and normal indices
+            int slash = position;
+            while (slash < tokenEnd && buffer.get(slash) != '/')
+                ++slash;
+            int index = parseInt(position, slash);
+            boolean relative = index < 0;
+            // a negative index counts back from the last vertex so far (-1), which is from the first vertex of
+            // the chunk until the chunks are joined
+            int vertex = relative ? chunk.vertexSize / 3 + index : index - 1;
+            if (corners >= 2) {
+                if (chunk.indexSize + 3 > chunk.indices.length)
+                    chunk.indices = Arrays.copyOf(chunk.indices, 2 * chunk.indices.length);
+                addIndex(chunk, first, firstRelative);
+                addIndex(chunk, previous, previousRelative);
+                addIndex(chunk, vertex, relative);
+            } else if (corners == 0) {
+                first = vertex;
+                firstRelative = relative;
+            }
+            previous = vertex;
+            previousRelative = relative;
+            ++corners;
+            position = tokenEnd;
+        }
+        if (corners < 3)
+            throw new IllegalArgumentException("A face needs three or more vertices");
+    }
+
+    /**
+     * Adds a vertex index of a triangle to a chunk.
+     *
+     * @param chunk    the chunk
+     * @param index    the index of the vertex
+     * @param relative whether the index is from the first vertex of the chunk
+     */
+    private static void addIndex(Chunk chunk, int index, boolean relative) {
+        if (relative) {
+            if (chunk.relativeSize == chunk.relative.length)
+                chunk.relative = Arrays.copyOf(chunk.relative, 2 * chunk.relativeSize);
+            chunk.relative[chunk.relativeSize++] = chunk.indexSize;
+        }
+        chunk.indices[chunk.indexSize++] = index;
+    }
+
+    /**
+     * Parses an integer from the bytes of the file.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @return the integer
+     */
+    private int parseInt(int start, int end) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || (start < end && buffer.get(start) == '+') ? start + 1 : start;
+        if (i == end || end - i > 9)
+            throw new IllegalArgumentException("Wrong vertex index " + text(start, end));
+        int value = 0;
+        for (; i < end; ++i) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9)
+                throw new IllegalArgumentException("Wrong vertex index " + text(start, end));
+            value = 10 * value + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a number from the bytes of the file. A plain decimal of up to 15 digits is exactly a quotient of two
+     * exact doubles, so dividing them gives the correctly rounded number without creating a string. Any other
+     * number (with an exponent or more digits) is parsed by {@link Double#parseDouble(String)}.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @return the number
+     */
+    private double parseDouble(int start, int end) {
+        int i = start;
+        boolean negative = buffer.get(i) == '-';
+        if (negative || buffer.get(i) == '+')
+            ++i;
+        long mantissa = 0;
+        int digits = 0, fractionDigits = 0;
+        boolean fraction = false, anyDigit = false;
+        for (; i < end; ++i) {
+            byte c = buffer.get(i);
+            if (c == '.' && !fraction)
+                fraction = true;
+            else if (c >= '0' && c <= '9' && digits < 15 && fractionDigits < POWERS_OF_TEN.length - 1) {
+                mantissa = 10 * mantissa + (c - '0');
+                anyDigit = true;
+                if (mantissa != 0)
+                    ++digits;
+                if (fraction)
+                    ++fractionDigits;
+            } else
+                break;
+        }
+        if (i < end || !anyDigit)
+            try {
+                return Double.parseDouble(text(start, end));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Wrong coordinate " + text(start, end));
+            }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Returns the text of a range of bytes of the file, for the slow path of the parsing and for the messages.
+     *
+     * @param start the position of the first byte
+     * @param end   the position after the last byte
+     * @return the text
+     */
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Skips the spaces and the tabs, but not the end of the line.
+     *
+     * @param position the position to start at
+     * @return the position of the first byte which is not a space
+     */
+    private int skipSpaces(int position) {
+        while (position < size && isSpace(buffer.get(position)))
+            ++position;
+        return position;
+    }
+
+    /**
+     * Finds the end of a token.
+     *
+     * @param position the position of the start of the token
+     * @return the position after the token
+     */
+    private int tokenEnd(int position) {
+        while (position < size) {
+            byte c = buffer.get(position);
+            if (isSpace(c) || isLineEnd(c) || c == '#')
+                break;
+            ++position;
+        }
+        return position;
+    }
+
+    /**
+     * Skips to the start of the next line.
+     *
+     * @param position a position in the line
+     * @return the position after the end of the line
+     */
+    private int skipLine(int position) {
+        while (position < size && buffer.get(position) != '\n')
+            ++position;
+        return position + 1;
+    }
+
+    /**
+     * Checks whether a byte is a space between tokens.
+     *
+     * @param c the byte
+     * @return true for a space or a tab
+     */
+    private static boolean isSpace(byte c) {
+        return c == ' ' || c == '\t';
+    }
+
+    /**
+     * Checks whether a byte ends the tokens of a line.
+     *
+     * @param c the byte
+     * @return true for the end of the line or the start of a comment
+     */
+    private static boolean isLineEnd(byte c) {
+        return c == '\n' || c == '\r' || c == '#';
+    }
+}
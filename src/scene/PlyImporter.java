@@ -0,0 +1,416 @@
+package scene;
+
+import geometries.Mesh;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The PlyImporter class imports the triangles of a binary PLY (Stanford polygon) file into a {@link Mesh}.
+ * The x, y and z properties of the "vertex" element are the vertices, and the list property "vertex_indices"
+ * (or "vertex_index") of the "face" element gives the faces - a face of more than three vertices is split into
+ * a fan of triangles. All the other elements and properties are skipped.
+ * <p>
+ * The file is memory-mapped and the values are read straight from the mapped bytes in the byte order of the file,
+ * so nothing is copied on the way to the arrays of the mesh. Both little endian and big endian files are
+ * imported, the ASCII PLY format is not.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public final class PlyImporter {
+
+    /**
+     * A property of an element
+     *
+     * @param name      the name of the property
+     * @param type      the type of the value, or of the items of a list
+     * @param countType the type of the length of a list, null for a single value
+     */
+    private record Property(String name, Type type, Type countType) {
+    }
+
+    /**
+     * An element of the file, with its properties in the order of the file
+     *
+     * @param name       the name of the element
+     * @param count      the amount of items of the element
+     * @param properties the properties of every item
+     */
+    private record Element(String name, int count, List<Property> properties) {
+        /**
+         * Returns the size of an item in bytes, if it has no list properties
+         *
+         * @return the size, or -1 if the items have list properties
+         */
+        int stride() {
+            int stride = 0;
+            for (Property property : properties) {
+                if (property.countType() != null)
+                    return -1;
+                stride += property.type().size;
+            }
+            return stride;
+        }
+    }
+
+    /**
+     * The types of the values of the PLY format
+     */
+    private enum Type {
+        /**
+         * A signed byte
+         */
+        CHAR(1),
+        /**
+         * An unsigned byte
+         */
+        UCHAR(1),
+        /**
+         * A signed 16 bits integer
+         */
+        SHORT(2),
+        /**
+         * An unsigned 16 bits integer
+         */
+        USHORT(2),
+        /**
+         * A signed 32 bits integer
+         */
+        INT(4),
+        /**
+         * An unsigned 32 bits integer
+         */
+        UINT(4),
+        /**
+         * A 32 bits floating point number
+         */
+        FLOAT(4),
+        /**
+         * A 64 bits floating point number
+         */
+        DOUBLE(8);
+
+        /**
+         * The size of a value in bytes
+         */
+        final int size;
+
+        /**
+         * Constructs a type.
+         *
+         * @param size the size of a value in bytes
+         */
+        Type(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Returns the type of a name of the header, including the names with the size in bits.
+         *
+         * @param name the name
+         * @return the type
+         */
+        static Type of(String name) {
+            return switch (name) {
+                case "char", "int8" -> CHAR;
+                case "uchar", "uint8" -> UCHAR;
+                case "short", "int16" -> SHORT;
+                case "ushort", "uint16" -> USHORT;
+                case "int", "int32" -> INT;
+                case "uint", "uint32" -> UINT;
+                case "float", "float32" -> FLOAT;
+                case "double", "float64" -> DOUBLE;
+                default -> throw new IllegalArgumentException("Unknown PLY type " + name);
+            };
+        }
+    }
+
+    /**
+     * The mapped file
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The elements of the file, in the order of the file
+     */
+    private final List<Element> elements = new ArrayList<>();
+
+    /**
+     * The position of the data after the header
+     */
+    private int position;
+
+    /**
+     * The coordinates of the vertices, null before the vertex element
+     */
+    private double[] vertices;
+
+    /**
+     * The vertex indices of the triangles
+     */
+    private int[] indices;
+
+    /**
+     * The amount of indices of the triangles
+     */
+    private int indexSize;
+
+    /**
+     * Maps a file and reads its header.
+     *
+     * @param file the path of the file
+     * @throws IOException if the file cannot be mapped
+     */
+    private PlyImporter(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("The PLY file is larger than 2GB: " + file);
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        header();
+    }
+
+    /**
+     * Imports a binary PLY file.
+     *
+     * @param file the path of the file
+     * @return the mesh of the faces of the file
+     * @throws IllegalArgumentException if the file is not a binary PLY file of vertices and faces
+     * @throws IllegalStateException    if the file cannot be read
+     */
+    public static Mesh load(Path file) {
+        PlyImporter importer;
+        try {
+            importer = new PlyImporter(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - cannot read the PLY file " + file, e);
+        }
+        try {
+            return importer.parse();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The PLY file is shorter than its header: " + file, e);
+        }
+    }
+
+    /**
+     * Reads the header of the file - its format and its elements.
+     * The format line is mandatory, there is no default byte order.
+     */
+    private void header() {
+        if (!"ply".equals(headerLine()))
+            throw new IllegalArgumentException("Not a PLY file");
+        boolean format = false;
+        for (String line = headerLine(); !line.equals("end_header"); line = headerLine()) {
+            String[] words = line.trim().split("\\s+");
+            switch (words[0]) {
+                case "format" -> {
+                    if (words.length < 2)
+                        throw new IllegalArgumentException("Wrong PLY format line");
+                    format = true;
+                    switch (words[1]) {
+                        case "binary_little_endian" -> buffer.order(ByteOrder.LITTLE_ENDIAN);
+                        case "binary_big_endian" -> buffer.order(ByteOrder.BIG_ENDIAN);
+                        default -> throw new IllegalArgumentException("Only binary PLY files are supported, not "
+                                + words[1]);
+                    }
+                }
+                case "element" -> {
+                    if (words.length != 3)
+                        throw new IllegalArgumentException("Wrong PLY element line: " + line);
+                    int count = Integer.parseInt(words[2]);
+                    if (count < 0)
+                        throw new IllegalArgumentException("A negative count of PLY elements: " + line);
+                    elements.add(new Element(words[1], count, new ArrayList<>()));
+                }
+                case "property" -> {
+                    if (elements.isEmpty())
+                        throw new IllegalArgumentException("A PLY property before the elements");
+                    List<Property> properties = elements.get(elements.size() - 1).properties();
+                    if (words.length == 5 && words[1].equals("list"))
+                        properties.add(new Property(words[4], Type.of(words[3]), Type.of(words[2])));
+                    else if (words.length == 3)
+                        properties.add(new Property(words[2], Type.of(words[1]), null));
+                    else
+                        throw new IllegalArgumentException("Wrong PLY property line: " + line);
+                }
+                // comments, object information and empty lines
+                default -> {
+                }
+            }
+        }
+        if (!format)
+            throw new IllegalArgumentException("The PLY header has no format line");
+    }
+
+    /**
+     * Reads a line of the header.
+     *
+     * @return the line, without its end
+     */
+    private String headerLine() {
+        int start = position;
+        while (position < buffer.limit() && buffer.get(position) != '\n')
+            ++position;
+        if (position == buffer.limit())
+            throw new IllegalArgumentException("The PLY header has no end");
+        byte[] bytes = new byte[position - start];
+        buffer.get(start, bytes);
+        ++position;
+        return new String(bytes, StandardCharsets.US_ASCII).strip();
+    }
+
+    /**
+     * Reads the data of the elements, in the order of the file.
+     *
+     * @return the mesh
+     */
+    private Mesh parse() {
+        for (Element element : elements) {
+            if (element.name().equals("vertex"))
+                vertices(element);
+            else if (element.name().equals("face"))
+                faces(element);
+            else
+                skip(element);
+        }
+        if (vertices == null || indexSize == 0)
+            throw new IllegalArgumentException("The PLY file has no vertices or no faces");
+        return new Mesh(vertices, indexSize == indices.length ? indices : Arrays.copyOf(indices, indexSize));
+    }
+
+    /**
+     * Reads the coordinates of the vertices. The vertices have a fixed size, so every coordinate is read directly
+     * at its offset.
+     *
+     * @param element the vertex element
+     */
+    private void vertices(Element element) {
+        int stride = element.stride();
+        if (stride < 0)
+            throw new IllegalArgumentException("The PLY vertices have a list property");
+        int[] offsets = {-1, -1, -1};
+        Type[] types = new Type[3];
+        int offset = 0;
+        for (Property property : element.properties()) {
+            int axis = switch (property.name()) {
+                case "x" -> 0;
+                case "y" -> 1;
+                case "z" -> 2;
+                default -> -1;
+            };
+            if (axis >= 0) {
+                offsets[axis] = offset;
+                types[axis] = property.type();
+            }
+            offset += property.type().size;
+        }
+        if (offsets[0] < 0 || offsets[1] < 0 || offsets[2] < 0)
+            throw new IllegalArgumentException("The PLY vertices have no x, y and z");
+
+        int count = element.count();
+        vertices = new double[3 * count];
+        for (int i = 0, item = position; i < count; ++i, item += stride)
+            for (int axis = 0; axis < 3; ++axis)
+                vertices[3 * i + axis] = read(types[axis], item + offsets[axis]);
+        position += count * stride;
+    }
+
+    /**
+     * Reads the faces, and adds their fans of triangles.
+     *
+     * @param element the face element
+     */
+    private void faces(Element element) {
+        Property indexList = null;
+        for (Property property : element.properties())
+            if (property.countType() != null
+                    && (property.name().equals("vertex_indices") || property.name().equals("vertex_index")))
+                indexList = property;
+        if (indexList == null)
+            throw new IllegalArgumentException("The PLY faces have no vertex indices");
+
+        // the faces are usually triangles
+        indices = new int[3 * element.count()];
+        for (int face = 0; face < element.count(); ++face)
+            for (Property property : element.properties()) {
+                if (property != indexList) {
+                    skip(property);
+                    continue;
+                }
+                int corners = (int) read(property.countType(), position);
+                position += property.countType().size;
+                if (corners < 3)
+                    throw new IllegalArgumentException("A PLY face needs three or more vertices");
+                if (indexSize + 3 * (corners - 2) > indices.length)
+                    indices = Arrays.copyOf(indices, Math.max(2 * indices.length, indexSize + 3 * (corners - 2)));
+                Type type = property.type();
+                int size = type.size;
+                int first = (int) read(type, position);
+                for (int corner = 2; corner < corners; ++corner) {
+                    indices[indexSize++] = first;
+                    indices[indexSize++] = (int) read(type, position + (corner - 1) * size);
+                    indices[indexSize++] = (int) read(type, position + corner * size);
+                }
+                position += corners * size;
+            }
+    }
+
+    /**
+     * Skips the data of an element which is not imported.
+     *
+     * @param element the element
+     */
+    private void skip(Element element) {
+        int stride = element.stride();
+        if (stride >= 0) {
+            position += element.count() * stride;
+            return;
+        }
+        for (int item = 0; item < element.count(); ++item)
+            for (Property property : element.properties())
+                skip(property);
+    }
+
+    /**
+     * Skips the data of a property which is not imported.
+     *
+     * @param property the property
+     */
+    private void skip(Property property) {
+        if (property.countType() == null) {
+            position += property.type().size;
+            return;
+        }
+        int length = (int) read(property.countType(), position);
+        position += property.countType().size + length * property.type().size;
+    }
+
+    /**
+     * Reads a value at a position of the file.
+     *
+     * @param type     the type of the value
+     * @param position the position of the value
+     * @return the value
+     */
+    private double read(Type type, int position) {
+        return switch (type) {
+            case CHAR -> buffer.get(position);
+            case UCHAR -> buffer.get(position) & 0xFF;
+            case SHORT -> buffer.getShort(position);
+            case USHORT -> buffer.getShort(position) & 0xFFFF;
+            case INT -> buffer.getInt(position);
+            case UINT -> buffer.getInt(position) & 0xFFFFFFFFL;
+            case FLOAT -> buffer.getFloat(position);
+            case DOUBLE -> buffer.getDouble(position);
+        };
+    }
+}
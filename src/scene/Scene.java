@@ -111,6 +111,27 @@ public class Scene {
         this.lights = lights;
         return this;
     }
+
+    /**
+     * Compiles the scene into its render-ready form, with the geometries in a bounding volume hierarchy.
+     * The scene itself is not changed.
+     *
+     * @return the compiled scene
+     */
+    public CompiledScene compile() {
+        return compile(true);
+    }
+
+    /**
+     * Compiles the scene into its render-ready form. The scene itself is not changed.
+     *
+     * @param hierarchy true to arrange the geometries in a bounding volume hierarchy
+     * @return the compiled scene
+     */
+    public CompiledScene compile(boolean hierarchy) {
+        return new CompiledScene(this, hierarchy);
+    }
+
     /**
      * The SceneBuilder class is a builder pattern class for constructing Scene objects.
      */
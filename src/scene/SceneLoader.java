@@ -0,0 +1,641 @@
+package scene;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.DirectionalLight;
+import lighting.LightSource;
+import lighting.PointLight;
+import lighting.SpotLight;
+import primitives.*;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SceneLoader class loads a scene, and the camera looking at it, from a scene description text file.
+ * The file is parsed in a single pass, one statement per line: the geometries and the lights are created while
+ * their lines are read, and the faces of a mesh go straight into the flat arrays of the {@link Mesh}, so no
+ * tree of the whole file is built and the memory of the loading is about the memory of the scene itself.
+ * <p>
+ * A statement is a keyword followed by its values, separated by spaces. Anything after a '#' is a comment.
+ * <pre>
+ * scene      name                                   the name of the scene
+ * background r g b                                  the background color
+ * ambient    r g b ka                               the ambient light
+ * camera     px py pz  tx ty tz  ux uy uz           the position, the "to" and the "up" directions
+ * viewplane  distance width height                  the view plane of the camera
+ * image      name nx ny                             the image of the camera
+ * point       r g b  px py pz  [kc kl kq]           a point light
+ * spot        r g b  px py pz  dx dy dz  [kc kl kq] a spot light
+ * directional r g b  dx dy dz                       a directional light
+ * material   name  [kd|ks|kr|kt v | v v v]... [shininess n]   defines a named material
+ * use        name                                   the material of the following geometries
+ * emission   r g b                                  the emission of the following geometries
+ * sphere     cx cy cz radius
+ * plane      px py pz  nx ny nz
+ * triangle   x1 y1 z1  x2 y2 z2  x3 y3 z3
+ * polygon    x1 y1 z1  x2 y2 z2  x3 y3 z3 ...
+ * tube       radius  px py pz  dx dy dz
+ * cylinder   radius  px py pz  dx dy dz  height
+ * model      file                                   a mesh imported from a Wavefront OBJ or a binary PLY file
+ * mesh       [vertices faces]                       starts a mesh, with the optional sizes of its arrays
+ * v          x y z                                  a vertex of the mesh
+ * f          i1 i2 i3 ...                           a face of the mesh, by the indices (from 0) of its vertices
+ * end                                               ends the mesh
+ * </pre>
+ * A face of more than three vertices is split into a fan of triangles. The geometries get the material and the
+ * emission set last before them (the default material and black at the start).
+ * The statements of the scene and of the camera may come in any order, only the lines of a mesh must be together.
+ * The file of a model is relative to the directory of the scene file (or to the working directory, for a scene
+ * description which is not read from a file).
+ * <p>
+ * When the file is read, the geometries of the scene are arranged in a bounding volume hierarchy
+ * (see {@link Geometries#buildBVH()}), so the scene can be rendered without scanning all its geometries for
+ * every ray. The order of the geometries in the scene is therefore the order of the hierarchy, not of the file.
+ *
+ * @author Omer Avidar and Elior Tkach
+ */
+public class SceneLoader {
+
+    /**
+     * The initial capacity of the arrays of a mesh without sizes
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The loaded scene
+     */
+    private final Scene scene;
+
+    /**
+     * The loaded camera, null if the file has no camera
+     */
+    private final Camera camera;
+
+    // ***************** The state of the parsing ********************** //
+
+    /**
+     * The directory the files of the models are relative to, null for the working directory
+     */
+    private final Path directory;
+
+    /**
+     * The tokens of the current line, only the first {@link #count} are valid
+     */
+    private String[] tokens = new String[16];
+
+    /**
+     * The amount of tokens of the current line
+     */
+    private int count;
+
+    /**
+     * The number of the current line, from 1
+     */
+    private int lineNumber;
+
+    /**
+     * The name of the scene
+     */
+    private String name = "scene";
+
+    /**
+     * The background color of the scene
+     */
+    private Color background = Color.BLACK;
+
+    /**
+     * The ambient light of the scene
+     */
+    private AmbientLight ambientLight = AmbientLight.NONE;
+
+    /**
+     * The geometries of the scene
+     */
+    private final Geometries geometries = new Geometries();
+
+    /**
+     * The light sources of the scene
+     */
+    private final List<LightSource> lights = new LinkedList<>();
+
+    /**
+     * The named materials
+     */
+    private final Map<String, Material> materials = new HashMap<>();
+
+    /**
+     * The material of the following geometries
+     */
+    private Material material = new Material();
+
+    /**
+     * The emission of the following geometries
+     */
+    private Color emission = Color.BLACK;
+
+    /**
+     * The values of the camera statements, null if they are missing
+     */
+    private double[] cameraValues, viewPlane;
+
+    /**
+     * The name of the image of the camera, null if it is missing
+     */
+    private String imageName;
+
+    /**
+     * The resolution of the image of the camera
+     */
+    private int nX, nY;
+
+    /**
+     * The coordinates of the vertices of the current mesh, null outside a mesh
+     */
+    private double[] meshVertices;
+
+    /**
+     * The vertex indices of the faces of the current mesh
+     */
+    private int[] meshIndices;
+
+    /**
+     * The amount of coordinates and of indices of the current mesh
+     */
+    private int vertexSize, indexSize;
+
+    /**
+     * Loads a scene description file.
+     *
+     * @param file the path of the file
+     * @return the loader, with the scene and the camera of the file
+     * @throws IllegalArgumentException if the file has a wrong statement, with its line number
+     * @throws IllegalStateException    if the file cannot be read
+     */
+    public static SceneLoader load(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return new SceneLoader(reader, file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - cannot read the scene file " + file, e);
+        }
+    }
+
+    /**
+     * Loads a scene description from a reader, which is not closed.
+     *
+     * @param reader the reader of the scene description
+     * @return the loader, with the scene and the camera of the description
+     * @throws IllegalArgumentException if the description has a wrong statement, with its line number
+     * @throws IllegalStateException    if the reader fails
+     */
+    public static SceneLoader load(Reader reader) {
+        try {
+            return new SceneLoader(reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader),
+                    null);
+        } catch (IOException e) {
+            throw new IllegalStateException("I/O error - cannot read the scene description", e);
+        }
+    }
+
+    /**
+     * Parses a scene description, line by line.
+     *
+     * @param reader    the reader of the scene description
+     * @param directory the directory the files of the models are relative to, null for the working directory
+     * @throws IOException if the reader fails
+     */
+    private SceneLoader(BufferedReader reader, Path directory) throws IOException {
+        this.directory = directory;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            ++lineNumber;
+            tokenize(line);
+            if (count == 0)
+                continue;
+            try {
+                statement();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (meshVertices != null)
+            throw new IllegalArgumentException("line " + lineNumber + ": the mesh has no end");
+
+        // a loaded scene is usually large, so its geometries are arranged in a hierarchy at once
+        scene = new Scene.SceneBuilder(name).setBackground(background).setAmbientLight(ambientLight)
+                .setGeometries(geometries.buildBVH()).build().setLights(lights);
+        camera = camera();
+    }
+
+    /**
+     * Returns the loaded scene.
+     *
+     * @return the scene
+     */
+    public Scene getScene() {
+        return scene;
+    }
+
+    /**
+     * Returns the loaded camera, with a basic ray tracer of the scene and its image.
+     *
+     * @return the camera, or null if the file has no camera
+     */
+    public Camera getCamera() {
+        return camera;
+    }
+
+    /**
+     * Splits a line into its tokens, without the comment.
+     *
+     * @param line the line
+     */
+    private void tokenize(String line) {
+        count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (c == '#')
+                break;
+            if (Character.isWhitespace(c)) {
+                ++i;
+                continue;
+            }
+            int start = i;
+            while (i < length && line.charAt(i) != '#' && !Character.isWhitespace(line.charAt(i)))
+                ++i;
+            if (count == tokens.length)
+                tokens = Arrays.copyOf(tokens, 2 * count);
+            tokens[count++] = line.substring(start, i);
+        }
+    }
+
+    /**
+     * Executes the statement of the current line.
+     */
+    private void statement() {
+        String keyword = tokens[0];
+        if (meshVertices != null) {
+            meshStatement(keyword);
+            return;
+        }
+        switch (keyword) {
+            case "scene" -> {
+                expect(2);
+                name = tokens[1];
+            }
+            case "background" -> {
+                expect(4);
+                background = color(1);
+            }
+            case "ambient" -> {
+                expect(5);
+                ambientLight = new AmbientLight(color(1), number(4));
+            }
+            case "camera" -> {
+                expect(10);
+                cameraValues = numbers(1, 9);
+            }
+            case "viewplane" -> {
+                expect(4);
+                viewPlane = numbers(1, 3);
+            }
+            case "image" -> {
+                expect(4);
+                imageName = tokens[1];
+                nX = integer(2);
+                nY = integer(3);
+            }
+            case "point" -> {
+                expect(7, 10);
+                lights.add(attenuation(new PointLight(color(1), point(4)), 7));
+            }
+            case "spot" -> {
+                expect(10, 13);
+                lights.add(attenuation(new SpotLight(color(1), point(4), vector(7)), 10));
+            }
+            case "directional" -> {
+                expect(7);
+                lights.add(new DirectionalLight(color(1), vector(4)));
+            }
+            case "material" -> material();
+            case "use" -> {
+                expect(2);
+                material = materials.get(tokens[1]);
+                if (material == null)
+                    throw new IllegalArgumentException("unknown material " + tokens[1]);
+            }
+            case "emission" -> {
+                expect(4);
+                emission = color(1);
+            }
+            case "sphere" -> {
+                expect(5);
+                add(new Sphere(number(4), point(1)));
+            }
+            case "plane" -> {
+                expect(7);
+                add(new Plane(point(1), vector(4)));
+            }
+            case "triangle" -> {
+                expect(10);
+                add(new Triangle(point(1), point(4), point(7)));
+            }
+            case "polygon" -> {
+                if (count < 10 || (count - 1) % 3 != 0)
+                    throw new IllegalArgumentException("a polygon needs three or more vertices");
+                Point[] vertices = new Point[(count - 1) / 3];
+                for (int i = 0; i < vertices.length; ++i)
+                    vertices[i] = point(1 + 3 * i);
+                add(new Polygon(vertices));
+            }
+            case "tube" -> {
+                expect(8);
+                add(new Tube(number(1), new Ray(point(2), vector(5))));
+            }
+            case "cylinder" -> {
+                expect(9);
+                add(new Cylinder(number(1), new Ray(point(2), vector(5)), number(8)));
+            }
+            case "model" -> {
+                expect(2);
+                add(model(tokens[1]));
+            }
+            case "mesh" -> {
+                expect(1, 3);
+                int vertices = count == 3 ? integer(1) : INITIAL_CAPACITY;
+                int faces = count == 3 ? integer(2) : INITIAL_CAPACITY;
+                if (vertices < 1 || faces < 1)
+                    throw new IllegalArgumentException("wrong sizes of the mesh");
+                meshVertices = new double[3 * vertices];
+                meshIndices = new int[3 * faces];
+                vertexSize = indexSize = 0;
+            }
+            default -> throw new IllegalArgumentException("unknown statement " + keyword);
+        }
+    }
+
+    /**
+     * Executes a statement inside a mesh, where only vertices, faces and the end of the mesh are allowed.
+     *
+     * @param keyword the keyword of the statement
+     */
+    private void meshStatement(String keyword) {
+        switch (keyword) {
+            case "v" -> {
+                expect(4);
+                if (vertexSize + 3 > meshVertices.length)
+                    meshVertices = Arrays.copyOf(meshVertices, 2 * meshVertices.length);
+                for (int k = 1; k <= 3; ++k)
+                    meshVertices[vertexSize++] = number(k);
+            }
+            case "f" -> {
+                if (count < 4)
+                    throw new IllegalArgumentException("a face needs three or more vertices");
+                int triangles = count - 3;
+                if (indexSize + 3 * triangles > meshIndices.length)
+                    meshIndices = Arrays.copyOf(meshIndices,
+                            Math.max(2 * meshIndices.length, indexSize + 3 * triangles));
+                // a fan of triangles around the first vertex
+                int first = integer(1);
+                for (int i = 2; i < count - 1; ++i) {
+                    meshIndices[indexSize++] = first;
+                    meshIndices[indexSize++] = integer(i);
+                    meshIndices[indexSize++] = integer(i + 1);
+                }
+            }
+            case "end" -> {
+                expect(1);
+                double[] vertices = vertexSize == meshVertices.length ? meshVertices
+                        : Arrays.copyOf(meshVertices, vertexSize);
+                int[] indices = indexSize == meshIndices.length ? meshIndices : Arrays.copyOf(meshIndices, indexSize);
+                meshVertices = null;
+                meshIndices = null;
+                add(new Mesh(vertices, indices));
+            }
+            default -> throw new IllegalArgumentException("unexpected statement " + keyword + " in a mesh");
+        }
+    }
+
+    /**
+     * Defines a named material by its coefficients, each given by one value or three values.
+     */
+    private void material() {
+        if (count < 2)
+            throw new IllegalArgumentException("missing material name");
+        Material defined = new Material();
+        int i = 2;
+        while (i < count) {
+            String key = tokens[i++];
+            if (key.equals("shininess")) {
+                expectValues(i, 1, key);
+                defined.setShininess(integer(i++));
+                continue;
+            }
+            // a coefficient of three values if the three tokens after the key are numbers
+            boolean triple = i + 2 < count && isNumber(i + 1) && isNumber(i + 2);
+            expectValues(i, triple ? 3 : 1, key);
+            Double3 k = triple ? new Double3(number(i), number(i + 1), number(i + 2)) : new Double3(number(i));
+            i += triple ? 3 : 1;
+            switch (key) {
+                case "kd" -> defined.setKd(k);
+                case "ks" -> defined.setKs(k);
+                case "kr" -> defined.setkR(k);
+                case "kt" -> defined.setkT(k);
+                default -> throw new IllegalArgumentException("unknown material coefficient " + key);
+            }
+        }
+        materials.put(tokens[1], defined);
+    }
+
+    /**
+     * Imports the mesh of a model file, by the extension of the file.
+     *
+     * @param name the name of the file
+     * @return the mesh
+     */
+    private Mesh model(String name) {
+        Path file = directory == null ? Path.of(name) : directory.resolve(name);
+        String lower = name.toLowerCase();
+        if (lower.endsWith(".obj"))
+            return ObjImporter.load(file);
+        if (lower.endsWith(".ply"))
+            return PlyImporter.load(file);
+        throw new IllegalArgumentException("unknown model format " + name);
+    }
+
+    /**
+     * Adds a geometry to the scene, with the current material and emission.
+     *
+     * @param geometry the geometry
+     */
+    private void add(Geometry geometry) {
+        geometries.add(geometry.setEmission(emission).setMaterial(material));
+    }
+
+    /**
+     * Sets the attenuation factors of a light, if the statement has them.
+     *
+     * @param light the light
+     * @param index the index of the first factor in the tokens
+     * @return the light
+     */
+    private PointLight attenuation(PointLight light, int index) {
+        if (count > index)
+            light.setKc(number(index)).setKl(number(index + 1)).setKq(number(index + 2));
+        return light;
+    }
+
+    /**
+     * Builds the camera of the scene from the camera statements.
+     *
+     * @return the camera, or null if there is no camera statement
+     */
+    private Camera camera() {
+        if (cameraValues == null)
+            return null;
+        Camera built;
+        try {
+            built = new Camera(new Point(cameraValues[0], cameraValues[1], cameraValues[2]),
+                    new Vector(cameraValues[3], cameraValues[4], cameraValues[5]),
+                    new Vector(cameraValues[6], cameraValues[7], cameraValues[8]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("wrong camera: " + e.getMessage(), e);
+        }
+        built.setRayTracer(new RayTracerBasic(scene));
+        if (viewPlane != null)
+            built.setVPDistance(viewPlane[0]).setVPSize(viewPlane[1], viewPlane[2]);
+        if (imageName != null)
+            built.setImageWriter(new ImageWriter(imageName, nX, nY));
+        return built;
+    }
+
+    /**
+     * Checks the amount of tokens of the statement.
+     *
+     * @param expected the expected amount of tokens, with the keyword
+     */
+    private void expect(int expected) {
+        if (count != expected)
+            throw new IllegalArgumentException(tokens[0] + " needs " + (expected - 1) + " values");
+    }
+
+    /**
+     * Checks the amount of tokens of a statement with optional values.
+     *
+     * @param required the amount of tokens without the optional values, with the keyword
+     * @param full     the amount of tokens with the optional values
+     */
+    private void expect(int required, int full) {
+        if (count != required && count != full)
+            throw new IllegalArgumentException(tokens[0] + " needs " + (required - 1) + " or " + (full - 1)
+                    + " values");
+    }
+
+    /**
+     * Checks that the values of a key are in the statement.
+     *
+     * @param index  the index of the first value
+     * @param values the amount of values
+     * @param key    the key
+     */
+    private void expectValues(int index, int values, String key) {
+        if (index + values > count)
+            throw new IllegalArgumentException("missing value of " + key);
+    }
+
+    /**
+     * Checks whether a token is a number.
+     *
+     * @param index the index of the token
+     * @return true if the token is a number
+     */
+    private boolean isNumber(int index) {
+        char c = tokens[index].charAt(0);
+        return Character.isDigit(c) || c == '-' || c == '+' || c == '.';
+    }
+
+    /**
+     * Parses a token as a number.
+     *
+     * @param index the index of the token
+     * @return the number
+     */
+    private double number(int index) {
+        try {
+            return Double.parseDouble(tokens[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not a number: " + tokens[index]);
+        }
+    }
+
+    /**
+     * Parses a token as an integer.
+     *
+     * @param index the index of the token
+     * @return the integer
+     */
+    private int integer(int index) {
+        try {
+            return Integer.parseInt(tokens[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("not an integer: " + tokens[index]);
+        }
+    }
+
+    /**
+     * Parses consecutive tokens as numbers.
+     *
+     * @param index  the index of the first token
+     * @param amount the amount of tokens
+     * @return the numbers
+     */
+    private double[] numbers(int index, int amount) {
+        double[] values = new double[amount];
+        for (int i = 0; i < amount; ++i)
+            values[i] = number(index + i);
+        return values;
+    }
+
+    /**
+     * Parses three tokens as a color.
+     *
+     * @param index the index of the first token
+     * @return the color
+     */
+    private Color color(int index) {
+        return new Color(number(index), number(index + 1), number(index + 2));
+    }
+
+    /**
+     * Parses three tokens as a point.
+     *
+     * @param index the index of the first token
+     * @return the point
+     */
+    private Point point(int index) {
+        return new Point(number(index), number(index + 1), number(index + 2));
+    }
+
+    /**
+     * Parses three tokens as a vector.
+     *
+     * @param index the index of the first token
+     * @return the vector
+     */
+    private Vector vector(int index) {
+        return new Vector(number(index), number(index + 1), number(index + 2));
+    }
+}
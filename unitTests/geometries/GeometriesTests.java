@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -59,4 +61,140 @@ class GeometriesTests {
     }
 
 
+    /**
+     * Test method for {@link geometries.Geometries#buildBVH()}.
+     */
+    @Test
+    public void testBuildBVH() {
+        // build a grid of spheres with a plane behind them
+        Geometries linear = new Geometries();
+        Geometries bvh = new Geometries();
+        for (int x = 0; x < 10; ++x)
+            for (int y = 0; y < 10; ++y) {
+                Sphere sphere = new Sphere(0.4, new Point(x, y, 0));
+                linear.add(sphere);
+                bvh.add(sphere);
+            }
+        Plane plane = new Plane(new Point(0, 0, -5), new Vector(0, 0, 1));
+        linear.add(plane);
+        bvh.add(plane);
+        bvh.buildBVH();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the hierarchy returns the same points as the linear scan
+        for (int x = 0; x < 10; ++x)
+            for (int y = 0; y < 10; ++y) {
+                Ray ray = new Ray(new Point(x + 0.1 * y, y - 0.05 * x, 10), new Vector(0.01 * x, 0.02, -1));
+                List<Point> expected = linear.findIntersections(ray);
+                List<Point> result = bvh.findIntersections(ray);
+                assertEquals(expected.size(), result.size(), "TC01: Wrong number of points");
+                assertTrue(result.containsAll(expected), "TC01: Wrong points");
+            }
+
+        // TC02: the ray misses all the boxes but hits the plane
+        Ray ray = new Ray(new Point(50, 50, 10), new Vector(0, 0, -1));
+        assertEquals(List.of(new Point(50, 50, -5)), bvh.findIntersections(ray), "TC02: Wrong points");
+
+        // TC03: the max distance limits the points found in the hierarchy
+        ray = new Ray(new Point(3, 3, 10), new Vector(0, 0, -1));
+        assertEquals(1, bvh.findGeoIntersections(ray, 10).size(), "TC03: Wrong number of points");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the bounding box of the hierarchy with a plane is unbounded
+        assertNull(bvh.getBoundingBox(), "TC11: A plane must make the collection unbounded");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    public void testFindTransparency() {
+        Geometries geometries = new Geometries(
+                new Sphere(1, new Point(0, 0, 4)).setMaterial(new Material().setkT(0.5)),
+                new Sphere(1, new Point(0, 0, 8)).setMaterial(new Material().setkT(0.5)),
+                new Sphere(1, new Point(0, 0, 12))
+        );
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: nothing blocks the ray
+        assertEquals(Double3.ONE, geometries.findTransparency(new Ray(new Point(5, 0, 0), new Vector(0, 0, 1)), 100),
+                "TC01: Wrong transparency");
+
+        // TC02: the ray passes through two points of a transparent sphere
+        assertEquals(new Double3(0.25), geometries.findTransparency(ray, 6), "TC02: Wrong transparency");
+
+        // TC03: the ray passes through two transparent spheres
+        assertEquals(new Double3(0.0625), geometries.findTransparency(ray, 10), "TC03: Wrong transparency");
+
+        // TC04: the ray is blocked by an opaque sphere
+        assertEquals(Double3.ZERO, geometries.findTransparency(ray, 100), "TC04: Wrong transparency");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestGeoIntersection(primitives.Ray)}.
+     */
+    @Test
+    public void testFindClosestGeoIntersection() {
+        Sphere near = new Sphere(1, new Point(0, 0, 4));
+        Sphere far = new Sphere(1, new Point(0, 0, 8));
+        Geometries geometries = new Geometries(far, new Plane(new Point(0, 0, 20), new Vector(0, 0, 1)), near);
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the closest point of all the geometries is found
+        Intersectable.GeoPoint closest = geometries.findClosestGeoIntersection(ray);
+        assertEquals(new Intersectable.GeoPoint(near, new Point(0, 0, 3)), closest, "TC01: Wrong closest point");
+        // the hit record carries the distance, the material and the normal of the point
+        assertEquals(3, closest.getDistance(), 1e-10, "TC01: Wrong distance of the closest point");
+        assertSame(near.getMaterial(), closest.material, "TC01: Wrong material of the closest point");
+        assertEquals(new Vector(0, 0, -1), closest.getNormal(), "TC01: Wrong normal of the closest point");
+
+        // TC02: the ray misses all the geometries
+        assertNull(geometries.findClosestGeoIntersection(new Ray(new Point(0, 0, 0), new Vector(0, 0, -1))),
+                "TC02: There must be no closest point");
+
+        // TC03: the same result in a bounding volume hierarchy
+        geometries = new Geometries();
+        geometries.add(far, near, new Sphere(1, new Point(5, 5, 5)), new Sphere(1, new Point(-5, 5, 5)));
+        geometries.buildBVH();
+        assertEquals(new Intersectable.GeoPoint(near, new Point(0, 0, 3)), geometries.findClosestGeoIntersection(ray),
+                "TC03: Wrong closest point");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: the closest point is farther than the max distance
+        assertNull(geometries.findClosestGeoIntersection(ray, 2.5), "TC11: There must be no closest point");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#getBoundingBox()}.
+     */
+    @Test
+    public void testGetBoundingBox() {
+        Geometries inner = new Geometries(new Sphere(1, new Point(0, 0, 0)));
+        Geometries outer = new Geometries(inner, new Sphere(1, new Point(10, 0, 0)));
+        Ray ray = new Ray(new Point(0, 20, 10), new Vector(0, 0, -1));
+        assertNull(outer.findGeoIntersections(ray), "There must be no points before the change");
+        Geometries hierarchy = new Geometries(inner, new Sphere(1, new Point(10, 0, 0)),
+                new Sphere(1, new Point(-10, 0, 0))).buildBVH();
+        Geometries compiled = outer.compile(true);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a change of a nested collection is found, since a collection which can be changed has no box
+        inner.add(new Sphere(1, new Point(0, 20, 0)));
+        assertEquals(2, outer.findGeoIntersections(ray).size(), "TC01: The nested change was not found");
+        assertNull(outer.getBoundingBox(), "TC01: A collection which can be changed must have no box");
+
+        // TC02: a change of a nested collection is found through a hierarchy
+        assertEquals(2, hierarchy.findGeoIntersections(ray).size(), "TC02: The nested change was not found");
+
+        // TC03: a compiled collection keeps the geometries it was compiled with
+        assertNull(compiled.findGeoIntersections(ray), "TC03: The compiled collection was changed");
+        assertFalse(compiled.getBoundingBox().intersects(ray, 100), "TC03: Wrong box of the compiled collection");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: an empty collection has no box
+        assertNull(new Geometries().getBoundingBox(), "TC11: An empty collection must have no box");
+    }
+
     }
\ No newline at end of file
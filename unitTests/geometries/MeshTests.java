@@ -0,0 +1,169 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link geometries.Mesh}
+ */
+class MeshTests {
+
+    /**
+     * A unit square on the plane z=0 made of two faces which share the diagonal
+     */
+    private final Mesh square = new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, new int[]{0, 1, 2, 0, 2, 3});
+
+    /**
+     * Builds a grid of n*n unit squares on the plane z=0, two faces per square
+     *
+     * @param n the amount of squares in a row
+     * @return the mesh of the grid
+     */
+    private static Mesh grid(int n) {
+        double[] vertices = new double[(n + 1) * (n + 1) * 3];
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j) {
+                int v = 3 * (i * (n + 1) + j);
+                vertices[v] = j;
+                vertices[v + 1] = i;
+            }
+        int[] indices = new int[n * n * 6];
+        int f = 0;
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                int v = i * (n + 1) + j;
+                indices[f++] = v;
+                indices[f++] = v + 1;
+                indices[f++] = v + n + 2;
+                indices[f++] = v;
+                indices[f++] = v + n + 2;
+                indices[f++] = v + n + 1;
+            }
+        return new Mesh(vertices, indices);
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#Mesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Correct mesh
+        assertEquals(2, square.getFaceCount(), "TC01: Wrong amount of faces");
+        assertEquals(4, square.getVertexCount(), "TC01: Wrong amount of vertices");
+
+        // TC02: Index out of the vertices range
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 3}),
+                "TC02: Constructed a mesh with a wrong index");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Indices are not triples
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1}),
+                "TC11: Constructed a mesh with a partial face");
+
+        // TC12: No faces
+        assertThrows(IllegalArgumentException.class,
+                () -> new Mesh(new double[]{0, 0, 0}, new int[]{}),
+                "TC12: Constructed an empty mesh");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#getNormal(primitives.Point)}.
+     */
+    @Test
+    void testGetNormal() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Point inside a face
+        assertEquals(new Vector(0, 0, 1), square.getNormal(new Point(0.7, 0.2, 0)), "TC01: Bad normal to mesh");
+
+        // TC02: Point outside the mesh
+        assertThrows(IllegalArgumentException.class, () -> square.getNormal(new Point(2, 2, 0)),
+                "TC02: Normal of a point which is not on the mesh");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findGeoIntersections(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray through a face, the point carries the normal of the face
+        List<Intersectable.GeoPoint> result =
+                square.findGeoIntersections(new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1)));
+        assertEquals(1, result.size(), "TC01: Wrong number of points");
+        assertEquals(new Point(0.25, 0.5, 0), result.get(0).point, "TC01: Wrong point");
+        assertEquals(new Vector(0, 0, 1), result.get(0).getNormal(), "TC01: Wrong normal");
+        assertEquals(0.25, result.get(0).getU(), 1e-10, "TC01: Wrong barycentric coordinate u");
+        assertEquals(0.25, result.get(0).getV(), 1e-10, "TC01: Wrong barycentric coordinate v");
+
+        // TC02: Ray misses the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(2, 0.5, 1), new Vector(0, 0, -1))),
+                "TC02: Ray out of the mesh");
+
+        // TC03: The mesh is farther than the max distance
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1)), 0.5),
+                "TC03: Mesh after the max distance");
+
+        // TC04: Ray goes away from the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, 1))),
+                "TC04: Mesh behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray parallel to the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(-1, 0.5, 0), new Vector(1, 0, 0))),
+                "TC11: Ray in the plane of the mesh");
+
+        // TC12: Ray through the shared edge, like for separate triangles
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))),
+                "TC12: Ray through an edge");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findClosestGeoIntersection(primitives.Ray)}.
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // two parallel grids, the ray crosses both of them
+        Mesh mesh = new Mesh(new double[]{0, 0, 0, 4, 0, 0, 0, 4, 0, 0, 0, 2, 4, 0, 2, 0, 4, 2},
+                new int[]{0, 1, 2, 3, 4, 5});
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The closer face is returned
+        Ray ray = new Ray(new Point(1, 1, 5), new Vector(0, 0, -1));
+        assertEquals(new Point(1, 1, 2), mesh.findClosestGeoIntersection(ray).point, "TC01: Wrong closest point");
+        assertEquals(2, mesh.findGeoIntersections(ray).size(), "TC01: Wrong number of points");
+
+        // TC02: A large mesh agrees with a linear scan of separate triangles
+        Mesh large = grid(30);
+        Ray diagonal = new Ray(new Point(-1, -2, 3), new Vector(13.3, 11.7, -3));
+        Intersectable.GeoPoint gp = large.findClosestGeoIntersection(diagonal);
+        Triangle triangle = new Triangle(new Point(0, 0, 0), new Point(30, 0, 0), new Point(0, 30, 0));
+        assertEquals(triangle.findIntersections(diagonal).get(0), gp.point, "TC02: Wrong point in a large mesh");
+    }
+
+    /**
+     * Test method for {@link geometries.Mesh#findTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    void testFindTransparency() {
+        Ray ray = new Ray(new Point(0.25, 0.5, 1), new Vector(0, 0, -1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Opaque mesh blocks the light
+        assertEquals(Double3.ZERO, square.findTransparency(ray, 10), "TC01: Opaque mesh");
+
+        // TC02: Transparent mesh passes its kT
+        Mesh transparent = (Mesh) new Mesh(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, new int[]{0, 1, 2, 0, 2, 3})
+                .setMaterial(new Material().setkT(0.5));
+        assertEquals(new Double3(0.5), transparent.findTransparency(ray, 10), "TC02: Transparent mesh");
+
+        // TC03: The light is before the mesh
+        assertEquals(Double3.ONE, square.findTransparency(ray, 0.5), "TC03: Light before the mesh");
+    }
+}
@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Vector;
 import primitives.Ray;
@@ -134,4 +136,33 @@ class SphereTests {
         assertNull(result, "Wrong number of points");
 
     }
+
+    /**
+     * Test method for {@link geometries.Sphere#findTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    public void testFindTransparency() {
+        Sphere sphere = new Sphere(1d, new Point(0, 0, 4));
+        sphere.setMaterial(new Material().setkT(0.5));
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray misses the sphere
+        assertEquals(Double3.ONE, sphere.findTransparency(new Ray(new Point(3, 0, 0), new Vector(0, 0, 1)), 10),
+                "TC01: Wrong transparency");
+        // TC02: The light is inside the sphere, the ray passes a single point
+        assertEquals(new Double3(0.5), sphere.findTransparency(ray, 4), "TC02: Wrong transparency");
+        // TC03: The ray passes through both points of the sphere
+        assertEquals(new Double3(0.25), sphere.findTransparency(ray, 10), "TC03: Wrong transparency");
+        // TC04: The light is before the sphere
+        assertEquals(Double3.ONE, sphere.findTransparency(ray, 2), "TC04: Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The ray starts at the center
+        assertEquals(new Double3(0.5), sphere.findTransparency(new Ray(new Point(0, 0, 4), new Vector(0, 0, 1)), 10),
+                "TC11: Wrong transparency");
+        // TC12: The ray starts on the sphere and goes out
+        assertEquals(Double3.ONE, sphere.findTransparency(new Ray(new Point(0, 0, 5), new Vector(0, 0, 1)), 10),
+                "TC12: Wrong transparency");
+    }
 }
\ No newline at end of file
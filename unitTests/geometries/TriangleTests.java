@@ -1,6 +1,8 @@
 package geometries;
 
 import org.junit.jupiter.api.Test;
+import primitives.Double3;
+import primitives.Material;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -66,6 +68,11 @@ class TriangleTests {
         // TC13: Ray on edge's continuation(0 points)
         assertNull(triangle.findIntersections(new Ray(new Point(12, -1, -1), new Vector(0, 1, 1))),
                 "Ray's line out of triangle");
+        // TC14: Ray just inside the edge (1 point), like for the face of a mesh
+        Ray ray = new Ray(new Point(6, 1e-12, 1), new Vector(0, 0, -1));
+        assertEquals(1, triangle.findIntersections(ray).size(), "Ray's line just inside the triangle");
+        assertEquals(1, new Mesh(new double[]{1, 0, 0, 1, 10, 0, 11, 0, 0}, new int[]{0, 1, 2})
+                .findIntersections(ray).size(), "Ray's line just inside the mesh face");
     }
     /**
      * Test method for {@link geometries.Triangle#findGeoIntersections(primitives.Ray,double)}.
@@ -78,4 +85,50 @@ class TriangleTests {
         assertNull(result, "Wrong number of points");
 
     }
+
+    /**
+     * Test method for the barycentric coordinates of {@link geometries.Triangle#findGeoIntersections(primitives.Ray)}.
+     */
+    @Test
+    public void testBarycentricCoordinates() {
+        Triangle triangle = new Triangle(new Point(0, 0, 0), new Point(4, 0, 0), new Point(0, 4, 0));
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The point is the weighted sum of the vertices by its barycentric coordinates
+        List<Intersectable.GeoPoint> result = triangle.findGeoIntersections(new Ray(new Point(1, 2, 1),
+                new Vector(0, 0, -1)));
+        assertEquals(1, result.size(), "Wrong number of points");
+        assertEquals(0.25, result.get(0).getU(), 1e-10, "Wrong weight of the second vertex");
+        assertEquals(0.5, result.get(0).getV(), 1e-10, "Wrong weight of the third vertex");
+
+        // TC02: Geometries without faces have no barycentric coordinates
+        assertTrue(Double.isNaN(new Sphere(1, new Point(0, 0, 0))
+                .findGeoIntersections(new Ray(new Point(0, 0, 2), new Vector(0, 0, -1))).get(0).getU()),
+                "Barycentric coordinates of a sphere");
+    }
+
+    /**
+     * Test method for {@link geometries.Triangle#findTransparency(primitives.Ray, double)}.
+     */
+    @Test
+    public void testFindTransparency() {
+        Triangle triangle = new Triangle(new Point(0, 0, 1), new Point(0, 4, 1), new Point(4, 0, 1));
+        triangle.setMaterial(new Material().setkT(0.5));
+        Vector v = new Vector(0, 0, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray passes through the triangle
+        assertEquals(new Double3(0.5), triangle.findTransparency(new Ray(new Point(1, 1, 0), v), 2),
+                "TC01: Wrong transparency");
+        // TC02: The ray passes outside the triangle
+        assertEquals(Double3.ONE, triangle.findTransparency(new Ray(new Point(3, 3, 0), v), 2),
+                "TC02: Wrong transparency");
+        // TC03: The light is before the triangle
+        assertEquals(Double3.ONE, triangle.findTransparency(new Ray(new Point(1, 1, 0), v), 0.5),
+                "TC03: Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The ray passes through an edge
+        assertEquals(Double3.ONE, triangle.findTransparency(new Ray(new Point(2, 2, 0), v), 2),
+                "TC11: Wrong transparency");
+    }
 }
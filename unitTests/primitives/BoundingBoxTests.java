@@ -0,0 +1,75 @@
+package primitives;
+
+import geometries.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link primitives.BoundingBox}
+ */
+class BoundingBoxTests {
+
+    /**
+     * Test method for {@link primitives.BoundingBox#intersects(primitives.Ray, double)}.
+     */
+    @Test
+    void testIntersects() {
+        BoundingBox box = new BoundingBox(0, 0, 0, 1, 1, 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Ray starts before the box and goes through it
+        assertTrue(box.intersects(new Ray(new Point(-1, 0.5, 0.5), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                "TC01: Ray through the box");
+
+        // TC02: Ray starts inside the box
+        assertTrue(box.intersects(new Ray(new Point(0.5, 0.5, 0.5), new Vector(1, 1, 1)), Double.POSITIVE_INFINITY),
+                "TC02: Ray from inside the box");
+
+        // TC03: Ray passes beside the box
+        assertFalse(box.intersects(new Ray(new Point(-1, 2, 0.5), new Vector(1, 0.1, 0)), Double.POSITIVE_INFINITY),
+                "TC03: Ray misses the box");
+
+        // TC04: Ray goes away from the box
+        assertFalse(box.intersects(new Ray(new Point(-1, 0.5, 0.5), new Vector(-1, 0, 0)), Double.POSITIVE_INFINITY),
+                "TC04: Box behind the ray");
+
+        // TC05: The box is farther than the max distance
+        assertFalse(box.intersects(new Ray(new Point(-5, 0.5, 0.5), new Vector(1, 0, 0)), 4),
+                "TC05: Box after the max distance");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Ray parallel to an axis outside the slab
+        assertFalse(box.intersects(new Ray(new Point(-1, 0.5, 2), new Vector(1, 0, 0)), Double.POSITIVE_INFINITY),
+                "TC11: Parallel ray outside the box");
+
+        // TC12: Ray through a flat box (like of an axis aligned polygon)
+        BoundingBox flat = new BoundingBox(0, 0, 0, 1, 1, 0);
+        assertTrue(flat.intersects(new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1)), Double.POSITIVE_INFINITY),
+                "TC12: Ray through a flat box");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#getBoundingBox()}.
+     */
+    @Test
+    void testGetBoundingBox() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Sphere is bounded by a cube around its center
+        assertEquals(16 * 6, new Sphere(2, new Point(1, 1, 1)).getBoundingBox().surfaceArea(), 1e-10,
+                "TC01: Wrong sphere box");
+
+        // TC02: Triangle is bounded by the box of its vertices
+        assertEquals(2, new Triangle(new Point(0, 0, 0), new Point(1, 0, 0), new Point(0, 1, 0))
+                .getBoundingBox().surfaceArea(), 1e-10, "TC02: Wrong triangle box");
+
+        // TC03: Cylinder along an axis is bounded by its bases
+        assertEquals(2 * (4 + 2 * 2 * 3), new Cylinder(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 3)
+                .getBoundingBox().surfaceArea(), 1e-10, "TC03: Wrong cylinder box");
+
+        // TC04: Infinite geometries are unbounded
+        assertNull(new Plane(new Point(0, 0, 0), new Vector(0, 0, 1)).getBoundingBox(), "TC04: Plane is unbounded");
+        assertNull(new Tube(1, new Ray(new Point(0, 0, 0), new Vector(0, 0, 1))).getBoundingBox(),
+                "TC04: Tube is unbounded");
+    }
+}
@@ -0,0 +1,131 @@
+package renderer;
+
+import geometries.*;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link renderer.Animation}
+ */
+class AnimationTests {
+
+    /**
+     * The scene of the tests - spheres and a triangle around the origin
+     */
+    private static final Scene SCENE = new Scene.SceneBuilder("Animation scene")
+            .setBackground(new Color(30, 30, 30)).build();
+
+    static {
+        SCENE.geometries.add(
+                new Sphere(30d, new Point(0, 0, 0)).setEmission(new Color(200, 100, 50))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30)),
+                new Sphere(15d, new Point(50, 0, 0)).setEmission(new Color(50, 200, 50)),
+                new Triangle(new Point(-80, -40, -60), new Point(80, -40, -60), new Point(0, 60, -60))
+                        .setEmission(new Color(20, 20, 80)));
+        SCENE.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 100)));
+    }
+
+    /**
+     * Builds a camera looking at the origin of the scene
+     *
+     * @param image the image of the camera
+     * @return the camera
+     */
+    private static Camera camera(ImageWriter image) {
+        return testCamera(new Point(0, 0, 200)).setImageWriter(image).setRayTracer(new RayTracerBasic(SCENE));
+    }
+
+    /**
+     * The poses of a turntable around the origin - the camera moves sideways and turns back to the origin
+     *
+     * @param frames the amount of frames
+     * @return the poses
+     */
+    private static List<Camera.Pose> turntable(int frames) {
+        Camera camera = camera(testImage("turntable"));
+        List<Camera.Pose> poses = new ArrayList<>();
+        for (int frame = 0; frame < frames; ++frame) {
+            poses.add(camera.getPose());
+            camera.moveRightLeft(30).spinAroundVUp(8);
+        }
+        return poses;
+    }
+
+    /**
+     * Renders a single frame of the turntable by a camera of its own
+     *
+     * @param pose the pose of the frame
+     * @return the image of the frame
+     */
+    private static ImageWriter single(Camera.Pose pose) {
+        ImageWriter image = testImage("single frame");
+        camera(image).copy(pose, image).renderImage();
+        return image;
+    }
+
+    /**
+     * Test method for {@link renderer.Animation#render(java.util.function.ObjIntConsumer)}.
+     */
+    @Test
+    void testRender() {
+        List<Camera.Pose> poses = turntable(5);
+        List<ImageWriter> expected = new ArrayList<>();
+        for (Camera.Pose pose : poses)
+            expected.add(single(pose));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Frames back to back, in order, each at its pose
+        List<ImageWriter> frames = new ArrayList<>();
+        List<Integer> numbers = new ArrayList<>();
+        new Animation(camera(testImage("turntable")).setMultithreading(2).setDebugPrint(0),
+                poses).render((image, frame) -> {
+            frames.add(image);
+            numbers.add(frame);
+        });
+        assertEquals(List.of(0, 1, 2, 3, 4), numbers, "TC01: Wrong frames");
+        assertEquals("turntable-0003", frames.get(3).getImageName(), "TC01: Wrong frame name");
+        for (int frame = 0; frame < poses.size(); ++frame)
+            assertSameImage(expected.get(frame), frames.get(frame), "TC01: Wrong frame " + frame);
+        assertNotEquals(frames.get(0).readPixel(SIZE / 2, SIZE / 2), frames.get(4).readPixel(SIZE / 2, SIZE / 2),
+                "TC01: The camera did not move");
+
+        // TC02: Several frames at once, given in order
+        frames.clear();
+        numbers.clear();
+        new Animation(camera(testImage("turntable")).setMultithreading(3).setDebugPrint(0)
+                .setTileSize(4), poses).setConcurrentFrames(3).render((image, frame) -> {
+            frames.add(image);
+            numbers.add(frame);
+        });
+        assertEquals(List.of(0, 1, 2, 3, 4), numbers, "TC02: Wrong frames");
+        for (int frame = 0; frame < poses.size(); ++frame)
+            assertSameImage(expected.get(frame), frames.get(frame), "TC02: Wrong frame " + frame);
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Concurrent frames without threads - every frame renders in a thread of its own
+        frames.clear();
+        new Animation(camera(testImage("turntable")), poses).setConcurrentFrames(2)
+                .render((image, frame) -> frames.add(image));
+        for (int frame = 0; frame < poses.size(); ++frame)
+            assertSameImage(expected.get(frame), frames.get(frame), "TC11: Wrong frame " + frame);
+
+        // TC12: No poses
+        numbers.clear();
+        new Animation(camera(testImage("turntable")), List.of())
+                .render((image, frame) -> numbers.add(frame));
+        assertTrue(numbers.isEmpty(), "TC12: Frames without poses");
+
+        // TC13: A wrong amount of concurrent frames
+        assertThrows(IllegalArgumentException.class,
+                () -> new Animation(camera(testImage("turntable")), poses).setConcurrentFrames(0),
+                "TC13: No concurrent frames accepted");
+    }
+}
@@ -57,4 +57,33 @@ class CameraTest {
 
     }
 
+    /**
+     * Test method for
+     * {@link renderer.Camera#constructTileRays(int, int, int, int, int, int, Ray[])}.
+     */
+    @Test
+    void testConstructTileRays() {
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPDistance(10).setVPSize(8, 8);
+        String badRay = "Bad ray";
+
+        // ============ Equivalence Partitions Tests ==============
+        // EP01: 4X4 tile of 2X3 pixels inside - the rays of the pixels row by row
+        Ray[] rays = camera.constructTileRays(4, 4, 1, 1, 2, 3, new Ray[6]);
+        int index = 0;
+        for (int i = 1; i < 4; ++i)
+            for (int j = 1; j < 3; ++j)
+                assertEquals(camera.constructRay(4, 4, j, i), rays[index++], badRay);
+
+        // =============== Boundary Values Tests ==================
+        // BV01: 4X4 whole last row
+        rays = camera.constructRowRays(4, 4, 3, new Ray[4]);
+        for (int j = 0; j < 4; ++j)
+            assertEquals(camera.constructRay(4, 4, j, 3), rays[j], badRay);
+
+        // BV02: The rays follow a moved camera
+        camera.moveUpDown(1);
+        assertEquals(new Ray(new Point(0, -1, 0), new Vector(1, -1, -10)), camera.constructRay(4, 4, 1, 1), badRay);
+    }
+
 }
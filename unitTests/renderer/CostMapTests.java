@@ -0,0 +1,85 @@
+package renderer;
+
+import geometries.*;
+import lighting.*;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.testCamera;
+
+/**
+ * Unit tests for {@link renderer.CostMap}
+ */
+class CostMapTests {
+
+    /**
+     * The size of the test images in pixels - larger than the shared size, so the pixels of the sphere,
+     * of the triangle and of the background are far apart
+     */
+    private static final int SIZE = 40;
+
+    /**
+     * Builds a camera of a scene of a glass sphere in front of a triangle, on a black background
+     *
+     * @return the camera
+     */
+    private static Camera camera() {
+        Scene scene = new Scene.SceneBuilder("Cost map scene").build();
+        scene.geometries.add( //
+                new Sphere(20d, new Point(0, 0, -100)).setEmission(new Color(100, 50, 20)) //
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30).setkT(0.6)),
+                new Triangle(new Point(-90, -90, -200), new Point(90, -90, -200), new Point(0, 90, -200))
+                        .setEmission(new Color(20, 20, 80)).setMaterial(new Material().setKd(0.5)));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 0)));
+        return testCamera().setImageWriter(new ImageWriter("cost map test", SIZE, SIZE)) //
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderImage()} with {@link renderer.Camera#setCostMap(CostMap.Metric)}.
+     */
+    @Test
+    void testCostMap() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The glass sphere costs more tests than the triangle, which costs more than the background
+        CostMap tests = camera().setCostMap(CostMap.Metric.INTERSECTION_TESTS).renderImage().getCostMap();
+        float background = tests.get(1, 1), triangle = tests.get(SIZE / 2, SIZE - 10),
+                sphere = tests.get(SIZE / 2, SIZE / 2);
+        assertTrue(background > 0, "TC01: No tests for the background");
+        assertTrue(triangle > background, "TC01: The triangle is not more expensive than the background");
+        assertTrue(sphere > triangle, "TC01: The glass sphere is not more expensive than the triangle");
+
+        // TC02: The costs do not depend on the threads
+        CostMap threads = camera().setCostMap(CostMap.Metric.INTERSECTION_TESTS).setMultithreading(3)
+                .setDebugPrint(0).setTileSize(8).renderImage().getCostMap();
+        assertArrayEquals(tests.getCosts(), threads.getCosts(), "TC02: Wrong costs with threads");
+
+        // TC03: The adaptive super sampling costs more at the edges of the geometries
+        CostMap adaptive = camera().setCostMap(CostMap.Metric.INTERSECTION_TESTS).setAdaptiveSuperSampling(true)
+                .renderImage().getCostMap();
+        assertTrue(adaptive.max() > adaptive.get(1, 1) * 4, "TC03: No adaptive subdivision cost");
+
+        // TC04: The grid sampling costs amountRays * amountRays + 1 rays
+        CostMap grid = camera().setCostMap(CostMap.Metric.INTERSECTION_TESTS).setAmountRays(3)
+                .renderImage().getCostMap();
+        assertEquals(10 * background, grid.get(1, 1), "TC04: Wrong cost of the grid sampling");
+
+        // TC05: The time of the pixels is measured
+        CostMap time = camera().setCostMap(CostMap.Metric.TIME).renderImage().getCostMap();
+        assertEquals(CostMap.Metric.TIME, time.getMetric(), "TC05: Wrong metric");
+        assertTrue(time.max() > 0, "TC05: No time measured");
+        time.writeToImage("cost map test heatmap");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No cost map unless it is requested, and no statistics for the tests of the map
+        Camera camera = camera().setCostMap(CostMap.Metric.INTERSECTION_TESTS).renderImage();
+        assertNull(camera.getStatistics(), "TC11: Statistics without request");
+        assertNull(camera().renderImage().getCostMap(), "TC11: Cost map without request");
+
+        // TC12: The extreme percentiles are the cheapest and the most expensive pixels
+        assertEquals(tests.max(), tests.percentile(1), "TC12: Wrong 100th percentile");
+        assertEquals(background, tests.percentile(0), "TC12: Wrong 0th percentile");
+    }
+}
@@ -38,4 +38,30 @@ class ImageWriterTest {
 
     }
 
+    /**
+     * Test method for {@link renderer.ImageWriter#writePixel(int, int, primitives.Color)} and
+     * {@link renderer.ImageWriter#readPixel(int, int)}.
+     */
+    @Test
+    void testWritePixel() {
+        ImageWriter imageWriter = new ImageWriter("pixel test", 4, 3);
+        Color red = new Color(255, 0, 0);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A pixel inside the image
+        imageWriter.writePixel(3, 2, red);
+        assertEquals(red.getRGB(), imageWriter.readPixel(3, 2), "TC01: Wrong pixel");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A column after the last one, which must not wrap to the next row
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.writePixel(4, 0, red),
+                "TC11: A column out of the image");
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.readPixel(4, 0),
+                "TC11: A column out of the image");
+        // TC12: Negative indices and a row after the last one
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.writePixel(-1, 0, red),
+                "TC12: A negative column");
+        assertThrows(IllegalArgumentException.class, () -> imageWriter.readPixel(0, 3), "TC12: A row out of the image");
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package renderer;
+
+import geometries.*;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.assertSameImage;
+import static renderer.RenderTestHelper.testCamera;
+
+/**
+ * Unit tests for {@link renderer.PassListener} and the preview passes of {@link renderer.Camera}
+ */
+class PassListenerTests {
+
+    /**
+     * The size of the test images in pixels - not a multiple of the blocks of the passes
+     */
+    private static final int SIZE = 21;
+
+    /**
+     * Builds a camera of a scene of a sphere and a triangle on a gray background
+     *
+     * @param image the image of the camera
+     * @return the camera
+     */
+    private static Camera camera(ImageWriter image) {
+        Scene scene = new Scene.SceneBuilder("Preview scene").setBackground(new Color(50, 50, 50)).build();
+        scene.geometries.add(
+                new Sphere(40d, new Point(0, 0, -100)).setEmission(new Color(200, 100, 50))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30)),
+                new Triangle(new Point(-90, -90, -200), new Point(90, -90, -200), new Point(0, 90, -200))
+                        .setEmission(new Color(20, 20, 80)));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 0)));
+        return testCamera().setImageWriter(image).setRayTracer(new RayTracerBasic(scene)).setStatistics(true);
+    }
+
+    /**
+     * Builds an image of the size of the tests
+     *
+     * @return the image
+     */
+    private static ImageWriter image() {
+        return new ImageWriter("preview test", SIZE, SIZE);
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#setPreviewPasses(int)}.
+     */
+    @Test
+    void testPreviewPasses() {
+        ImageWriter full = image();
+        camera(full).renderImage();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The passes trace every pixel once and end with the full image
+        ImageWriter preview = image();
+        List<Integer> passes = new ArrayList<>();
+        List<int[]> blocks = new ArrayList<>();
+        Camera camera = camera(preview).setPreviewPasses(3).setPassListener(pass -> {
+            passes.add(pass);
+            // the pixels of a block of the coarsest pass, and of the pass of a quarter of the pixels
+            blocks.add(new int[]{preview.readPixel(8, 8), preview.readPixel(11, 11), preview.readPixel(10, 10)});
+        });
+        camera.renderImage();
+        assertEquals(List.of(1, 2, 3), passes, "TC01: Wrong passes");
+        assertEquals(SIZE * SIZE, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC01: Pixels were traced more than once");
+        assertSameImage(full, preview, "TC01: Wrong full image");
+
+        // TC02: The pixels between the traced pixels have the color of their block
+        assertEquals(blocks.get(0)[0], blocks.get(0)[1], "TC02: Wrong block of the first pass");
+        assertEquals(full.readPixel(10, 10), blocks.get(1)[2], "TC02: Pixel of the second pass not traced");
+        assertEquals(blocks.get(1)[2], blocks.get(1)[1], "TC02: Wrong block of the second pass");
+
+        // TC03: The passes with threads and tiles which are not aligned to the blocks
+        ImageWriter threads = image();
+        camera(threads).setPreviewPasses(3).setMultithreading(3).setDebugPrint(0).setTileSize(5).renderImage();
+        assertSameImage(full, threads, "TC03: Wrong image with threads");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A rendering without preview is a single pass
+        passes.clear();
+        camera(image()).setPassListener(passes::add).renderImage();
+        assertEquals(List.of(1), passes, "TC11: Wrong passes without preview");
+
+        // TC12: The passes of the progressive sampling
+        passes.clear();
+        camera(image()).setProgressiveSampling(0.01, 16).setPassListener(passes::add).renderImage();
+        assertTrue(passes.size() > 1, "TC12: No passes of the progressive sampling");
+
+        // TC13: A wrong amount of passes
+        assertThrows(IllegalArgumentException.class, () -> camera(image()).setPreviewPasses(0),
+                "TC13: No passes accepted");
+    }
+}
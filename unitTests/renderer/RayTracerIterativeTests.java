@@ -0,0 +1,120 @@
+package renderer;
+
+import geometries.*;
+import lighting.*;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import java.util.List;
+
+import static java.awt.Color.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link renderer.RayTracerIterative}
+ */
+class RayTracerIterativeTests {
+
+    /**
+     * Builds a scene of a glass sphere in front of two mirrors
+     *
+     * @param k the factor of the reflection and refraction coefficients, 0 for a scene without secondary rays
+     * @return the scene
+     */
+    private static Scene mirrorsScene(double k) {
+        Scene scene = new Scene.SceneBuilder("Iterative tracer scene").build();
+        scene.setAmbientLight(new AmbientLight(new Color(255, 255, 255), 0.1));
+        scene.geometries.add( //
+                new Sphere(400d, new Point(0, 0, -1000)).setEmission(new Color(0, 50, 100)) //
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20).setkT(0.5 * k)),
+                new Sphere(200d, new Point(0, 0, -1000)).setEmission(new Color(100, 50, 20)) //
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20).setkR(0.3 * k)),
+                new Plane(new Point(0, 0, -2000), new Vector(0, 0, 1)).setEmission(new Color(20, 20, 20)) //
+                        .setMaterial(new Material().setkR(0.8 * k)),
+                new Plane(new Point(0, -600, 0), new Vector(0, 1, 0.2)).setEmission(new Color(20, 20, 20)) //
+                        .setMaterial(new Material().setkR(new Double3(0.5 * k, 0, 0.4 * k))));
+        scene.lights.add(new SpotLight(new Color(1020, 400, 400), new Point(-750, 750, 150), new Vector(1, -1, -2)) //
+                .setKl(0.00001).setKq(0.000005));
+        scene.lights.add(new DirectionalLight(new Color(YELLOW).scale(0.3), new Vector(0, -1, -1)));
+        return scene;
+    }
+
+    /**
+     * Checks that two colors are equal up to the rounding of the color components
+     *
+     * @param expected the expected color
+     * @param actual   the actual color
+     * @param message  the message of a failure
+     */
+    private static void assertSameColor(Color expected, Color actual, String message) {
+        int e = expected.getRGB(), a = actual.getRGB();
+        for (int shift = 0; shift < 24; shift += 8)
+            assertEquals((e >> shift) & 0xFF, (a >> shift) & 0xFF, 1, message);
+    }
+
+    /**
+     * Test method for {@link renderer.RayTracerIterative#traceRay(primitives.Ray)}.
+     */
+    @Test
+    void testTraceRay() {
+        Scene scene = mirrorsScene(1);
+        RayTracerBasic recursive = new RayTracerBasic(scene);
+        Point p0 = new Point(0, 0, 1000);
+        Ray[] rays = {new Ray(p0, new Vector(0, 0, -1)), new Ray(p0, new Vector(0.1, 0.1, -1)),
+                new Ray(p0, new Vector(-0.3, -0.4, -1)), new Ray(p0, new Vector(0.35, 0, -1))};
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Without the roulette the stack gives the colors of the recursion
+        RayTracerIterative iterative = new RayTracerIterative(scene).setRouletteDepth(Integer.MAX_VALUE);
+        for (Ray ray : rays)
+            assertSameColor(recursive.traceRay(ray), iterative.traceRay(ray), "TC01: Wrong color without roulette");
+
+        // TC02: With the roulette the average color converges to the color of the recursion
+        iterative = new RayTracerIterative(scene).setRouletteDepth(0);
+        Ray ray = rays[1];
+        Color sum = Color.BLACK;
+        int samples = 4000;
+        for (int i = 0; i < samples; ++i)
+            sum = sum.add(iterative.traceRay(ray));
+        int e = recursive.traceRay(ray).getRGB(), a = sum.reduce(samples).getRGB();
+        for (int shift = 0; shift < 24; shift += 8)
+            assertEquals((e >> shift) & 0xFF, (a >> shift) & 0xFF, 8, "TC02: Roulette changed the average color");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No secondary rays - only the local effects of the first point, like in a scene without mirrors
+        RayTracerBasic local = new RayTracerBasic(mirrorsScene(0));
+        iterative = new RayTracerIterative(scene).setMaxSecondaryRays(0);
+        for (Ray r : rays)
+            assertSameColor(local.traceRay(r), iterative.traceRay(r), "TC11: Secondary rays were traced");
+    }
+
+    /**
+     * Test method for {@link renderer.RayTracerIterative#traceRays(java.util.List)}.
+     */
+    @Test
+    void testTraceRays() {
+        Scene scene = mirrorsScene(1);
+        Point p0 = new Point(0, 0, 1000);
+        List<Ray> rays = List.of(new Ray(p0, new Vector(0, 0, -1)), new Ray(p0, new Vector(0.1, 0.1, -1)),
+                new Ray(p0, new Vector(-0.3, -0.4, -1)), new Ray(p0, new Vector(0.35, 0, -1)));
+        RayTracerIterative one = new RayTracerIterative(scene).setRouletteDepth(Integer.MAX_VALUE)
+                .setMaxSecondaryRays(1);
+        RayTracerIterative none = new RayTracerIterative(scene).setRouletteDepth(Integer.MAX_VALUE)
+                .setMaxSecondaryRays(0);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Fewer secondary rays than rays - only the first rays get a secondary ray
+        Color expected = one.traceRay(rays.get(0)).add(one.traceRay(rays.get(1)), none.traceRay(rays.get(2)),
+                none.traceRay(rays.get(3))).reduce(rays.size());
+        assertSameColor(expected, new RayTracerIterative(scene).setRouletteDepth(Integer.MAX_VALUE)
+                .setMaxSecondaryRays(2).traceRays(rays), "TC01: Wrong split of the secondary rays");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: No secondary rays for any ray of the pixel
+        expected = Color.BLACK;
+        for (Ray ray : rays)
+            expected = expected.add(none.traceRay(ray));
+        assertSameColor(expected.reduce(rays.size()), none.traceRays(rays), "TC11: Secondary rays were traced");
+    }
+}
@@ -0,0 +1,203 @@
+package renderer;
+
+import geometries.Sphere;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link renderer.RenderHandle}
+ */
+class RenderHandleTests {
+
+    /**
+     * The scene of the tests - a sphere on a gray background
+     */
+    private static final Scene SCENE = new Scene.SceneBuilder("Render handle scene")
+            .setBackground(new Color(50, 50, 50)).build();
+
+    static {
+        SCENE.geometries.add(new Sphere(60d, new Point(0, 0, -100)).setEmission(new Color(200, 100, 50)));
+    }
+
+    /**
+     * A ray tracer which calls a hook with the number of every traced ray
+     */
+    private static class HookedRayTracer extends RayTracerBase {
+        private final RayTracerBase tracer = new RayTracerBasic(SCENE);
+        private final AtomicInteger rays = new AtomicInteger();
+        private final IntConsumer hook;
+
+        HookedRayTracer(IntConsumer hook) {
+            super(SCENE);
+            this.hook = hook;
+        }
+
+        @Override
+        public Color traceRay(Ray ray) {
+            hook.accept(rays.incrementAndGet());
+            return tracer.traceRay(ray);
+        }
+
+        @Override
+        public Color traceRays(List<Ray> rays) {
+            return tracer.traceRays(rays);
+        }
+    }
+
+    /**
+     * Builds an image of the size of the tests
+     *
+     * @return the image
+     */
+    private static ImageWriter image() {
+        return testImage("render handle test");
+    }
+
+    /**
+     * Builds a camera of the scene of the tests
+     *
+     * @param tracer the ray tracer of the camera
+     * @param image  the image of the camera
+     * @return the camera
+     */
+    private static Camera camera(RayTracerBase tracer, ImageWriter image) {
+        return testCamera().setImageWriter(image).setRayTracer(tracer).setTileSize(4);
+    }
+
+    /**
+     * Counts the pixels of an image which were not rendered
+     *
+     * @param image the image
+     * @return the amount of black pixels
+     */
+    private static int blackPixels(ImageWriter image) {
+        int black = 0;
+        for (int i = 0; i < SIZE; ++i)
+            for (int j = 0; j < SIZE; ++j)
+                if (image.readPixel(j, i) == Color.BLACK.getRGB())
+                    ++black;
+        return black;
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderAsync()} and {@link renderer.RenderHandle#await()}.
+     */
+    @Test
+    void testAwait() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A rendering which is not stopped renders the whole image
+        ImageWriter image = image();
+        Camera camera = camera(new RayTracerBasic(SCENE), image);
+        RenderHandle handle = camera.renderAsync();
+        assertSame(camera, handle.await(), "TC01: Wrong camera");
+        assertTrue(handle.isDone(), "TC01: The rendering is not done");
+        assertFalse(handle.isPartial(), "TC01: The image is partial");
+        assertEquals(0, blackPixels(image), "TC01: Pixels were not rendered");
+
+        // TC02: The failure of the rendering is thrown to the waiting thread
+        RenderHandle failed = camera(new HookedRayTracer(ray -> {
+            throw new IllegalArgumentException("failed");
+        }), image()).renderAsync();
+        assertThrows(IllegalArgumentException.class, failed::await, "TC02: The failure was lost");
+        assertTrue(failed.isDone(), "TC02: The failed rendering is not done");
+
+        // TC03: An error of the rendering is thrown to the waiting thread, from the threads of the camera too
+        RenderHandle error = camera(new HookedRayTracer(ray -> {
+            if (ray == 100) throw new StackOverflowError();
+        }), image()).renderAsync();
+        assertThrows(StackOverflowError.class, error::await, "TC03: The error was lost");
+        assertThrows(StackOverflowError.class, camera(new HookedRayTracer(ray -> {
+            if (ray == 100) throw new StackOverflowError();
+        }), image()).setMultithreading(2).setDebugPrint(0)::renderImage, "TC03: The error of a thread was lost");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A camera renders one image at a time
+        CountDownLatch release = new CountDownLatch(1);
+        Camera blocked = camera(new HookedRayTracer(ray -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }), image());
+        RenderHandle running = blocked.renderAsync();
+        assertFalse(running.await(10, TimeUnit.MILLISECONDS), "TC11: The blocked rendering is done");
+        assertThrows(IllegalStateException.class, blocked::renderImage, "TC11: Two renderings at once");
+        release.countDown();
+        running.await();
+        assertDoesNotThrow(blocked::renderImage, "TC11: The camera cannot render again");
+    }
+
+    /**
+     * Test method for {@link renderer.RenderHandle#cancel()} and {@link renderer.Camera#setDeadline(double)}.
+     */
+    @Test
+    void testStop() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A cancelled rendering stops and leaves a partial image
+        // the hooks wait for the handle, which is known only when the rendering already runs
+        CompletableFuture<RenderHandle> started = new CompletableFuture<>();
+        ImageWriter image = image();
+        Camera camera = camera(new HookedRayTracer(ray -> {
+            if (ray == 100) started.join().cancel();
+        }), image).setMultithreading(2).setDebugPrint(0);
+        RenderHandle handle = camera.renderAsync();
+        started.complete(handle);
+        handle.await();
+        assertTrue(handle.isCancelled(), "TC01: The rendering is not cancelled");
+        assertTrue(handle.isPartial(), "TC01: The image is not partial");
+        int black = blackPixels(image);
+        assertTrue(black > 0 && black < SIZE * SIZE, "TC01: Wrong partial image");
+
+        // TC02: A progressive rendering stopped after the first pass leaves a low-sample image
+        CompletableFuture<RenderHandle> progressiveStarted = new CompletableFuture<>();
+        ImageWriter low = image();
+        Camera progressive = camera(new HookedRayTracer(ray -> {
+            if (ray == SIZE * SIZE) progressiveStarted.join().cancel();
+        }), low).setProgressiveSampling(0.01, 64).setStatistics(true);
+        handle = progressive.renderAsync();
+        progressiveStarted.complete(handle);
+        handle.await();
+        assertTrue(handle.isPartial(), "TC02: The image is not partial");
+        assertEquals(0, blackPixels(low), "TC02: Pixels were not rendered");
+        assertEquals(SIZE * SIZE, progressive.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC02: Samples were added after the cancellation");
+
+        // TC03: A rendering stops at the deadline
+        ImageWriter partial = image();
+        Camera late = camera(new HookedRayTracer(ray -> {
+            if (ray == 100) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }), partial).setDeadline(0.1);
+        late.renderImage();
+        black = blackPixels(partial);
+        assertTrue(black > 0 && black < SIZE * SIZE, "TC03: Wrong partial image at the deadline");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Cancelling a rendering which is done
+        RenderHandle done = camera(new RayTracerBasic(SCENE), image()).renderAsync();
+        done.await();
+        done.cancel();
+        assertFalse(done.isPartial(), "TC11: A done rendering became partial");
+
+        // TC12: A wrong deadline
+        assertThrows(IllegalArgumentException.class, () -> camera(new RayTracerBasic(SCENE), image()).setDeadline(-1),
+                "TC12: Negative deadline accepted");
+    }
+}
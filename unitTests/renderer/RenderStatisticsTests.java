@@ -0,0 +1,68 @@
+package renderer;
+
+import geometries.*;
+import lighting.*;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static primitives.RenderStatistics.Counter.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link primitives.RenderStatistics}
+ */
+class RenderStatisticsTests {
+
+    /**
+     * Builds a camera of a scene of a mirror sphere over a glass plane with a light
+     *
+     * @return the camera
+     */
+    private static Camera camera() {
+        Scene scene = new Scene.SceneBuilder("Statistics scene").build();
+        scene.geometries.add( //
+                new Sphere(30d, new Point(0, 0, -100)).setEmission(new Color(100, 50, 20)) //
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30).setkR(0.3)),
+                new Plane(new Point(0, 0, -150), new Vector(0, 0, 1)).setEmission(new Color(20, 20, 20)) //
+                        .setMaterial(new Material().setKd(0.5).setkT(0.4)));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 0)));
+        return testCamera().setImageWriter(testImage("statistics test")) //
+                .setRayTracer(new RayTracerBasic(scene));
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#renderImage()} with {@link renderer.Camera#setStatistics(boolean)}.
+     */
+    @Test
+    void testRenderStatistics() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A ray through every pixel, and shadow and secondary rays for the hits
+        RenderStatistics single = camera().setStatistics(true).renderImage().getStatistics();
+        assertEquals(SIZE * SIZE, single.get(PRIMARY_RAYS), "TC01: Wrong amount of primary rays");
+        assertTrue(single.get(SHADOW_RAYS) > 0, "TC01: No shadow rays");
+        assertTrue(single.get(REFLECTED_RAYS) > 0, "TC01: No reflected rays");
+        assertTrue(single.get(REFRACTED_RAYS) > 0, "TC01: No refracted rays");
+        assertTrue(single.perRay(PRIMITIVE_TESTS) >= 1, "TC01: Too few primitive tests");
+        assertEquals(0, single.get(ADAPTIVE_SUBDIVISIONS), "TC01: Subdivisions without adaptive sampling");
+        assertEquals(1, single.getThreadCount(), "TC01: Wrong amount of threads");
+
+        // TC02: The counters of several threads are merged to the same totals
+        RenderStatistics multi = camera().setStatistics(true).setMultithreading(3).setDebugPrint(0)
+                .setTileSize(8).renderImage().getStatistics();
+        for (RenderStatistics.Counter counter : RenderStatistics.Counter.values())
+            assertEquals(single.get(counter), multi.get(counter), "TC02: Wrong merged " + counter);
+
+        // TC03: The adaptive super sampling counts its subdivisions
+        RenderStatistics adaptive = camera().setStatistics(true).setAdaptiveSuperSampling(true)
+                .renderImage().getStatistics();
+        assertTrue(adaptive.get(ADAPTIVE_SUBDIVISIONS) > 0, "TC03: No subdivisions counted");
+        assertTrue(adaptive.get(PRIMARY_RAYS) > 4L * SIZE * SIZE, "TC03: Wrong amount of primary rays");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Nothing is collected unless it is requested
+        assertNull(camera().renderImage().getStatistics(), "TC11: Statistics without request");
+        assertFalse(RenderStatistics.isCollecting(), "TC11: Statistics are still collected");
+    }
+}
@@ -0,0 +1,71 @@
+package renderer;
+
+import primitives.Point;
+import primitives.Vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The shared fixture of the rendering tests: the camera which looks at the origin of a test scene
+ * along the -z axis, the size of the test images and the comparison of two rendered images.
+ */
+public final class RenderTestHelper {
+
+    /**
+     * The size of the test images in pixels
+     */
+    public static final int SIZE = 20;
+
+    /**
+     * Empty private constructor to hide the public one
+     */
+    private RenderTestHelper() {
+    }
+
+    /**
+     * Builds the camera of the tests at (0,0,100), looking along the -z axis with a view plane
+     * of 100x100 at the distance 100
+     *
+     * @return the camera, without its image writer and its ray tracer
+     */
+    public static Camera testCamera() {
+        return testCamera(new Point(0, 0, 100));
+    }
+
+    /**
+     * Builds the camera of the tests at a location, looking along the -z axis with a view plane
+     * of 100x100 at the distance 100
+     *
+     * @param location the location of the camera
+     * @return the camera, without its image writer and its ray tracer
+     */
+    public static Camera testCamera(Point location) {
+        return new Camera(location, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPDistance(100).setVPSize(100, 100);
+    }
+
+    /**
+     * Builds an image of the size of the tests
+     *
+     * @param name the name of the image
+     * @return the image
+     */
+    public static ImageWriter testImage(String name) {
+        return new ImageWriter(name, SIZE, SIZE);
+    }
+
+    /**
+     * Checks that two images are the same, pixel by pixel
+     *
+     * @param expected the expected image
+     * @param actual   the actual image
+     * @param message  the message of a failure
+     */
+    public static void assertSameImage(ImageWriter expected, ImageWriter actual, String message) {
+        assertEquals(expected.getNx(), actual.getNx(), message + " - wrong width");
+        assertEquals(expected.getNy(), actual.getNy(), message + " - wrong height");
+        for (int i = 0; i < expected.getNy(); ++i)
+            for (int j = 0; j < expected.getNx(); ++j)
+                assertEquals(expected.readPixel(j, i), actual.readPixel(j, i), message + " at " + j + "," + i);
+    }
+}
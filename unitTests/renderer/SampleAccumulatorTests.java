@@ -0,0 +1,114 @@
+package renderer;
+
+import geometries.Sphere;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link renderer.SampleAccumulator}
+ */
+class SampleAccumulatorTests {
+
+    /**
+     * Test method for {@link renderer.SampleAccumulator#add(int, int, Color)}.
+     */
+    @Test
+    void testAdd() {
+        SampleAccumulator samples = new SampleAccumulator(3, 2);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The mean color of the samples
+        samples.add(1, 1, new Color(10, 40, 70));
+        samples.add(1, 1, new Color(20, 0, 50));
+        assertEquals(2, samples.count(1, 1), "TC01: Wrong amount of samples");
+        assertEquals(new Color(15, 20, 60).getRGB(), samples.mean(1, 1).getRGB(), "TC01: Wrong mean color");
+
+        // TC02: The noise is the standard error of the mean luminance (the luminance of a gray is its value)
+        samples.add(0, 0, new Color(10, 10, 10));
+        samples.add(0, 0, new Color(20, 20, 20));
+        samples.add(0, 0, new Color(60, 60, 60));
+        assertEquals(Math.sqrt((20 * 20 + 10 * 10 + 30 * 30) / 2d / 3), samples.noise(0, 0), 1e-9,
+                "TC02: Wrong noise");
+
+        // TC03: The noise of a pixel with a single sample is the largest difference from its neighbours
+        samples.add(2, 0, new Color(100, 100, 100));
+        samples.add(2, 1, new Color(30, 30, 30));
+        assertEquals(100 - 30, samples.noise(2, 0), 1e-9, "TC03: Wrong noise of a single sample");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A pixel without samples
+        assertEquals(0, samples.count(0, 1), "TC11: Wrong amount of samples");
+        assertEquals(Color.BLACK.getRGB(), samples.mean(0, 1).getRGB(), "TC11: Wrong mean color");
+        assertEquals(Double.POSITIVE_INFINITY, samples.noise(0, 1), "TC11: Wrong noise");
+
+        // TC12: Equal samples are not noisy
+        samples.add(1, 0, new Color(30, 30, 30));
+        samples.add(1, 0, new Color(30, 30, 30));
+        assertEquals(0, samples.noise(1, 0), 1e-9, "TC12: Equal samples are noisy");
+    }
+
+    /**
+     * Builds a camera of a scene of a sphere on a black background
+     *
+     * @param scene the scene
+     * @return the camera
+     */
+    private static Camera camera(Scene scene) {
+        return testCamera().setImageWriter(testImage("progressive sampling test"))
+                .setRayTracer(new RayTracerBasic(scene)).setStatistics(true);
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#setProgressiveSampling(double, int)}.
+     */
+    @Test
+    void testProgressiveSampling() {
+        Scene scene = new Scene.SceneBuilder("Progressive sampling scene").build();
+        scene.geometries.add(new Sphere(60d, new Point(0, 0, -100)).setEmission(new Color(200, 100, 50)));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Only the pixels on the edge of the sphere get more samples
+        Camera camera = camera(scene).setProgressiveSampling(1, 16);
+        camera.renderImage();
+        long rays = camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS);
+        assertTrue(rays > SIZE * SIZE, "TC01: No samples were added");
+        assertTrue(rays < SIZE * SIZE * 4, "TC01: Samples were added to the smooth pixels");
+        assertTrue(rays <= SIZE * SIZE * 16, "TC01: Too many samples of a pixel");
+
+        // TC02: The samples stop when the sample budget runs out
+        camera = camera(scene).setProgressiveSampling(0.01, 64).setSampleBudget(SIZE * SIZE + 50);
+        camera.renderImage();
+        assertEquals(SIZE * SIZE + 50, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC02: The sample budget was not kept");
+
+        // TC03: The budget does not depend on the threads
+        camera = camera(scene).setProgressiveSampling(0.01, 64).setSampleBudget(SIZE * SIZE + 50)
+                .setMultithreading(3).setDebugPrint(0).setTileSize(4);
+        camera.renderImage();
+        assertEquals(SIZE * SIZE + 50, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC03: The sample budget was not kept with threads");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A uniform image needs a single sample of every pixel
+        camera = camera(new Scene.SceneBuilder("Empty scene").build()).setProgressiveSampling(1, 16);
+        camera.renderImage();
+        assertEquals(SIZE * SIZE, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC11: Samples were added to a uniform image");
+
+        // TC12: The first sample of every pixel is taken even beyond the budgets
+        camera = camera(scene).setProgressiveSampling(0.01, 64).setSampleBudget(1).setTimeBudget(1e-9);
+        camera.renderImage();
+        assertEquals(SIZE * SIZE, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC12: Wrong amount of samples beyond the budgets");
+
+        // TC13: A wrong tolerance or maximum of samples
+        assertThrows(IllegalArgumentException.class, () -> camera(scene).setProgressiveSampling(-1, 16),
+                "TC13: Negative tolerance accepted");
+        assertThrows(IllegalArgumentException.class, () -> camera(scene).setProgressiveSampling(1, 0),
+                "TC13: No samples accepted");
+    }
+}
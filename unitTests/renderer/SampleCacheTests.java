@@ -0,0 +1,78 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import scene.Scene;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.testCamera;
+
+/**
+ * Unit tests for {@link renderer.SampleCache}
+ */
+class SampleCacheTests {
+
+    /**
+     * Test method for {@link renderer.SampleCache#get(long)} and {@link renderer.SampleCache#put(long, Color)}.
+     */
+    @Test
+    void testGetPut() {
+        SampleCache cache = new SampleCache();
+        Color color = new Color(1, 2, 3);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A cached sample is found by its coordinates
+        cache.put(SampleCache.key(3, 5), color);
+        assertSame(color, cache.get(SampleCache.key(3, 5)), "TC01: Cached sample not found");
+
+        // TC02: The coordinates are not mixed up
+        assertNull(cache.get(SampleCache.key(5, 3)), "TC02: Swapped coordinates found");
+
+        // TC03: Many samples, beyond the initial capacity of the table
+        for (int y = 0; y < 100; ++y)
+            for (int x = 0; x < 100; ++x)
+                if (x != 3 || y != 5)
+                    cache.put(SampleCache.key(x, y), new Color(x, y, 0));
+        assertEquals(10000, cache.size(), "TC03: Wrong amount of samples");
+        for (int y = 0; y < 100; ++y)
+            for (int x = 0; x < 100; ++x)
+                assertNotNull(cache.get(SampleCache.key(x, y)), "TC03: Sample lost");
+        assertEquals(new Color(42, 17, 0).getRGB(), cache.get(SampleCache.key(42, 17)).getRGB(),
+                "TC03: Wrong sample color");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: Large coordinates
+        cache.put(SampleCache.key(Integer.MAX_VALUE, Integer.MAX_VALUE), color);
+        assertSame(color, cache.get(SampleCache.key(Integer.MAX_VALUE, Integer.MAX_VALUE)), "TC11: Sample not found");
+
+        // TC12: A cleared cache is empty
+        cache.clear();
+        assertEquals(0, cache.size(), "TC12: Samples left");
+        assertNull(cache.get(SampleCache.key(3, 5)), "TC12: Sample found");
+    }
+
+    /**
+     * Test method for the adaptive super sampling of {@link renderer.Camera#renderImage()}.
+     */
+    @Test
+    void testSharedCorners() {
+        Camera camera = testCamera()
+                .setImageWriter(new ImageWriter("shared corners test", 40, 40))
+                .setRayTracer(new RayTracerBasic(new Scene.SceneBuilder("Empty scene").build()))
+                .setAdaptiveSuperSampling(true).setStatistics(true).setTileSize(16);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A uniform image traces every corner once for every tile - tiles of 16, 16 and 8 pixels
+        camera.renderImage();
+        assertEquals(43 * 43, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC01: Corners were traced more than once");
+        assertEquals(0, camera.getStatistics().get(RenderStatistics.Counter.ADAPTIVE_SUBDIVISIONS),
+                "TC01: Uniform pixels were subdivided");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A single tile of the whole image
+        camera.setTileSize(40).renderImage();
+        assertEquals(41 * 41, camera.getStatistics().get(RenderStatistics.Counter.PRIMARY_RAYS),
+                "TC11: Corners were traced more than once");
+    }
+}
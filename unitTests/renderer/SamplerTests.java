@@ -0,0 +1,78 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link renderer.Sampler}
+ */
+class SamplerTests {
+
+    /**
+     * Test method for {@link renderer.Sampler#nextOffsets()}.
+     */
+    @Test
+    void testNextOffsets() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Stratified samples are at the centers of the cells of the grid
+        assertArrayEquals(new double[]{-0.25, -0.25, 0.25, -0.25, -0.25, 0.25, 0.25, 0.25},
+                Sampler.stratified(2).nextOffsets(), 1e-12, "TC01: Wrong stratified offsets");
+
+        // TC02: Every jittered sample is inside its own cell
+        Sampler jittered = Sampler.jittered(3, 1);
+        for (int pixel = 0; pixel < 100; ++pixel) {
+            double[] offsets = jittered.nextOffsets();
+            assertEquals(18, offsets.length, "TC02: Wrong amount of offsets");
+            for (int k = 0; k < 9; ++k) {
+                int col = k % 3, row = k / 3;
+                assertTrue(offsets[2 * k] >= col / 3d - 0.5 && offsets[2 * k] < (col + 1) / 3d - 0.5,
+                        "TC02: Sample out of its column");
+                assertTrue(offsets[2 * k + 1] >= row / 3d - 0.5 && offsets[2 * k + 1] < (row + 1) / 3d - 0.5,
+                        "TC02: Sample out of its row");
+            }
+        }
+
+        // TC03: The pixels take different jittered tables
+        boolean different = false;
+        double[] first = jittered.nextOffsets();
+        for (int pixel = 0; pixel < 100 && !different; ++pixel)
+            different = jittered.nextOffsets() != first;
+        assertTrue(different, "TC03: All the pixels have the same samples");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A single sample is in the center of the pixel when stratified
+        assertEquals(1, Sampler.stratified(1).getSampleCount(), "TC11: Wrong amount of samples");
+        assertArrayEquals(new double[]{0, 0}, Sampler.stratified(1).nextOffsets(), 1e-12,
+                "TC11: Wrong single offset");
+
+        // TC12: A grid without samples
+        assertThrows(IllegalArgumentException.class, () -> Sampler.jittered(0), "TC12: Empty grid accepted");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#constructRays(int, int, int, int)}.
+     */
+    @Test
+    void testConstructRays() {
+        Point p0 = new Point(0, 0, 0);
+        Camera camera = new Camera(p0, new Vector(0, 0, -1), new Vector(0, -1, 0))
+                .setVPDistance(10).setVPSize(6, 6).setSampler(Sampler.stratified(2));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The ray through the center of the pixel, and a ray through the center of every quarter
+        List<Ray> rays = camera.constructRays(3, 3, 1, 1);
+        assertEquals(List.of(new Ray(p0, new Vector(0, 0, -10)),
+                        new Ray(p0, new Vector(-0.5, 0.5, -10)), new Ray(p0, new Vector(0.5, 0.5, -10)),
+                        new Ray(p0, new Vector(-0.5, -0.5, -10)), new Ray(p0, new Vector(0.5, -0.5, -10))),
+                rays, "TC01: Wrong sample rays");
+
+        // TC02: The rays are written into the given array
+        Ray[] array = new Ray[5];
+        assertSame(array, camera.constructRays(3, 3, 1, 1, array), "TC02: Another array returned");
+        assertEquals(rays, List.of(array), "TC02: Wrong rays in the array");
+    }
+}
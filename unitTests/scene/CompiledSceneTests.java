@@ -0,0 +1,141 @@
+package scene;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link scene.CompiledScene}
+ */
+class CompiledSceneTests {
+
+    /**
+     * The shiny material of the tests
+     */
+    private static final Material SHINY = new Material().setKd(0.5).setKs(0.5).setShininess(30).setkR(0.3);
+
+    /**
+     * Builds a scene of spheres, a nested collection and a triangle
+     *
+     * @return the scene
+     */
+    private static Scene scene() {
+        Scene scene = new Scene.SceneBuilder("Compiled scene").setBackground(new Color(30, 30, 30))
+                .setAmbientLight(new AmbientLight(new Color(40, 40, 40), 0.2)).build();
+        scene.geometries.add(
+                new Sphere(30d, new Point(0, 0, -100)).setEmission(new Color(200, 100, 50)).setMaterial(SHINY),
+                new Geometries(
+                        new Sphere(10d, new Point(40, 30, -80)).setEmission(new Color(50, 200, 50))
+                                .setMaterial(SHINY),
+                        new Sphere(10d, new Point(-40, 30, -80)).setEmission(new Color(50, 50, 200))),
+                new Triangle(new Point(-90, -90, -200), new Point(90, -90, -200), new Point(0, 90, -200))
+                        .setEmission(new Color(20, 20, 80)).setMaterial(new Material().setKd(0.4).setkT(0.2)));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 0)));
+        return scene;
+    }
+
+    /**
+     * Renders an image by a ray tracer
+     *
+     * @param tracer the ray tracer
+     * @return the image
+     */
+    private static ImageWriter render(RayTracerBasic tracer) {
+        ImageWriter image = testImage("compiled scene test");
+        testCamera().setImageWriter(image).setRayTracer(tracer).renderImage();
+        return image;
+    }
+
+    /**
+     * Test method for {@link scene.Scene#compile(boolean)}.
+     */
+    @Test
+    void testCompile() {
+        Scene scene = scene();
+        ImageWriter expected = render(new RayTracerBasic(scene));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A compiled scene renders the image of the scene, with and without a hierarchy
+        assertSameImage(expected, render(new RayTracerBasic(scene.compile())), "TC01: Wrong image with a hierarchy");
+        assertSameImage(expected, render(new RayTracerBasic(scene.compile(false))),
+                "TC01: Wrong image without a hierarchy");
+
+        // TC02: The scene and its constants are copied
+        CompiledScene compiled = scene.compile();
+        assertEquals("Compiled scene", compiled.getName(), "TC02: Wrong name");
+        assertEquals(30, compiled.getBackground().getRed(), 1e-10, "TC02: Wrong background");
+        assertEquals(8, compiled.getAmbientIntensity().getGreen(), 1e-10, "TC02: Wrong ambient intensity");
+        assertEquals(1, compiled.getLightCount(), "TC02: Wrong amount of lights");
+        assertSame(scene.lights.get(0), compiled.getLight(0), "TC02: Wrong light");
+
+        // TC03: The compiled geometries cannot be changed
+        assertThrows(UnsupportedOperationException.class,
+                () -> compiled.getGeometries().add(new Sphere(1d, new Point(0, 0, 0))),
+                "TC03: A compiled collection was changed");
+
+        // TC04: Later changes of the scene do not change the compiled scene, nor does compiling change the scene
+        scene.geometries.add(new Sphere(50d, new Point(0, 0, -60)).setEmission(new Color(255, 0, 0)));
+        scene.lights.add(new PointLight(new Color(100, 100, 100), new Point(0, 0, 50)));
+        assertEquals(1, compiled.getLightCount(), "TC04: The compiled lights changed");
+        assertSameImage(expected, render(new RayTracerBasic(compiled)), "TC04: The compiled scene changed");
+        assertDoesNotThrow(() -> scene.geometries.add(new Sphere(1d, new Point(0, 0, 0))),
+                "TC04: Compiling froze the scene");
+
+        // TC05: A tracer of the scene renders the changes of the scene
+        ImageWriter changed = render(new RayTracerBasic(scene));
+        assertNotEquals(expected.readPixel(SIZE / 2, SIZE / 2), changed.readPixel(SIZE / 2, SIZE / 2),
+                "TC05: The changes of the scene were not rendered");
+
+        // TC06: A tracer which traces rays directly sees the changes of the scene after it is prepared
+        RayTracerBasic direct = new RayTracerBasic(scene);
+        Ray ray = new Ray(new Point(0, 0, 100), new Vector(0, 0, -1));
+        Color before = direct.traceRay(ray);
+        scene.geometries.add(new Sphere(10d, new Point(0, 0, 50)).setEmission(new Color(0, 255, 0)));
+        assertEquals(before.getGreen(), direct.traceRay(ray).getGreen(), 1e-10,
+                "TC06: The scene was compiled again without a preparation");
+        direct.prepare(false);
+        assertNotEquals(before.getGreen(), direct.traceRay(ray).getGreen(), 1e-10,
+                "TC06: The changes of the scene were not traced after the preparation");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: An empty scene renders the background
+        ImageWriter empty = render(new RayTracerBasic(new Scene.SceneBuilder("Empty")
+                .setBackground(new Color(30, 30, 30)).build().compile()));
+        assertEquals(expected.readPixel(0, 0), empty.readPixel(0, 0), "TC11: Wrong background of an empty scene");
+    }
+
+    /**
+     * Test method for {@link scene.CompiledScene#getConstants(primitives.Material)}.
+     */
+    @Test
+    void testGetConstants() {
+        CompiledScene compiled = scene().compile();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A material of the scene
+        CompiledScene.MaterialConstants constants = compiled.getConstants(SHINY);
+        assertEquals(SHINY.kD, constants.kD(), "TC01: Wrong diffuse coefficient");
+        assertEquals(30, constants.nShininess(), "TC01: Wrong shininess");
+        assertTrue(constants.specular(), "TC01: Specular material not flagged");
+        assertTrue(constants.reflective(), "TC01: Reflective material not flagged");
+        assertFalse(constants.transparent(), "TC01: Opaque material flagged");
+
+        // TC02: A material which is not in the scene is computed when asked for
+        constants = compiled.getConstants(new Material().setkT(0.5));
+        assertTrue(constants.transparent(), "TC02: Transparent material not flagged");
+        assertFalse(constants.reflective(), "TC02: Not reflective material flagged");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: The default material has no secondary effects
+        constants = compiled.getConstants(new Material());
+        assertFalse(constants.specular() || constants.reflective() || constants.transparent(),
+                "TC11: Default material flagged");
+    }
+}
@@ -0,0 +1,119 @@
+package scene;
+
+import geometries.Intersectable.GeoPoint;
+import geometries.Mesh;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link scene.ObjImporter}
+ */
+class ObjImporterTests {
+
+    /**
+     * The directory of the test files
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a test file
+     *
+     * @param name    the name of the file
+     * @param content the content of the file
+     * @return the path of the file
+     */
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    /**
+     * Builds a grid of squares on the plane z = 0, every square a face of four vertices, and every second row of
+     * faces given by indices from the end of the vertices
+     *
+     * @param n the amount of squares along each axis
+     * @return the content of the file
+     */
+    private static String grid(int n) {
+        StringBuilder content = new StringBuilder("# a grid\no grid\n");
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j)
+                content.append("v ").append(0.25 * i).append(' ').append(0.25 * j).append(" 0.000\n");
+        content.append("vn 0 0 1\nusemtl gray\n");
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                // from the end of the vertices, the last vertex is -1
+                int corner = i % 2 == 0 ? i * (n + 1) + j + 1 : i * (n + 1) + j - (n + 1) * (n + 1);
+                content.append("f ").append(corner).append("//1 ").append(corner + n + 1).append("//1 ")
+                        .append(corner + n + 2).append("//1 ").append(corner + 1).append("//1\n");
+            }
+        return content.toString();
+    }
+
+    /**
+     * Test method for {@link scene.ObjImporter#load(java.nio.file.Path, int)}.
+     */
+    @Test
+    void testLoad() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: Vertices with extra values, faces with texture and normal indices, a quad and negative indices
+        Mesh mesh = ObjImporter.load(write("small.obj", """
+                # a small model
+                mtllib model.mtl
+                v 0 0 -1.5
+                v 2.0 0 -1.5 1.0
+                v 0 2e0 -1.5
+                vt 0.5 0.5
+                v 2 2 -1.5
+                s off
+                f 1/1 2/1 3/1
+                f -3 -1 -2\r
+                f 1 2 4 3 # a quad
+                """), 0);
+        assertEquals(4, mesh.getVertexCount(), "TC01: Wrong vertices");
+        assertEquals(4, mesh.getFaceCount(), "TC01: Wrong faces");
+        GeoPoint hit = mesh.findClosestGeoIntersection(new Ray(new Point(0.5, 0.5, 0), new Vector(0, 0, -1)));
+        assertNotNull(hit, "TC01: The model was not hit");
+        assertEquals(new Point(0.5, 0.5, -1.5), hit.point, "TC01: Wrong coordinates");
+
+        // TC02: The chunks of parallel threads make the same mesh as a single thread
+        Path big = write("grid.obj", grid(220));
+        assertTrue(Files.size(big) > 2 << 20, "TC02: The file is too small for several chunks");
+        Mesh single = ObjImporter.load(big, 0);
+        Mesh parallel = ObjImporter.load(big, 4);
+        assertEquals(221 * 221, parallel.getVertexCount(), "TC02: Wrong vertices");
+        assertEquals(2 * 220 * 220, parallel.getFaceCount(), "TC02: Wrong faces");
+        for (double x = 0.1; x < 55; x += 7.5) {
+            Ray ray = new Ray(new Point(x, 55 - x, 1), new Vector(0, 0, -1));
+            assertEquals(single.findClosestGeoIntersection(ray).point,
+                    parallel.findClosestGeoIntersection(ray).point, "TC02: Wrong face at " + x);
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A file without faces
+        Path empty = write("empty.obj", "v 0 0 0\n");
+        assertThrows(IllegalArgumentException.class, () -> ObjImporter.load(empty), "TC11: A mesh without faces");
+
+        // TC12: Wrong lines
+        Path coordinates = write("coordinates.obj", "v 0 0\nf 1 1 1\n");
+        assertThrows(IllegalArgumentException.class, () -> ObjImporter.load(coordinates),
+                "TC12: A vertex of two coordinates");
+        Path index = write("index.obj", "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 x\n");
+        assertThrows(IllegalArgumentException.class, () -> ObjImporter.load(index), "TC12: A wrong index");
+        Path range = write("range.obj", "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 4\n");
+        assertThrows(IllegalArgumentException.class, () -> ObjImporter.load(range), "TC12: An index out of range");
+
+        // TC13: A missing file
+        assertThrows(IllegalStateException.class, () -> ObjImporter.load(directory.resolve("missing.obj")),
+                "TC13: A missing file");
+    }
+}
@@ -0,0 +1,132 @@
+package scene;
+
+import geometries.Intersectable.GeoPoint;
+import geometries.Mesh;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link scene.PlyImporter}
+ */
+class PlyImporterTests {
+
+    /**
+     * The directory of the test files
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a binary PLY file of a square on the plane z = -2, made of a triangle and a quad, with a color for
+     * every vertex, a flag for every face and an element of edges which are not imported
+     *
+     * @param name  the name of the file
+     * @param order the byte order of the file
+     * @return the path of the file
+     */
+    private Path square(String name, ByteOrder order) throws IOException {
+        String header = "ply\r\nformat " + (order == ByteOrder.LITTLE_ENDIAN ? "binary_little_endian"
+                : "binary_big_endian") + " 1.0\r\n" + """
+                comment a test square
+                element vertex 5
+                property float x
+                property float y
+                property double z
+                property uchar red
+                element edge 2
+                property list uchar int vertex_pair
+                element face 2
+                property uchar flags
+                property list uchar uint vertex_indices
+                end_header
+                """;
+        ByteBuffer data = ByteBuffer.allocate(256).order(order);
+        float[][] vertices = {{0, 0}, {2, 0}, {2, 2}, {0, 2}, {1, 3}};
+        for (float[] vertex : vertices)
+            data.putFloat(vertex[0]).putFloat(vertex[1]).putDouble(-2).put((byte) 200);
+        data.put((byte) 2).putInt(0).putInt(1);
+        data.put((byte) 2).putInt(1).putInt(2);
+        data.put((byte) 1).put((byte) 4).putInt(0).putInt(1).putInt(2).putInt(3);
+        data.put((byte) 0).put((byte) 3).putInt(3).putInt(2).putInt(4);
+        byte[] bytes = header.getBytes(StandardCharsets.US_ASCII);
+        byte[] file = Arrays.copyOf(bytes, bytes.length + data.position());
+        System.arraycopy(data.array(), 0, file, bytes.length, data.position());
+        return Files.write(directory.resolve(name), file);
+    }
+
+    /**
+     * Test method for {@link scene.PlyImporter#load(java.nio.file.Path)}.
+     */
+    @Test
+    void testLoad() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A little endian file, with the properties and the elements which are skipped
+        Mesh mesh = PlyImporter.load(square("little.ply", ByteOrder.LITTLE_ENDIAN));
+        assertEquals(5, mesh.getVertexCount(), "TC01: Wrong vertices");
+        assertEquals(3, mesh.getFaceCount(), "TC01: Wrong faces");
+        GeoPoint hit = mesh.findClosestGeoIntersection(new Ray(new Point(1.5, 0.5, 0), new Vector(0, 0, -1)));
+        assertNotNull(hit, "TC01: The square was not hit");
+        assertEquals(new Point(1.5, 0.5, -2), hit.point, "TC01: Wrong coordinates");
+        assertNotNull(mesh.findClosestGeoIntersection(new Ray(new Point(1, 2.5, 0), new Vector(0, 0, -1))),
+                "TC01: The triangle was not hit");
+
+        // TC02: A big endian file
+        mesh = PlyImporter.load(square("big.ply", ByteOrder.BIG_ENDIAN));
+        assertEquals(3, mesh.getFaceCount(), "TC02: Wrong faces");
+        hit = mesh.findClosestGeoIntersection(new Ray(new Point(0.5, 1.5, 0), new Vector(0, 0, -1)));
+        assertNotNull(hit, "TC02: The square was not hit");
+        assertEquals(new Point(0.5, 1.5, -2), hit.point, "TC02: Wrong coordinates");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: An ASCII file
+        Path ascii = Files.writeString(directory.resolve("ascii.ply"), """
+                ply
+                format ascii 1.0
+                element vertex 3
+                property float x
+                property float y
+                property float z
+                end_header
+                0 0 0
+                """);
+        assertThrows(IllegalArgumentException.class, () -> PlyImporter.load(ascii), "TC11: An ASCII file");
+
+        // TC12: A file which is shorter than its header
+        Path full = square("full.ply", ByteOrder.LITTLE_ENDIAN);
+        byte[] bytes = Files.readAllBytes(full);
+        Path truncated = Files.write(directory.resolve("truncated.ply"), Arrays.copyOf(bytes, bytes.length - 6));
+        assertThrows(IllegalArgumentException.class, () -> PlyImporter.load(truncated), "TC12: A truncated file");
+
+        // TC13: Not a PLY file
+        Path obj = Files.writeString(directory.resolve("model.ply"), "v 0 0 0\n");
+        assertThrows(IllegalArgumentException.class, () -> PlyImporter.load(obj), "TC13: Not a PLY file");
+
+        // TC14: A header without a format line, which must not be read in a default byte order
+        String file = new String(Files.readAllBytes(square("format.ply", ByteOrder.BIG_ENDIAN)),
+                StandardCharsets.ISO_8859_1);
+        Path noFormat = Files.write(directory.resolve("no-format.ply"),
+                file.replace("format binary_big_endian 1.0\r\n", "").getBytes(StandardCharsets.ISO_8859_1));
+        assertThrows(IllegalArgumentException.class, () -> PlyImporter.load(noFormat), "TC14: No format line");
+
+        // TC15: A negative count of elements
+        for (String element : new String[]{"vertex 5", "edge 2"}) {
+            Path negative = Files.write(directory.resolve("negative.ply"), file.replace("element " + element,
+                    "element " + element.replace(" ", " -")).getBytes(StandardCharsets.ISO_8859_1));
+            assertThrows(IllegalArgumentException.class, () -> PlyImporter.load(negative),
+                    "TC15: A negative count of " + element);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package scene;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.*;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static renderer.RenderTestHelper.*;
+
+/**
+ * Unit tests for {@link scene.SceneLoader}
+ */
+class SceneLoaderTests {
+
+    /**
+     * The directory of the test files
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * A description of a scene with all the kinds of statements
+     */
+    private static final String DESCRIPTION = """
+            # a test scene
+            scene loaded
+            background 30 30 30
+            ambient 40 40 40 0.2
+            camera 0 0 100  0 0 -1  0 1 0
+            viewplane 100 100 100
+            image loaded-scene 20 20
+
+            point 500 500 500  50 50 0
+            spot 300 300 300  -50 50 0  1 -1 -1  1 0.0005 0.0005
+            directional 100 100 100  0 -1 -1
+
+            material shiny kd 0.5 ks 0.5 shininess 30 kr 0.1 0.2 0.3
+            material glass kt 0.6   # a transparent material
+            use shiny
+            emission 200 100 50
+            sphere 0 0 -100 30
+            use glass
+            emission 20 20 80
+            triangle -90 -90 -200  90 -90 -200  0 90 -200
+            polygon 40 20 -80  60 20 -80  60 40 -80  40 40 -80
+            mesh 5 3
+            v -40 -10 -80
+            v -20 -10 -80
+            v -20 10 -80
+            v -40 10 -80
+            v -30 20 -80
+            f 0 1 2 3
+            f 3 2 4
+            end
+            """;
+
+    /**
+     * Loads a scene description
+     *
+     * @param description the description
+     * @return the loader
+     */
+    private static SceneLoader load(String description) {
+        return SceneLoader.load(new StringReader(description));
+    }
+
+    /**
+     * Lists the geometries of a scene
+     *
+     * @param scene the scene
+     * @return the geometries
+     */
+    private static List<Geometry> geometries(Scene scene) {
+        List<Geometry> list = new ArrayList<>();
+        scene.geometries.forEachGeometry(list::add);
+        return list;
+    }
+
+    /**
+     * Finds the single geometry of a type
+     *
+     * @param geometries the geometries
+     * @param type       the type
+     * @param <T>        the type of the geometry
+     * @return the geometry
+     */
+    private static <T extends Geometry> T find(List<Geometry> geometries, Class<T> type) {
+        List<Geometry> found = geometries.stream().filter(geometry -> geometry.getClass() == type).toList();
+        assertEquals(1, found.size(), "Wrong amount of geometries of " + type.getSimpleName());
+        return type.cast(found.get(0));
+    }
+
+    /**
+     * Test method for {@link scene.SceneLoader#load(java.io.Reader)}.
+     */
+    @Test
+    void testLoad() {
+        SceneLoader loader = load(DESCRIPTION);
+        Scene scene = loader.getScene();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: The settings of the scene
+        assertEquals("loaded", scene.getName(), "TC01: Wrong name");
+        assertEquals(30, scene.getBackground().getBlue(), 1e-10, "TC01: Wrong background");
+        assertEquals(8, scene.getAmbientLight().getIntensity().getRed(), 1e-10, "TC01: Wrong ambient light");
+        assertEquals(3, scene.lights.size(), "TC01: Wrong amount of lights");
+
+        // TC02: The geometries with their materials and emissions, and the mesh with its fan of triangles
+        // (in the order of the hierarchy of the scene)
+        List<Geometry> geometries = geometries(scene);
+        assertEquals(4, geometries.size(), "TC02: Wrong amount of geometries");
+        Sphere sphere = find(geometries, Sphere.class);
+        assertEquals(new Double3(0.5), sphere.getMaterial().kD, "TC02: Wrong material");
+        assertEquals(new Double3(0.1, 0.2, 0.3), sphere.getMaterial().kR, "TC02: Wrong material triple");
+        assertEquals(30, sphere.getMaterial().nShininess, "TC02: Wrong shininess");
+        assertEquals(200, sphere.getEmission().getRed(), 1e-10, "TC02: Wrong emission");
+        assertEquals(new Double3(0.6), find(geometries, Triangle.class).getMaterial().kT,
+                "TC02: Wrong material of the triangle");
+        find(geometries, Polygon.class);
+        Mesh mesh = find(geometries, Mesh.class);
+        assertEquals(5, mesh.getVertexCount(), "TC02: Wrong vertices of the mesh");
+        assertEquals(3, mesh.getFaceCount(), "TC02: Wrong faces of the mesh");
+
+        // TC03: The camera renders the scene like a camera built by hand
+        Camera camera = loader.getCamera();
+        assertNotNull(camera, "TC03: Missing camera");
+        ImageWriter expected = testImage("hand built");
+        testCamera().setImageWriter(expected).setRayTracer(new RayTracerBasic(handBuilt())).renderImage();
+        ImageWriter actual = testImage("loaded");
+        camera.setImageWriter(actual).renderImage();
+        assertSameImage(expected, actual, "TC03: Wrong image");
+
+        // TC04: A mesh without sizes, which grows its arrays
+        StringBuilder big = new StringBuilder("mesh\n");
+        int n = 50;
+        for (int i = 0; i <= n; ++i)
+            for (int j = 0; j <= n; ++j)
+                big.append("v ").append(i).append(' ').append(j).append(" 0\n");
+        for (int i = 0; i < n; ++i)
+            for (int j = 0; j < n; ++j) {
+                int corner = i * (n + 1) + j;
+                big.append("f ").append(corner).append(' ').append(corner + n + 1).append(' ')
+                        .append(corner + n + 2).append(' ').append(corner + 1).append('\n');
+            }
+        big.append("end\n");
+        mesh = (Mesh) geometries(load(big.toString()).getScene()).get(0);
+        assertEquals((n + 1) * (n + 1), mesh.getVertexCount(), "TC04: Wrong vertices of the mesh");
+        assertEquals(2 * n * n, mesh.getFaceCount(), "TC04: Wrong faces of the mesh");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: An empty description
+        loader = load("# nothing\n\n");
+        assertTrue(geometries(loader.getScene()).isEmpty(), "TC11: Geometries in an empty scene");
+        assertNull(loader.getCamera(), "TC11: A camera in an empty scene");
+
+        // TC12: Wrong statements, with their line numbers
+        assertLineError("sphere 0 0 0", 1, "TC12: Missing values");
+        assertLineError("\nsphere 0 0 zero 1", 2, "TC12: Not a number");
+        assertLineError("cube 0 0 0 1", 1, "TC12: Unknown statement");
+        assertLineError("use metal", 1, "TC12: Unknown material");
+        assertLineError("mesh\nv 0 0 0\nsphere 0 0 0 1\nend", 3, "TC12: Statement in a mesh");
+        assertLineError("mesh\nv 0 0 0\nv 1 0 0\nv 0 1 0\nf 0 1 5\nend", 6, "TC12: Index out of the mesh");
+        assertThrows(IllegalArgumentException.class, () -> load("mesh\nv 0 0 0\n"), "TC12: A mesh without end");
+        assertThrows(IllegalArgumentException.class, () -> load("camera 0 0 0  0 0 -1  0 1 1"),
+                "TC12: Wrong camera");
+    }
+
+    /**
+     * Test method for {@link scene.SceneLoader#load(java.nio.file.Path)}.
+     */
+    @Test
+    void testLoadFile() throws IOException {
+        Files.createDirectories(directory.resolve("models"));
+        Files.writeString(directory.resolve("models/quad.obj"), "v 0 0 -50\nv 10 0 -50\nv 10 10 -50\nv 0 10 -50\n"
+                + "f 1 2 3 4\n");
+        Path file = Files.writeString(directory.resolve("model.scene"), """
+                material matte kd 0.7
+                use matte
+                model models/quad.obj
+                """);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: A model relative to the directory of the scene file, with the current material
+        List<Geometry> geometries = geometries(SceneLoader.load(file).getScene());
+        assertEquals(1, geometries.size(), "TC01: Wrong amount of geometries");
+        Mesh mesh = assertInstanceOf(Mesh.class, geometries.get(0), "TC01: Wrong model");
+        assertEquals(2, mesh.getFaceCount(), "TC01: Wrong faces of the model");
+        assertEquals(new Double3(0.7), mesh.getMaterial().kD, "TC01: Wrong material of the model");
+
+        // =============== Boundary Values Tests ==================
+        // TC11: A model of an unknown format
+        Path unknown = Files.writeString(directory.resolve("unknown.scene"), "\nmodel models/quad.stl\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SceneLoader.load(unknown),
+                "TC11: Unknown model format");
+        assertTrue(e.getMessage().startsWith("line 2:"), "TC11: Wrong line " + e.getMessage());
+
+        // TC12: A missing scene file
+        assertThrows(IllegalStateException.class, () -> SceneLoader.load(directory.resolve("missing.scene")),
+                "TC12: A missing file");
+    }
+
+    /**
+     * Checks that loading a description fails at a line
+     *
+     * @param description the description
+     * @param line        the number of the wrong line
+     * @param message     the message of a failure
+     */
+    private static void assertLineError(String description, int line, String message) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> load(description), message);
+        assertTrue(e.getMessage().startsWith("line " + line + ":"), message + " - wrong line: " + e.getMessage());
+    }
+
+    /**
+     * Builds the scene of the description by hand
+     *
+     * @return the scene
+     */
+    private static Scene handBuilt() {
+        Scene scene = new Scene.SceneBuilder("hand built").setBackground(new Color(30, 30, 30))
+                .setAmbientLight(new AmbientLight(new Color(40, 40, 40), 0.2)).build();
+        Material shiny = new Material().setKd(0.5).setKs(0.5).setShininess(30).setkR(new Double3(0.1, 0.2, 0.3));
+        Material glass = new Material().setkT(0.6);
+        scene.geometries.add(
+                new Sphere(30d, new Point(0, 0, -100)).setEmission(new Color(200, 100, 50)).setMaterial(shiny),
+                new Triangle(new Point(-90, -90, -200), new Point(90, -90, -200), new Point(0, 90, -200))
+                        .setEmission(new Color(20, 20, 80)).setMaterial(glass),
+                new Polygon(new Point(40, 20, -80), new Point(60, 20, -80), new Point(60, 40, -80),
+                        new Point(40, 40, -80)).setEmission(new Color(20, 20, 80)).setMaterial(glass),
+                new Mesh(new double[]{-40, -10, -80, -20, -10, -80, -20, 10, -80, -40, 10, -80, -30, 20, -80},
+                        new int[]{0, 1, 2, 0, 2, 3, 3, 2, 4})
+                        .setEmission(new Color(20, 20, 80)).setMaterial(glass));
+        scene.lights.add(new PointLight(new Color(500, 500, 500), new Point(50, 50, 0)));
+        scene.lights.add(new lighting.SpotLight(new Color(300, 300, 300), new Point(-50, 50, 0),
+                new Vector(1, -1, -1)).setKc(1).setKl(0.0005).setKq(0.0005));
+        scene.lights.add(new lighting.DirectionalLight(new Color(100, 100, 100), new Vector(0, -1, -1)));
+        return scene;
+    }
+}